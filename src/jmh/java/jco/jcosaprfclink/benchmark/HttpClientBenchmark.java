@@ -0,0 +1,78 @@
+package jco.jcosaprfclink.benchmark;
+
+import jco.jcosaprfclink.config.http.HttpClientEngine;
+import jco.jcosaprfclink.config.http.HttpClientProperties;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 HttpURLConnection 호출과 HttpClientEngine 의 처리량/지연 비교
+ * Throughput 은 초당 요청 수, SampleTime 결과의 p0.99 가 p99 지연이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class HttpClientBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public HttpClient.Version version;
+
+    private StubInvoiceApi stub;
+    private HttpClientEngine engine;
+    private String url;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = new StubInvoiceApi(StubInvoiceApi.invoiceResults(rows), 0);
+        url = stub.baseUrl() + "/resultTaxInvoice";
+        body = StubInvoiceApi.invoiceRows(rows);
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setVersion(version);
+        engine = new HttpClientEngine(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public String legacyHttpUrlConnection() throws IOException {
+        return LegacyHttpUrlConnectionClient.post(url, body);
+    }
+
+    @Benchmark
+    public String pooledEngine() {
+        return engine.exchange(url, HttpMethod.POST, body, null,
+                (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String pooledEngineStreaming() {
+        return engine.exchange(url, HttpMethod.POST,
+                (HttpClientEngine.BodyWriter) out -> out.write(body.getBytes(StandardCharsets.UTF_8)), null,
+                (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+}
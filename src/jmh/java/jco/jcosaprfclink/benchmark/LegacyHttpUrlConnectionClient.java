@@ -0,0 +1,42 @@
+package jco.jcosaprfclink.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 비교 기준용, 기존 HttpUtil.sendHttpRequest 의 HttpURLConnection 구현
+ */
+final class LegacyHttpUrlConnectionClient {
+
+    private LegacyHttpUrlConnectionClient() {
+    }
+
+    static String post(String apiUrl, String body) throws IOException {
+        StringBuilder response = new StringBuilder();
+        HttpURLConnection connection = (HttpURLConnection) new URL(apiUrl).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+        connection.setDoOutput(true);
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write(body);
+        }
+        int responseCode = connection.getResponseCode();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(responseCode >= 200 && responseCode < 300
+                        ? connection.getInputStream()
+                        : connection.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                response.append(line);
+            }
+        }
+        return response.toString();
+    }
+}
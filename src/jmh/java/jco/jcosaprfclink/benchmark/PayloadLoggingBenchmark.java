@@ -0,0 +1,123 @@
+package jco.jcosaprfclink.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RFC 호출 1건당 로그 비용 (T_IF_ZTAXT020 50행)
+ * - legacy : 이전 방식. 레벨과 관계없이 jCoTable.toString() 을 만들어 INFO 로 출력
+ * - payloadLogger : PayloadLogger.table, level=INFO(운영 기본)면 레벨 확인만 한다
+ * 출력은 버려지는 스트림으로 보내 파일 I/O 는 빼고, async=true 면 logback-spring.xml 의 ASYNC_PAYLOAD 와 같은
+ * AsyncAppender 로 감싼다. 할당량은 gc 프로파일러의 gc.alloc.rate.norm (byte/op) 으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadLoggingBenchmark {
+
+    private static final int ROWS = 50;
+
+    @Param({"INFO", "DEBUG"})
+    public String level;
+
+    @Param({"0.01", "1"})
+    public double sampleRate;
+
+    @Param({"true", "false"})
+    public boolean async;
+
+    private final List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+    private Logger legacyLogger;
+    private PayloadLogger payloadLogger;
+    private JCoTable jCoTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Appender<ILoggingEvent> appender = appender(context);
+        legacyLogger = logger(context, "legacy", ch.qos.logback.classic.Level.INFO, appender);
+        logger(context, "payload", ch.qos.logback.classic.Level.toLevel(level), appender);
+
+        PayloadLogProperties properties = new PayloadLogProperties();
+        properties.setSampleRate(sampleRate);
+        payloadLogger = new PayloadLogger(properties);
+
+        jCoTable = RecordedMetadata.invoiceTable(ROWS, i -> "DOC" + i);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        appenders.forEach(Appender::stop); // async 먼저 (남은 이벤트 출력 후 종료)
+        appenders.clear();
+    }
+
+    @Benchmark
+    public void legacy() {
+        legacyLogger.info(jCoTable.toString());
+    }
+
+    @Benchmark
+    public void payloadLogger() {
+        payloadLogger.table("taxinvoiceState", jCoTable);
+    }
+
+    private Appender<ILoggingEvent> appender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+        appenders.add(output);
+        if (!async) {
+            return output;
+        }
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(1024);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(output);
+        asyncAppender.start();
+        appenders.add(0, asyncAppender);
+        return asyncAppender;
+    }
+
+    private static Logger logger(LoggerContext context, String name, ch.qos.logback.classic.Level level,
+                                 Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(level);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,96 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import jco.jcosaprfclink.dto.TaxInvoiceStateResult;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.utils.JsonPaserUtil;
+import jco.jcosaprfclink.utils.JsonStreamUtil;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /resultTaxInvoice 응답 처리 지연/할당량: json-simple(JsonPaserUtil) vs Jackson 스트리밍(JsonStreamUtil)
+ * - 모든 경로가 서비스가 읽는 필드를 같은 수만큼 꺼낸다.
+ * - 응답 본문은 바이트 배열에서 시작한다. (HTTP 응답 스트림과 같은 조건)
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (byte/op) 으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultParseBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private byte[] response;
+    private ObjectReader resultReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = StubInvoiceApi.invoiceResults(rows);
+        resultReader = JsonStreamUtil.readerFor(TaxInvoiceStateResult.class);
+    }
+
+    /**
+     * 이전 방식: 본문 전체를 문자열로 만든 뒤 json-simple 로 파싱
+     */
+    @Benchmark
+    public void jsonSimple(Blackhole bh) {
+        JSONArray jsonArray = JsonPaserUtil.getJsonArrayFromString(new String(response, StandardCharsets.UTF_8));
+        for (Object item : jsonArray) {
+            JSONObject jsonObject = (JSONObject) item;
+            bh.consume(jsonObject.get("mgrdocNo"));
+            bh.consume(jsonObject.get("errCode"));
+            bh.consume(jsonObject.get("result"));
+            bh.consume(jsonObject.get("apprNo"));
+            bh.consume(jsonObject.get("docState"));
+        }
+    }
+
+    /**
+     * 이전 방식 + getListMapFromJsonArray (객체마다 문자열 재직렬화 후 ObjectMapper 로 다시 파싱)
+     */
+    @Benchmark
+    public void jsonSimpleListMap(Blackhole bh) {
+        JSONArray jsonArray = JsonPaserUtil.getJsonArrayFromString(new String(response, StandardCharsets.UTF_8));
+        List<Map<String, Object>> list = JsonPaserUtil.getListMapFromJsonArray(jsonArray);
+        for (Map<String, Object> map : list) {
+            bh.consume(map.get("mgrdocNo"));
+            bh.consume(map.get("errCode"));
+            bh.consume(map.get("result"));
+            bh.consume(map.get("apprNo"));
+            bh.consume(map.get("docState"));
+        }
+    }
+
+    /**
+     * 현재 방식: 스트림에서 결과 단위로 바로 읽기
+     */
+    @Benchmark
+    public int jacksonStreaming(Blackhole bh) throws IOException {
+        return JsonStreamUtil.<TaxInvoiceStateResult>readArray(resultReader, new ByteArrayInputStream(response), result -> {
+            bh.consume(result.getMgrdocNo());
+            bh.consume(result.getErrCode());
+            bh.consume(result.getResult());
+            bh.consume(result.getApprNo());
+            bh.consume(result.getDocState());
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import com.sap.conn.jco.server.JCoServerFunctionHandler;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.bridge.RfcBridge;
+import jco.jcosaprfclink.config.saprfc.bridge.RfcBridgeProperties;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.repository.RfcBridgeRepository;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.service.InvoiceApiGuard;
+import jco.jcosaprfclink.service.TaxInvoiceStateCache;
+import jco.jcosaprfclink.service.TaxInvoiceStateService;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ZFI_TAXINV_STATUS_TO_WEB 한 건 처리: 직접 작성한 TaxInvoiceStateService vs 같은 매핑의 rfc.bridge 설정
+ * - 둘 다 StubInvoiceApi(echo) 로 chunk 를 순차 전송하고, 결과를 행에 반영한 뒤 저장 직전까지 간다. (저장소는 no-op)
+ * - 서비스의 결과 캐시, 동시 호출 병합, 서킷 브레이커/동시 호출 상한은 끈다. (브리지에는 없는 기능)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RfcBridgeBenchmark {
+    private static final String INVOICE_TABLE = "T_IF_ZTAXT020";
+
+    @Param({"50", "1000"})
+    public int rows;
+
+    private StubInvoiceApi stub;
+    private TaxInvoiceStateService service;
+    private JCoServerFunctionHandler bridge;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = StubInvoiceApi.echo(0L, 4);
+        RfcTableMapperRegistry rfcTableMapperRegistry = new RfcTableMapperRegistry();
+        PayloadLogger payloadLogger = new PayloadLogger(new PayloadLogProperties());
+
+        InvoiceApiProperties invoiceApiProperties = new InvoiceApiProperties();
+        invoiceApiProperties.setMaxConcurrency(1);
+        invoiceApiProperties.setCoalesceWindow(Duration.ZERO);
+        invoiceApiProperties.getCache().setEnabled(false);
+        invoiceApiProperties.getCircuitBreaker().setEnabled(false);
+        invoiceApiProperties.getLimiter().setEnabled(false);
+        OutboxProperties outboxProperties = new OutboxProperties();
+        outboxProperties.setEnabled(false);
+        service = new TaxInvoiceStateService();
+        set(service, "stateInvoiceSap", new StateInvoiceSapImpl(rfcTableMapperRegistry));
+        set(service, "taxinvoiceStateRepository", (TaxinvoiceStateRepository) Proxy.newProxyInstance(
+                TaxinvoiceStateRepository.class.getClassLoader(), new Class<?>[]{TaxinvoiceStateRepository.class},
+                (proxy, method, args) -> method.getReturnType() == int.class ? 0 : null));
+        set(service, "outboxProperties", outboxProperties);
+        set(service, "invoiceApiProperties", invoiceApiProperties);
+        set(service, "taxInvoiceStateCache", new TaxInvoiceStateCache(invoiceApiProperties));
+        set(service, "payloadLogger", payloadLogger);
+        set(service, "invoiceApiGuard", new InvoiceApiGuard(invoiceApiProperties));
+        set(service, "apiUrl", stub.baseUrl());
+        service.init();
+
+        RfcBridgeProperties.Interface spec = new RfcBridgeProperties.Interface();
+        spec.setFunction("ZFI_TAXINV_STATUS_TO_WEB");
+        spec.setInputTable(INVOICE_TABLE);
+        spec.setEndpoint("/resultTaxInvoice");
+        spec.setKey("MGR_DOC_NO");
+        spec.setResponseKey("mgrdocNo");
+        spec.setResponse(List.of("RESULT=result", "SEND_DD=issueDd", "APPR_NO=apprNo", "ERR_CODE=errCode",
+                "ERR_MSG=errMsg", "DOC_STATE=docState", "DOC_STATE_NM=docStateNm"));
+        RfcBridgeProperties.Persist persist = new RfcBridgeProperties.Persist();
+        persist.setTable("s_state_taxinvoice");
+        persist.setColumns(List.of("mgrdoc_no=MGR_DOC_NO", "corp_biz_no=CORP_BIZ_NO", "user_id=USER_ID",
+                "appr_no=APPR_NO", "err_code=ERR_CODE", "err_msg=ERR_MSG", "result=RESULT"));
+        spec.setPersist(persist);
+        RfcBridgeProperties properties = new RfcBridgeProperties();
+        properties.setInterfaces(List.of(spec));
+        RfcBridgeRepository noOp = new RfcBridgeRepository(null, 1000) {
+            @Override
+            public int upsertAll(String sql, List<Object[]> values) {
+                return values.size();
+            }
+        };
+        bridge = new RfcBridge(properties, rfcTableMapperRegistry, payloadLogger, noOp, stub.baseUrl())
+                .rfcHandlers().get(0).handler();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+        stub.close();
+    }
+
+    @Benchmark
+    public JCoTable handwrittenService() {
+        JCoFunction function = newFunction();
+        service.taxinvoiceState(function);
+        return function.getTableParameterList().getTable(INVOICE_TABLE);
+    }
+
+    @Benchmark
+    public JCoTable declarativeBridge() throws Exception {
+        JCoFunction function = newFunction();
+        bridge.handleRequest(null, function);
+        return function.getTableParameterList().getTable(INVOICE_TABLE);
+    }
+
+    private JCoFunction newFunction() {
+        return RecordedMetadata.invoiceFunction(rows, i -> String.format("2025051300%014d", i));
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
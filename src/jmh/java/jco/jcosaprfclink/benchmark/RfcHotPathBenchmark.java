@@ -0,0 +1,149 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.saprfc.JCoConnectionManager;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.utils.JCoJsonSerializer;
+import jco.jcosaprfclink.utils.JsonPaserUtil;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaxInvoiceStateController.handleRequest 구간별 처리량/할당량
+ * - T_IF_ZTAXT020 은 기록된 구조 정의(testFixtures jco/metadata/ZTAXT020.csv)로 만든 메모리 테이블이다.
+ * - 할당량은 gc 프로파일러의 gc.alloc.rate.norm (byte/op) 으로 본다. (build.gradle jmh.profilers)
+ * 메모리 테이블은 프록시로 동작하므로 절대값보다 같은 환경에서의 변화량을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RfcHotPathBenchmark {
+    private static final String INVOICE_TABLE = "T_IF_ZTAXT020";
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private JCoRecordMetaData metaData;
+    private JCoConnectionManager jCoConnectionManager;
+    private StateInvoiceSapImpl stateInvoiceSap;
+    private JCoFunction requestFunction; // SAP 에서 받은 요청
+    private JCoFunction importFunction; // setRFCImport 대상 (매 호출 비움)
+    private List<Map<String, Object>> exportedMaps;
+    private String resultJson; // 웹 API 응답 본문
+    private JSONArray resultArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RfcTableMapperRegistry rfcTableMapperRegistry = new RfcTableMapperRegistry();
+        // setRFCImport/setRFCExport 는 테이블 매퍼만 사용한다.
+        jCoConnectionManager = new JCoConnectionManager(rfcTableMapperRegistry, null, null, null, null, null, null, null);
+        stateInvoiceSap = new StateInvoiceSapImpl(rfcTableMapperRegistry);
+        metaData = RecordedMetadata.load("ZTAXT020");
+
+        requestFunction = RecordedMetadata.invoiceFunction(rows, i -> "DOC" + i);
+        importFunction = InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of(INVOICE_TABLE, InMemoryJCo.table(metaData)));
+        exportedMaps = jCoConnectionManager.setRFCExport(INVOICE_TABLE, requestFunction);
+        resultJson = new String(StubInvoiceApi.invoiceResults(rows), StandardCharsets.UTF_8);
+        resultArray = JsonPaserUtil.getJsonArrayFromString(resultJson);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> setRFCExport() {
+        return jCoConnectionManager.setRFCExport(INVOICE_TABLE, requestFunction);
+    }
+
+    @Benchmark
+    public JCoTable setRFCImport() {
+        JCoTable table = importFunction.getTableParameterList().getTable(INVOICE_TABLE);
+        table.clear();
+        jCoConnectionManager.setRFCImport(exportedMaps, INVOICE_TABLE, importFunction);
+        return table;
+    }
+
+    @Benchmark
+    public List<StateTaxinvoice> toEntityList() {
+        return stateInvoiceSap.toEntityList(requestFunction.getTableParameterList().getTable(INVOICE_TABLE));
+    }
+
+    /**
+     * 요청 본문 작성 (웹 API 전송 직전)
+     */
+    @Benchmark
+    public long writeRequestJson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        JCoJsonSerializer.writeTable(requestFunction.getTableParameterList().getTable(INVOICE_TABLE), out);
+        return out.count;
+    }
+
+    @Benchmark
+    public JSONArray jsonArrayFromString() {
+        return JsonPaserUtil.getJsonArrayFromString(resultJson);
+    }
+
+    @Benchmark
+    public String jsonStringFromList() {
+        return JsonPaserUtil.getJsonStringFromList(exportedMaps);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> listMapFromJsonArray() {
+        return JsonPaserUtil.getListMapFromJsonArray(resultArray);
+    }
+
+    /**
+     * 웹 API 결과를 T_IF_ZTAXT020 에 반영 (TaxInvoiceStateService.taxinvoiceState 결과 루프)
+     */
+    @Benchmark
+    public JCoTable writeBack() {
+        JCoTable jCoTable = requestFunction.getTableParameterList().getTable(INVOICE_TABLE);
+        for (int i = 0; i < resultArray.size(); i++) {
+            JSONObject jsonObject = (JSONObject) resultArray.get(i);
+            jCoTable.setRow(i);
+            jCoTable.setValue("RESULT", jsonObject.get("result"));
+            jCoTable.setValue("SEND_DD", jsonObject.get("issueDd"));
+            jCoTable.setValue("APPR_NO", jsonObject.get("apprNo"));
+            jCoTable.setValue("ERR_CODE", jsonObject.get("errCode"));
+            jCoTable.setValue("ERR_MSG", "세금계산서 조회 완료");
+            jCoTable.setValue("DOC_STATE", jsonObject.get("docState"));
+            jCoTable.setValue("DOC_STATE_NM", jsonObject.get("docStateNm"));
+        }
+        return jCoTable;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
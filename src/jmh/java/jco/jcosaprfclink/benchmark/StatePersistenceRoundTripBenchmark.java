@@ -0,0 +1,202 @@
+package jco.jcosaprfclink.benchmark;
+
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.repository.TaxinvoiceStateBatchRepositoryImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 호출 1건의 s_state_taxinvoice 저장 왕복 수 (H2, MariaDB 호환 모드)
+ * - flushPerRow : 이전 방식. 요청 행 saveAllAndFlush 후, 결과 루프에서 누적 목록을 건마다 saveAllAndFlush
+ * (행마다 SELECT + INSERT/UPDATE, 반복마다 별도 트랜잭션) -> O(n²)
+ * - perChunk : 현재 방식. chunk 마다 요청 상태와 결과를 한 트랜잭션에서 배치 upsert -> O(n / batch)
+ * 측정 1회가 호출 1건이며, 보조 지표 roundTrips(statement 실행/배치 실행 수), commits 가 호출당 값이다.
+ * n/batch 증가가 보이도록 배치 크기는 100 으로 둔다. (운영 기본 1000)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+public class StatePersistenceRoundTripBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeBatch",
+            "executeLargeUpdate", "executeLargeBatch");
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TaxinvoiceStateBatchRepositoryImpl repository;
+    private List<StateTaxinvoice> requestRows;
+    private List<StateTaxinvoice> resultRows;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long roundTrips;
+        public long commits;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            roundTrips = 0;
+            commits = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:state_round_trip;MODE=MariaDB;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = counting(h2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS s_state_taxinvoice");
+        jdbcTemplate.execute(StateTaxinvoiceBatchBenchmark.DDL);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new TaxinvoiceStateBatchRepositoryImpl(jdbcTemplate, BATCH_SIZE);
+
+        requestRows = new ArrayList<>(rows);
+        resultRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String mgrdocNo = String.format("MGR%08d", i);
+            requestRows.add(StateTaxinvoice.builder()
+                    .mgrdocNo(mgrdocNo).channel("NARINER").corpBizNo("1234567890").userId("USER01")
+                    .build());
+            resultRows.add(StateTaxinvoice.builder()
+                    .mgrdocNo(mgrdocNo).channel("NARINER").corpBizNo("1234567890").userId("USER01")
+                    .result("S").errCode("KH_COM_0000").errMsg("").apprNo("2024010141000000" + i % 100)
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        jdbcTemplate.execute("TRUNCATE TABLE s_state_taxinvoice");
+        roundTrips.set(0);
+        commits.set(0);
+    }
+
+    @Benchmark
+    public void flushPerRow(RoundTrips counter) {
+        transactionTemplate.executeWithoutResult(status -> saveAll(requestRows));
+        List<StateTaxinvoice> accumulated = new ArrayList<>(rows);
+        for (StateTaxinvoice result : resultRows) {
+            accumulated.add(result);
+            transactionTemplate.executeWithoutResult(status -> saveAll(accumulated));
+        }
+        record(counter);
+    }
+
+    @Benchmark
+    public void perChunk(RoundTrips counter) {
+        List<StateTaxinvoice> states = new ArrayList<>(requestRows.size() + resultRows.size());
+        states.addAll(requestRows);
+        states.addAll(resultRows);
+        transactionTemplate.executeWithoutResult(status -> repository.upsertAll(states)); // @Transactional 과 같은 범위
+        record(counter);
+    }
+
+    /**
+     * JPA saveAllAndFlush 와 같은 행 단위 저장 (식별자가 있는 엔티티 merge: SELECT 후 INSERT/UPDATE)
+     */
+    private void saveAll(List<StateTaxinvoice> entities) {
+        for (StateTaxinvoice entity : entities) {
+            Integer found = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM s_state_taxinvoice WHERE mgrdoc_no = ?", Integer.class, entity.getMgrdocNo());
+            if (found != null && found > 0) {
+                jdbcTemplate.update("UPDATE s_state_taxinvoice SET channel = ?, corp_biz_no = ?, user_id = ?, "
+                                + "appr_no = ?, err_code = ?, err_msg = ?, result = ? WHERE mgrdoc_no = ?",
+                        entity.getChannel(), entity.getCorpBizNo(), entity.getUserId(), entity.getApprNo(),
+                        entity.getErrCode(), entity.getErrMsg(), entity.getResult(), entity.getMgrdocNo());
+            } else {
+                jdbcTemplate.update("INSERT INTO s_state_taxinvoice (mgrdoc_no, channel, corp_biz_no, user_id, "
+                                + "appr_no, err_code, err_msg, result) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                        entity.getMgrdocNo(), entity.getChannel(), entity.getCorpBizNo(), entity.getUserId(),
+                        entity.getApprNo(), entity.getErrCode(), entity.getErrMsg(), entity.getResult());
+            }
+        }
+    }
+
+    private void record(RoundTrips counter) {
+        counter.roundTrips += roundTrips.get();
+        counter.commits += commits.get();
+    }
+
+    /**
+     * statement 실행과 커밋(명시적 commit, auto-commit 상태의 실행)을 세는 DataSource
+     */
+    private DataSource counting(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) ->
+                result instanceof Connection connection ? countingConnection(connection) : result);
+    }
+
+    private Connection countingConnection(Connection target) {
+        return proxy(Connection.class, target, (method, result) -> {
+            if (method.equals("commit")) {
+                commits.incrementAndGet();
+            }
+            return result instanceof Statement statement ? countingStatement(target, statement) : result;
+        });
+    }
+
+    private Statement countingStatement(Connection connection, Statement target) {
+        Class<? extends Statement> type = target instanceof java.sql.PreparedStatement
+                ? java.sql.PreparedStatement.class : Statement.class;
+        return proxy(type, target, (method, result) -> {
+            if (EXECUTE.contains(method)) {
+                roundTrips.incrementAndGet();
+                if (connection.getAutoCommit()) {
+                    commits.incrementAndGet();
+                }
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(String method, Object result) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<? extends T> type, T target, AfterCall afterCall) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return afterCall.apply(method.getName(), result);
+        });
+    }
+}
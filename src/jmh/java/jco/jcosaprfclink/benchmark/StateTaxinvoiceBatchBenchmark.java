@@ -0,0 +1,122 @@
+package jco.jcosaprfclink.benchmark;
+
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.repository.TaxinvoiceStateBatchRepositoryImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * s_state_taxinvoice 저장 방식 비교 (H2, MariaDB 호환 모드)
+ * - rowByRow : 기존 JPA save 와 같은 행 단위 SELECT 후 INSERT/UPDATE
+ * - batchUpsert : TaxinvoiceStateBatchRepositoryImpl 의 JDBC 배치 upsert
+ * 결과의 rows 항목이 초당 저장 행 수다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StateTaxinvoiceBatchBenchmark {
+
+    static final String DDL = """
+            CREATE TABLE s_state_taxinvoice (
+                mgrdoc_no VARCHAR(24) NOT NULL PRIMARY KEY,
+                channel VARCHAR(255), corp_biz_no VARCHAR(255), user_id VARCHAR(255),
+                appr_no VARCHAR(24), send_dd VARCHAR(8), err_code VARCHAR(20), err_msg VARCHAR(200),
+                result VARCHAR(10), doc_type VARCHAR(2), doc_type_nm VARCHAR(10),
+                created_at TIMESTAMP, updated_at TIMESTAMP)
+            """;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    /** false: 빈 테이블에 요청 행 저장, true: 저장된 요청 행에 결과 행 반영 */
+    @Param({"false", "true"})
+    public boolean existing;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaxinvoiceStateBatchRepositoryImpl repository;
+    private List<StateTaxinvoice> requestRows;
+    private List<StateTaxinvoice> resultRows;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:state_taxinvoice;MODE=MariaDB;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS s_state_taxinvoice");
+        jdbcTemplate.execute(DDL);
+        repository = new TaxinvoiceStateBatchRepositoryImpl(jdbcTemplate, 1000);
+
+        requestRows = new ArrayList<>(rows);
+        resultRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String mgrdocNo = String.format("MGR%08d", i);
+            requestRows.add(StateTaxinvoice.builder()
+                    .mgrdocNo(mgrdocNo).channel("NARINER").corpBizNo("1234567890").userId("USER01")
+                    .build());
+            resultRows.add(StateTaxinvoice.builder()
+                    .mgrdocNo(mgrdocNo).channel("NARINER").corpBizNo("1234567890").userId("USER01")
+                    .result("SUCCESS").errCode("KH_COM_0000").errMsg("정상").apprNo("2024010141000000" + i % 100)
+                    .build());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbcTemplate.execute("TRUNCATE TABLE s_state_taxinvoice");
+        if (existing) {
+            repository.upsertAll(requestRows);
+        }
+    }
+
+    @Benchmark
+    public void rowByRow(Rows counter) {
+        List<StateTaxinvoice> target = existing ? resultRows : requestRows;
+        for (StateTaxinvoice entity : target) {
+            Integer found = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM s_state_taxinvoice WHERE mgrdoc_no = ?", Integer.class, entity.getMgrdocNo());
+            if (found != null && found > 0) {
+                jdbcTemplate.update("UPDATE s_state_taxinvoice SET channel = ?, corp_biz_no = ?, user_id = ?, "
+                                + "appr_no = ?, err_code = ?, err_msg = ?, result = ? WHERE mgrdoc_no = ?",
+                        entity.getChannel(), entity.getCorpBizNo(), entity.getUserId(), entity.getApprNo(),
+                        entity.getErrCode(), entity.getErrMsg(), entity.getResult(), entity.getMgrdocNo());
+            } else {
+                jdbcTemplate.update("INSERT INTO s_state_taxinvoice (mgrdoc_no, channel, corp_biz_no, user_id, "
+                                + "appr_no, err_code, err_msg, result) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                        entity.getMgrdocNo(), entity.getChannel(), entity.getCorpBizNo(), entity.getUserId(),
+                        entity.getApprNo(), entity.getErrCode(), entity.getErrMsg(), entity.getResult());
+            }
+        }
+        counter.rows += target.size();
+    }
+
+    @Benchmark
+    public int batchUpsert(Rows counter) {
+        int count = repository.upsertAll(existing ? resultRows : requestRows);
+        counter.rows += count;
+        return count;
+    }
+}
@@ -0,0 +1,87 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.sap.conn.jco.JCoFunction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jco.jcosaprfclink.config.aop.TimeTrace;
+import jco.jcosaprfclink.config.aop.TimeTraceAspect;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @TimeTrace 계측 비용 (호출당 ns, gc 프로파일러로 호출당 할당량 확인)
+ * direct 와 traced 의 차이가 프록시 + 타이머 기록 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeTraceOverheadBenchmark {
+
+    public enum Registry {SIMPLE, PROMETHEUS}
+
+    @Param({"SIMPLE", "PROMETHEUS"})
+    public Registry registry;
+
+    private Handler direct;
+    private Handler traced;
+    private JCoFunction function;
+
+    /**
+     * 계측 대상, 본문은 비용이 거의 없다.
+     */
+    public static class Handler {
+        private int calls;
+
+        @TimeTrace
+        public int handleRequest(JCoFunction function) {
+            return ++calls;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = registry == Registry.PROMETHEUS
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new SimpleMeterRegistry();
+        direct = new Handler();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Handler());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimeTraceAspect(meterRegistry));
+        traced = factory.getProxy();
+        function = InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of());
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.handleRequest(function);
+    }
+
+    @Benchmark
+    public int traced() {
+        return traced.handleRequest(function);
+    }
+
+    /**
+     * 여러 JCo 워커가 같은 타이머에 동시에 기록하는 경우
+     */
+    @Benchmark
+    @Threads(8)
+    public int tracedContended() {
+        return traced.handleRequest(function);
+    }
+}
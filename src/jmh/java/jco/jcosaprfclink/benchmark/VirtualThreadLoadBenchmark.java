@@ -0,0 +1,190 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.sap.conn.jco.JCoFunction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.RfcAsyncProperties;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.domain.RfcInbound;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.service.InvoiceApiGuard;
+import jco.jcosaprfclink.service.RfcInboundService;
+import jco.jcosaprfclink.service.TaxInvoiceStateCache;
+import jco.jcosaprfclink.service.TaxInvoiceStatePipeline;
+import jco.jcosaprfclink.service.TaxInvoiceStateService;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.InboundStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * rfc.async 파이프라인 500건 동시 처리량 비교 (TaxInvoiceStatePipeline -> taxinvoiceStatePayload -> 결과 저장)
+ * - PLATFORM: rfc.async.worker-threads=5 고정 워커
+ * - VIRTUAL: rfc.async.virtual-threads=true, 접수 건마다 가상 스레드 (Java 21 이상, ./gradlew jmh -PjmhJavaVersion=21)
+ * 웹 API 는 지연 응답 스텁(echo), 접수 저장소는 메모리, 결과 저장(upsertAll)은 jdbcMillis 만큼 대기로 모사한다.
+ * 결과 단위는 초당 처리 완료(DONE)한 RFC 호출 수이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadLoadBenchmark {
+    private static final int IN_FLIGHT = 500;
+    private static final int ROWS = 10;
+
+    public enum Execution {PLATFORM, VIRTUAL}
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public Execution execution;
+
+    @Param({"50"})
+    public long apiLatencyMillis;
+
+    @Param({"5"})
+    public long jdbcMillis;
+
+    private StubInvoiceApi stub;
+    private TaxInvoiceStateService service;
+    private TaxInvoiceStatePipeline pipeline;
+    private final AtomicInteger callNo = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile CountDownLatch done;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = StubInvoiceApi.echo(apiLatencyMillis, IN_FLIGHT);
+        RfcTableMapperRegistry rfcTableMapperRegistry = new RfcTableMapperRegistry();
+
+        InvoiceApiProperties invoiceApiProperties = new InvoiceApiProperties();
+        invoiceApiProperties.setCoalesceWindow(Duration.ZERO);
+        invoiceApiProperties.getCache().setEnabled(false);
+        invoiceApiProperties.getCircuitBreaker().setEnabled(false);
+        invoiceApiProperties.getLimiter().setEnabled(false);
+        service = new TaxInvoiceStateService();
+        set(service, "stateInvoiceSap", new StateInvoiceSapImpl(rfcTableMapperRegistry));
+        set(service, "taxinvoiceStateRepository", (TaxinvoiceStateRepository) Proxy.newProxyInstance(
+                TaxinvoiceStateRepository.class.getClassLoader(), new Class<?>[]{TaxinvoiceStateRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("upsertAll")) {
+                        Thread.sleep(jdbcMillis);
+                    }
+                    return method.getReturnType() == int.class ? 0 : null;
+                }));
+        set(service, "outboxProperties", new OutboxProperties());
+        set(service, "invoiceApiProperties", invoiceApiProperties);
+        set(service, "taxInvoiceStateCache", new TaxInvoiceStateCache(invoiceApiProperties));
+        set(service, "payloadLogger", new PayloadLogger(new PayloadLogProperties()));
+        set(service, "invoiceApiGuard", new InvoiceApiGuard(invoiceApiProperties));
+        set(service, "apiUrl", stub.baseUrl());
+        service.init();
+
+        RfcAsyncProperties rfcAsyncProperties = new RfcAsyncProperties();
+        rfcAsyncProperties.setEnabled(true);
+        rfcAsyncProperties.setWorkerThreads(5);
+        rfcAsyncProperties.setVirtualThreads(execution == Execution.VIRTUAL);
+        rfcAsyncProperties.setQueueCapacity(IN_FLIGHT);
+        pipeline = new TaxInvoiceStatePipeline(rfcAsyncProperties, new InMemoryInboundService(), service,
+                new StateInvoiceSapImpl(rfcTableMapperRegistry), new SimpleMeterRegistry());
+        pipeline.init();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+        service.shutdown();
+        stub.close();
+    }
+
+    /**
+     * 접수(JCo 워커 역할)는 이 스레드에서, 웹 API 호출과 저장은 파이프라인 워커에서 처리한다.
+     */
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long inFlight500() throws Exception {
+        done = new CountDownLatch(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            pipeline.accept(InMemoryJCo.serverContext(null), newFunction(callNo.getAndIncrement()));
+        }
+        if (!done.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("처리 미완료 " + done.getCount() + "건");
+        }
+        if (failed.get() > 0) {
+            throw new IllegalStateException("처리 실패 " + failed.get() + "건");
+        }
+        return callNo.get();
+    }
+
+    private static JCoFunction newFunction(int call) {
+        return RecordedMetadata.invoiceFunction(ROWS, i -> String.format("C%08dR%03d", call, i));
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * 접수 저장소 대역, 처리가 끝난(DONE/FAILED) 건은 지우고 done 을 센다.
+     */
+    private final class InMemoryInboundService extends RfcInboundService {
+        private final Map<String, RfcInbound> inbounds = new ConcurrentHashMap<>();
+
+        InMemoryInboundService() {
+            super(null, null);
+        }
+
+        @Override
+        public void receive(RfcInbound inbound, List<StateTaxinvoice> stateTaxinvoiceList) {
+            inbounds.put(inbound.getId(), inbound);
+        }
+
+        @Override
+        public void updateStatus(String id, InboundStatus status, String errMsg) {
+            if (status == InboundStatus.DONE) {
+                inbounds.remove(id);
+                done.countDown();
+            } else {
+                inbounds.get(id).setStatus(status);
+            }
+        }
+
+        @Override
+        public void markFailed(String id, String errMsg) {
+            failed.incrementAndGet();
+            inbounds.remove(id);
+            done.countDown();
+        }
+
+        @Override
+        public Optional<RfcInbound> find(String id) {
+            return Optional.ofNullable(inbounds.get(id));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package jco.jcosaprfclink.benchmark;
+
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.http.WireFormat;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.type.Compression;
+import jco.jcosaprfclink.type.PayloadFormat;
+import jco.jcosaprfclink.utils.JCoJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * T_IF_ZTAXT020 묶음의 /resultTaxInvoice 요청 본문 형식별 크기와 CPU 비용
+ * - 전송 크기는 설정마다 Setup 에서 한번 로그로 남긴다. ([wire] json=원본 JSON, wire=실제 전송 바이트)
+ * - 시간은 JCoTable -> JSON 직렬화 + 형식 변환/압축까지 (HttpClientEngine 이 커넥션 슬롯을 잡기 전에 하는 일)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmark.class);
+
+    @Param({"50", "1000"})
+    public int rows;
+
+    @Param({"JSON", "COLUMNAR"})
+    public PayloadFormat format;
+
+    @Param({"NONE", "GZIP", "DEFLATE"})
+    public Compression compression;
+
+    private JCoTable jCoTable;
+    private WireFormat wireFormat;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jCoTable = RecordedMetadata.invoiceTable(rows, i -> String.format("2025051300%014d", i));
+        for (int i = 0; i < rows; i++) { // 압축률이 한 값 반복에 치우치지 않도록 사업자번호를 섞는다
+            jCoTable.setRow(i);
+            jCoTable.setValue("CORP_BIZ_NO", String.valueOf(1000000000L + i % 7 * 1111111L));
+            jCoTable.setValue("SEND_DD", "20250513");
+        }
+        wireFormat = new WireFormat(format, compression, 0, false);
+
+        byte[] json = json();
+        WireFormat.Body body = wireFormat.encode(json);
+        log.info("[wire] rows={} {}/{} json={} wire={} ({}%)", rows, format, compression, json.length,
+                body.bytes().length, String.format("%.1f", 100.0 * body.bytes().length / json.length));
+    }
+
+    /**
+     * 기준: 현재 전송 방식 (JSON 직렬화만)
+     */
+    @Benchmark
+    public byte[] serializeJson() throws IOException {
+        return json();
+    }
+
+    @Benchmark
+    public WireFormat.Body serializeAndEncode() throws IOException {
+        return wireFormat.encode(json());
+    }
+
+    private byte[] json() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (rows + 1));
+        JCoJsonSerializer.writeTable(jCoTable, out);
+        return out.toByteArray();
+    }
+}
@@ -5,7 +5,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 실행 시간을 rfc.handler 타이머에 기록 (TimeTraceAspect)
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface TimeTrace {
-}
\ No newline at end of file
+    /**
+     * function 태그, JCoFunction 인자가 있으면 그 함수명을 쓴다. 비우면 클래스의 @RfcFunction 을 따른다.
+     */
+    String value() default "";
+}
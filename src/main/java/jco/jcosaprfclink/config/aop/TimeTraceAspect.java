@@ -1,35 +1,127 @@
 package jco.jcosaprfclink.config.aop;
 
+import com.sap.conn.jco.AbapException;
+import com.sap.conn.jco.JCoFunction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jco.jcosaprfclink.config.saprfc.RfcFunction;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @TimeTrace 메서드 실행 시간을 Micrometer 타이머(rfc.handler, 히스토그램 포함)로 기록
+ * 태그: function(RFC 함수명), handler(클래스.메서드), outcome, errCode
+ * 태그 조합별 타이머는 한번만 만들고 재사용한다.
+ */
 @Slf4j
 @Component
 @Aspect
+@RequiredArgsConstructor
 public class TimeTraceAspect {
+    static final String TIMER_NAME = "rfc.handler";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
 
-    // @Pointcut("execution(* com.example.demo.repository..*(..))")
     @Pointcut("@annotation(jco.jcosaprfclink.config.aop.TimeTrace)")
     private void timeTracePointcut() {
     }
 
     @Around("timeTracePointcut()")
     public Object traceTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        StopWatch stopWatch = new StopWatch();
-
+        long start = System.nanoTime();
+        String outcome = "SUCCESS";
+        String errCode = NONE;
         try {
-            stopWatch.start();
             return joinPoint.proceed(); // 실제 타겟 호출
+        } catch (BusinessExceptionHandler e) {
+            outcome = "BUSINESS_ERROR";
+            errCode = e.getErrorCode() == null ? NONE : e.getErrorCode().name();
+            throw e;
+        } catch (AbapException e) {
+            outcome = "ABAP_EXCEPTION";
+            errCode = e.getKey();
+            throw e;
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            errCode = e.getClass().getSimpleName();
+            throw e;
         } finally {
-            stopWatch.stop();
-            log.info("{} - Total time = {}s",
-                    joinPoint.getSignature().toShortString(),
-                    stopWatch.getTotalTimeSeconds());
+            long elapsed = System.nanoTime() - start;
+            Handler handler = handler(joinPoint);
+            timer(handler, handler.function(joinPoint), outcome, errCode).record(elapsed, TimeUnit.NANOSECONDS);
+            if (log.isDebugEnabled()) {
+                log.debug("{} - Total time = {}s", handler.name(), elapsed / 1_000_000_000.0);
+            }
+        }
+    }
+
+    private Handler handler(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return handlers.computeIfAbsent(method, Handler::of);
+    }
+
+    private Timer timer(Handler handler, String function, String outcome, String errCode) {
+        return timers.computeIfAbsent(new TimerKey(handler.name(), function, outcome, errCode), key -> Timer.builder(TIMER_NAME)
+                .description("RFC 처리 시간")
+                .tag("function", key.function())
+                .tag("handler", key.handler())
+                .tag("outcome", key.outcome())
+                .tag("errCode", key.errCode())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String handler, String function, String outcome, String errCode) {
+    }
+
+    /**
+     * 메서드별 태그 정보, function 은 JCoFunction 인자 위치 또는 고정값
+     */
+    private record Handler(String name, String defaultFunction, int functionArg) {
+
+        static Handler of(Method method) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int functionArg = -1;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (JCoFunction.class.isAssignableFrom(parameterTypes[i])) {
+                    functionArg = i;
+                    break;
+                }
+            }
+            TimeTrace timeTrace = method.getAnnotation(TimeTrace.class);
+            String defaultFunction = timeTrace == null ? "" : timeTrace.value();
+            if (defaultFunction.isEmpty()) {
+                RfcFunction rfcFunction = method.getDeclaringClass().getAnnotation(RfcFunction.class);
+                defaultFunction = rfcFunction != null && rfcFunction.value().length > 0 ? rfcFunction.value()[0] : NONE;
+            }
+            return new Handler(method.getDeclaringClass().getSimpleName() + "." + method.getName(), defaultFunction,
+                    functionArg);
+        }
+
+        String function(ProceedingJoinPoint joinPoint) {
+            if (functionArg >= 0 && joinPoint.getArgs()[functionArg] instanceof JCoFunction function) {
+                return function.getName();
+            }
+            return defaultFunction;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package jco.jcosaprfclink.config.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jco.jcosaprfclink.utils.HttpUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+
+@Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, InvoiceApiProperties.class, OutboxProperties.class})
+public class HttpClientConfig {
+
+    /**
+     * 공용 HTTP 클라이언트 생성 후 HttpUtil 에 등록
+     *
+     * @param httpClientProperties api.http 설정
+     * @return HttpClientEngine
+     */
+    @Bean(destroyMethod = "close")
+    public HttpClientEngine httpClientEngine(HttpClientProperties httpClientProperties) {
+        HttpClientEngine engine = new HttpClientEngine(httpClientProperties);
+        HttpUtil.setEngine(engine);
+        return engine;
+    }
+
+    /**
+     * 웹 API 호스트 동시 요청(커넥션 슬롯) 사용량 게이지
+     */
+    @Bean
+    public MeterBinder httpClientMetrics(HttpClientEngine httpClientEngine, HttpClientProperties httpClientProperties,
+                                         @Value("${api.dev_url}") String apiUrl) {
+        URI uri = URI.create(apiUrl);
+        return registry -> {
+            Gauge.builder("http.client.connections.active", httpClientEngine, e -> e.inUse(uri.getHost(), uri.getPort()))
+                    .description("사용 중인 커넥션 슬롯 수").tag("host", uri.getHost()).register(registry);
+            Gauge.builder("http.client.connections.max", httpClientProperties, HttpClientProperties::getMaxConnectionsPerHost)
+                    .description("호스트별 커넥션 슬롯 상한").tag("host", uri.getHost()).register(registry);
+        };
+    }
+}
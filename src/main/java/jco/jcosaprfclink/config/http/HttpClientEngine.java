@@ -0,0 +1,383 @@
+package jco.jcosaprfclink.config.http;
+
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.type.Compression;
+import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.type.PayloadFormat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jco.jcosaprfclink.type.ErrorCode.IO_ERROR;
+
+/**
+ * 커넥션을 재사용하는 HTTP 클라이언트
+ * - keep-alive 커넥션 풀, 호스트별 동시 요청 상한, 경로별 타임아웃
+ *   (read-timeout 은 응답 헤더 대기와 본문 읽기에 각각 적용, 본문이 중간에 멈추면 스트림을 닫아 호출 스레드를 풀어준다)
+ * - 요청/응답 본문 스트리밍
+ * - 경로별 요청 본문 형식(JSON/COLUMNAR)과 압축, 압축 응답 해제
+ */
+@Slf4j
+public class HttpClientEngine implements AutoCloseable {
+
+    /**
+     * 요청 본문을 스트림에 직접 쓴다.
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 응답 코드와 본문 스트림으로 결과를 만든다.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(int statusCode, InputStream body) throws IOException;
+    }
+
+    private final HttpClientProperties properties;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService deadlines; // 응답 본문 읽기 시간 초과 시 스트림을 닫는다
+    private final HttpClient client;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, Duration> readTimeouts = new ConcurrentHashMap<>();
+    private final Map<String, WireFormat> wireFormats = new ConcurrentHashMap<>();
+
+    public HttpClientEngine(HttpClientProperties properties) {
+        this.properties = properties;
+        // JDK 커넥션 풀 설정은 HttpClient 최초 생성 시점에 읽힌다.
+        setPropertyIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(properties.getKeepAlive().toSeconds()));
+        setPropertyIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(properties.getMaxConnectionsPerHost()));
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "http-client-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "http-client-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(properties.getVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * 문자열 본문 요청
+     */
+    public <T> T exchange(String apiUrl, HttpMethod method, String body, String token, ResponseHandler<T> handler) {
+        if (body == null || body.isEmpty() || !hasBody(method)) {
+            return execute(URI.create(apiUrl), method, null, null, WireFormat.PLAIN, token, handler);
+        }
+        return send(URI.create(apiUrl), method, body.getBytes(StandardCharsets.UTF_8), null, token, handler);
+    }
+
+    /**
+     * 스트리밍 본문 요청, 본문은 호출 스레드에서 파이프를 통해 소켓으로 바로 전송된다.
+     * COLUMNAR 형식 경로는 변환을 위해 본문 전체를 메모리에 받은 뒤 보낸다.
+     */
+    public <T> T exchange(String apiUrl, HttpMethod method, BodyWriter writer, String token, ResponseHandler<T> handler) {
+        if (writer == null || !hasBody(method)) {
+            return execute(URI.create(apiUrl), method, null, null, WireFormat.PLAIN, token, handler);
+        }
+        return send(URI.create(apiUrl), method, null, writer, token, handler);
+    }
+
+    /**
+     * 경로별 전송 형식으로 본문 전송
+     * 서버가 변환/압축한 본문을 415 로 거부하면 JSON 으로 한번 더 보내고, 그 경로는 이후 JSON 으로 보낸다. (writer 재호출)
+     */
+    private <T> T send(URI uri, HttpMethod method, byte[] body, BodyWriter writer, String token,
+                       ResponseHandler<T> handler) {
+        WireFormat wire = wireFormat(uri);
+        if (body == null && wire.format() == PayloadFormat.COLUMNAR) {
+            body = buffer(writer);
+            writer = null;
+        }
+        try {
+            return execute(uri, method, body, writer, wire, token, handler);
+        } catch (UnsupportedWireFormat e) {
+            WireFormat plain = wire.withPlainRequest();
+            log.warn("❌ 415 Unsupported Media Type: {} 요청 형식 {} 미지원, 이후 JSON 으로 전송", uri.getPath(), wire);
+            wireFormats.put(pathOf(uri), plain);
+            return execute(uri, method, body, writer, plain, token, handler);
+        }
+    }
+
+    /**
+     * @param body   메모리에 있는 요청 본문 (JSON 배열), writer 와 둘 다 null 이면 본문 없음
+     * @param writer 스트리밍 요청 본문
+     */
+    private <T> T execute(URI uri, HttpMethod method, byte[] body, BodyWriter writer, WireFormat wire, String token,
+                          ResponseHandler<T> handler) {
+        Duration readTimeout = readTimeout(uri);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(readTimeout);
+        StreamPipe pipe = null;
+        String contentType = WireFormat.JSON_CONTENT_TYPE;
+        String contentEncoding = null;
+        if (writer != null) {
+            pipe = new StreamPipe(properties.getStreamBufferSize());
+            contentEncoding = wire.compression().token();
+            builder.method(method.name(), HttpRequest.BodyPublishers.ofInputStream(pipe::source));
+        } else if (body != null) {
+            WireFormat.Body encoded = encode(wire, body); // 커넥션 슬롯을 잡기 전에 변환/압축
+            contentType = encoded.contentType();
+            contentEncoding = encoded.contentEncoding();
+            builder.method(method.name(), HttpRequest.BodyPublishers.ofByteArray(encoded.bytes()));
+        } else {
+            builder.method(method.name(), HttpRequest.BodyPublishers.noBody());
+        }
+        builder.header("Content-Type", contentType);
+        if (contentEncoding != null) {
+            builder.header("Content-Encoding", contentEncoding);
+        }
+        boolean encoded = contentEncoding != null || !WireFormat.JSON_CONTENT_TYPE.equals(contentType);
+        if (wire.acceptEncoding() != null) {
+            builder.header("Accept-Encoding", wire.acceptEncoding());
+        }
+        if (token != null && !token.isEmpty()) {
+            builder.header("Authorization", "Token " + token);
+        }
+
+        Semaphore permits = hostPermits.computeIfAbsent(uri.getHost() + ":" + uri.getPort(),
+                k -> new Semaphore(properties.getMaxConnectionsPerHost(), true));
+        acquire(permits);
+        try {
+            HttpResponse<InputStream> response;
+            if (pipe == null) {
+                response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            } else {
+                CompletableFuture<HttpResponse<InputStream>> future =
+                        client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                writeBody(pipe.sink(), wire, writer, future);
+                response = await(future, readTimeout);
+            }
+            if (response.statusCode() == 415 && encoded) {
+                response.body().close();
+                throw new UnsupportedWireFormat();
+            }
+            return read(response, readTimeout, handler);
+        } catch (IOException e) {
+            log.warn("❌ HTTP 요청 실패: {}", e.getLocalizedMessage());
+            throw new BusinessExceptionHandler(IO_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("❌ HTTP 요청 대기 중 인터럽트");
+            throw new BusinessExceptionHandler(IO_ERROR);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 응답 본문 처리, readTimeout 안에 끝나지 않으면 본문 스트림을 닫아 멈춘 읽기를 IOException 으로 끝낸다.
+     */
+    private <T> T read(HttpResponse<InputStream> response, Duration readTimeout, ResponseHandler<T> handler)
+            throws IOException {
+        InputStream body = response.body();
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> deadline = deadlines.schedule(() -> {
+            expired.set(true);
+            closeQuietly(body);
+        }, readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        try (InputStream in = WireFormat.decode(body, response.headers().firstValue("Content-Encoding").orElse(null))) {
+            return handler.handle(response.statusCode(), in);
+        } catch (IOException e) {
+            if (expired.get()) {
+                throw new IOException("HTTP 응답 본문 시간 초과 (" + readTimeout + ")", e);
+            }
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private static WireFormat.Body encode(WireFormat wire, byte[] body) {
+        if (wire.plainRequest()) {
+            return new WireFormat.Body(body, WireFormat.JSON_CONTENT_TYPE, null);
+        }
+        try {
+            return wire.encode(body);
+        } catch (IOException e) {
+            log.warn("❌ 요청 본문 변환 실패: {}", e.getLocalizedMessage());
+            throw new BusinessExceptionHandler(IO_ERROR);
+        }
+    }
+
+    private static byte[] buffer(BodyWriter writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try {
+            writer.writeTo(out);
+        } catch (IOException e) {
+            log.warn("❌ 요청 본문 작성 실패: {}", e.getLocalizedMessage());
+            throw new BusinessExceptionHandler(IO_ERROR);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 서버가 변환/압축한 요청 본문을 415 로 거부함
+     */
+    private static final class UnsupportedWireFormat extends RuntimeException {
+        UnsupportedWireFormat() {
+            super(null, null, false, false);
+        }
+    }
+
+    private void writeBody(OutputStream pipeOut, WireFormat wire, BodyWriter writer,
+                           CompletableFuture<HttpResponse<InputStream>> future) throws IOException {
+        // 요청이 먼저 실패하면 쓰기 쪽이 파이프에서 멈추지 않도록 닫아준다.
+        future.whenComplete((response, e) -> {
+            if (e != null) {
+                closeQuietly(pipeOut);
+            }
+        });
+        try (OutputStream out = wire.compress(pipeOut)) { // 압축 시 닫을 때 압축을 마치고 파이프를 닫는다
+            writer.writeTo(out);
+        } catch (IOException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private HttpResponse<InputStream> await(CompletableFuture<HttpResponse<InputStream>> future, Duration readTimeout)
+            throws IOException {
+        try {
+            return future.get(readTimeout.plus(properties.getConnectTimeout()).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("HTTP 요청 대기 중 인터럽트", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IOException("HTTP 응답 시간 초과", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void acquire(Semaphore permits) {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("❌ HTTP 커넥션 대기 시간 초과");
+                throw new BusinessExceptionHandler(IO_ERROR);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessExceptionHandler(IO_ERROR);
+        }
+    }
+
+    /**
+     * 경로별 읽기 타임아웃, URL 마다 한번만 계산한다.
+     */
+    private Duration readTimeout(URI uri) {
+        String path = uri.getPath();
+        if (path == null || properties.getEndpoints().isEmpty()) {
+            return properties.getReadTimeout();
+        }
+        return readTimeouts.computeIfAbsent(path, p -> {
+            HttpClientProperties.Endpoint matched = null;
+            for (HttpClientProperties.Endpoint endpoint : properties.getEndpoints()) {
+                if (endpoint.getReadTimeout() != null && endpoint.getPath() != null && p.endsWith(endpoint.getPath())
+                        && (matched == null || endpoint.getPath().length() > matched.getPath().length())) {
+                    matched = endpoint;
+                }
+            }
+            return matched == null ? properties.getReadTimeout() : matched.getReadTimeout();
+        });
+    }
+
+    /**
+     * 경로별 전송 형식, 경로가 가장 길게 일치하는 endpoint 값이 우선이고 비운 값은 공통 설정을 따른다.
+     */
+    private WireFormat wireFormat(URI uri) {
+        return wireFormats.computeIfAbsent(pathOf(uri), p -> {
+            HttpClientProperties.Endpoint matched = null;
+            for (HttpClientProperties.Endpoint endpoint : properties.getEndpoints()) {
+                if (endpoint.getPath() != null && p.endsWith(endpoint.getPath())
+                        && (matched == null || endpoint.getPath().length() > matched.getPath().length())) {
+                    matched = endpoint;
+                }
+            }
+            PayloadFormat format = properties.getFormat();
+            Compression compression = properties.getCompression();
+            boolean acceptCompressed = properties.isAcceptCompressed();
+            if (matched != null) {
+                format = matched.getFormat() == null ? format : matched.getFormat();
+                compression = matched.getCompression() == null ? compression : matched.getCompression();
+                acceptCompressed = matched.getAcceptCompressed() == null ? acceptCompressed : matched.getAcceptCompressed();
+            }
+            return new WireFormat(format, compression, properties.getCompressionMinSize(), acceptCompressed);
+        });
+    }
+
+    private static String pathOf(URI uri) {
+        return uri.getPath() == null ? "" : uri.getPath();
+    }
+
+    /**
+     * 호스트별 사용 중인 슬롯 수
+     */
+    public int inUse(String host, int port) {
+        Semaphore permits = hostPermits.get(host + ":" + port);
+        return permits == null ? 0 : properties.getMaxConnectionsPerHost() - permits.availablePermits();
+    }
+
+    private static boolean hasBody(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT;
+    }
+
+    private static void setPropertyIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // 이미 닫힌 스트림
+        }
+    }
+
+    @Override
+    public void close() {
+        deadlines.shutdownNow();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package jco.jcosaprfclink.config.http;
+
+import jco.jcosaprfclink.type.Compression;
+import jco.jcosaprfclink.type.PayloadFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 외부 API 호출용 HTTP 클라이언트 설정 (api.http)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.http")
+public class HttpClientProperties {
+
+    private HttpClient.Version version = HttpClient.Version.HTTP_2; // 서버가 지원하지 않으면 HTTP/1.1 로 동작
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30); // 응답 헤더 수신까지, 이어서 본문 읽기에 각각 적용
+    private Duration keepAlive = Duration.ofSeconds(60); // 유휴 커넥션 유지 시간
+    private int maxConnectionsPerHost = 20; // 호스트별 동시 요청(커넥션) 상한
+    private Duration acquireTimeout = Duration.ofSeconds(10); // 커넥션 슬롯 대기 시간
+    private int streamBufferSize = 64 * 1024; // 요청 본문 스트리밍 버퍼 크기
+
+    private PayloadFormat format = PayloadFormat.JSON; // 요청 본문 형식, 서버가 415 로 거부하면 JSON 으로 다시 보낸다
+    private Compression compression = Compression.NONE; // 요청 본문 압축
+    private int compressionMinSize = 1024; // 이보다 작은 본문은 압축하지 않는다 (스트리밍 본문은 크기와 관계없이 압축)
+    private boolean acceptCompressed = false; // 압축 응답 요청 (Accept-Encoding: gzip, deflate)
+
+    private List<Endpoint> endpoints = new ArrayList<>(); // 경로별 개별 설정
+
+    /**
+     * 경로별 개별 설정, 지정하지 않은 값은 공통 설정을 따른다.
+     */
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String path;
+        private Duration readTimeout;
+        private PayloadFormat format;
+        private Compression compression;
+        private Boolean acceptCompressed;
+    }
+}
@@ -0,0 +1,70 @@
+package jco.jcosaprfclink.config.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세금계산서 상태 웹 API 호출 설정 (api.invoice)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.invoice")
+public class InvoiceApiProperties {
+
+    private int chunkSize = 1000; // 요청 1건에 담는 행 수, 0 이하면 테이블 전체를 한번에 보낸다
+    private int maxConcurrency = 4; // 동시에 전송하는 chunk 수 (웹 API 호스트 전체 기준), 1 이하면 순차 전송
+    private Duration coalesceWindow = Duration.ZERO; // 동시 호출의 조회를 모으는 시간 (묶음 최대 chunkSize 건), 0 이면 병합하지 않음 (기본)
+
+    private Cache cache = new Cache();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Limiter limiter = new Limiter();
+
+    /**
+     * 조회 결과 캐시 (api.invoice.cache), 문서관리번호별 마지막 성공 결과
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false; // 기본 비활성화, 켤 때는 finalStates 를 함께 지정
+        private long maximumSize = 100_000; // 초과 시 오래 쓰지 않은 건부터 제거
+        private List<String> finalStates = new ArrayList<>(); // 더 바뀌지 않는 DOC_STATE
+        private Duration finalTtl; // 최종 상태 유지 시간, 비우면 만료 없음 (크기 제한으로만 제거)
+        private Duration pendingTtl = Duration.ofSeconds(5); // 진행 중 상태 유지 시간, 0 이면 캐시하지 않음
+    }
+
+    /**
+     * 웹 API 장애 시 호출 중단 (api.invoice.circuit-breaker), 최근 호출 수 기준
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int windowSize = 20; // 실패율을 계산할 최근 호출 수
+        private int minimumCalls = 10; // 이 건수가 쌓이기 전에는 열지 않는다
+        private double failureRateThreshold = 0.5; // 실패(연결/시간 초과/5xx/응답 오류) 비율 (0 ~ 1]
+        private Duration slowCallDuration = Duration.ofSeconds(5); // 이보다 오래 걸린 호출은 느린 호출
+        private double slowCallRateThreshold = 0.5; // 느린 호출 비율 (0 ~ 1]
+        private Duration openDuration = Duration.ofSeconds(30); // 열린 뒤 시험 호출까지 대기 시간
+        private int halfOpenCalls = 3; // 시험 호출 수, 모두 정상이면 닫는다
+    }
+
+    /**
+     * 웹 API 동시 호출 상한 자동 조정 (api.invoice.limiter), 응답 시간이 늘면 줄이고 안정되면 늘린다.
+     */
+    @Getter
+    @Setter
+    public static class Limiter {
+        private boolean enabled = true;
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 20; // api.http.max-connections-per-host 이하로 둔다
+        private double backoffRatio = 0.9; // 실패/지연 시 상한 감소 비율
+        private double latencyTolerance = 2.0; // 같은 행 수 구간 기준 응답 시간 대비 평균 비율이 이 배수를 넘으면 지연으로 본다
+        private Duration maxWait = Duration.ofSeconds(1); // 상한에 닿았을 때 대기 시간, 넘으면 거절
+    }
+}
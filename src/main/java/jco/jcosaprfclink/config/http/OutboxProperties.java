@@ -0,0 +1,26 @@
+package jco.jcosaprfclink.config.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 웹 API 재전송 대기열 설정 (api.outbox)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false; // s_taxinvoice_outbox 테이블 생성 후 사용
+    private Duration pollInterval = Duration.ofSeconds(5); // 대기열 확인 주기
+    private int batchSize = 500; // 한번에 점유하는 건수
+    private int chunkSize = 100; // 요청 1건에 담는 행 수
+    private int maxConcurrency = 4; // 동시 전송 요청 수
+    private int maxAttempts = 10; // 초과 시 DEAD
+    private Duration initialBackoff = Duration.ofSeconds(10);
+    private Duration maxBackoff = Duration.ofMinutes(30);
+    private Duration leaseTimeout = Duration.ofMinutes(5); // 전송 중 점유 시간, 지나면 다시 전송
+}
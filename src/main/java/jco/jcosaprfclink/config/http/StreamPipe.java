@@ -0,0 +1,158 @@
+package jco.jcosaprfclink.config.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청 본문 스트리밍용 파이프 (쓰기 스레드 1개, 읽기 스레드 1개)
+ * PipedInputStream 은 synchronized 안에서 wait 하므로 가상 스레드가 캐리어 스레드에 고정된다. ReentrantLock 으로 대신 구현한다.
+ */
+final class StreamPipe {
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final InputStream source = new Source();
+    private final OutputStream sink = new Sink();
+    private int readPos;
+    private int count;
+    private boolean writerClosed;
+    private boolean readerClosed;
+
+    StreamPipe(int bufferSize) {
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * 읽기 쪽 (HTTP 클라이언트)
+     */
+    InputStream source() {
+        return source;
+    }
+
+    /**
+     * 쓰기 쪽 (본문 작성 스레드), 닫으면 읽기 쪽이 남은 데이터를 읽은 뒤 EOF 를 받는다.
+     */
+    OutputStream sink() {
+        return sink;
+    }
+
+    private final class Sink extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            lock.lock();
+            try {
+                while (len > 0) {
+                    while (count == buffer.length && !writerClosed && !readerClosed) {
+                        await(notFull);
+                    }
+                    if (writerClosed || readerClosed) {
+                        throw new IOException("Pipe closed");
+                    }
+                    int writePos = (readPos + count) % buffer.length;
+                    int n = Math.min(len, Math.min(buffer.length - count, buffer.length - writePos));
+                    System.arraycopy(b, off, buffer, writePos, n);
+                    count += n;
+                    off += n;
+                    len -= n;
+                    notEmpty.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                writerClosed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class Source extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                while (count == 0 && !writerClosed && !readerClosed) {
+                    await(notEmpty);
+                }
+                if (readerClosed) {
+                    throw new IOException("Pipe closed");
+                }
+                if (count == 0) {
+                    return -1;
+                }
+                int n = Math.min(len, Math.min(count, buffer.length - readPos));
+                System.arraycopy(buffer, readPos, b, off, n);
+                readPos = (readPos + n) % buffer.length;
+                count -= n;
+                notFull.signal();
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                readerClosed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void await(Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("파이프 대기 중 인터럽트");
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package jco.jcosaprfclink.config.http;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import jco.jcosaprfclink.type.Compression;
+import jco.jcosaprfclink.type.PayloadFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 경로별 요청/응답 본문 전송 형식 (api.http 공통 설정 + endpoints 개별 설정)
+ * - format : COLUMNAR 면 JSON 배열 [{..},{..}] 을 {"columns":[..],"rows":[[..],[..]]} 로 바꿔 보낸다.
+ * - compression : 요청 본문 압축, 메모리에 있는 본문은 compressionMinSize 이상일 때만 압축한다.
+ * - acceptCompressed : 압축 응답을 받겠다고 알리고(Accept-Encoding), 받은 응답은 읽을 때 푼다.
+ */
+public final class WireFormat {
+
+    public static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+    public static final String COLUMNAR_CONTENT_TYPE = "application/vnd.jco.columnar+json;charset=UTF-8";
+    public static final WireFormat PLAIN = new WireFormat(PayloadFormat.JSON, Compression.NONE, 0, false);
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private static final byte[] COLUMNS = "{\"columns\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROWS = ",\"rows\":".getBytes(StandardCharsets.UTF_8);
+
+    private final PayloadFormat format;
+    private final Compression compression;
+    private final int compressionMinSize;
+    private final boolean acceptCompressed;
+
+    public WireFormat(PayloadFormat format, Compression compression, int compressionMinSize, boolean acceptCompressed) {
+        this.format = format == null ? PayloadFormat.JSON : format;
+        this.compression = compression == null ? Compression.NONE : compression;
+        this.compressionMinSize = compressionMinSize;
+        this.acceptCompressed = acceptCompressed;
+    }
+
+    /**
+     * 인코딩된 요청 본문
+     *
+     * @param contentEncoding 압축하지 않았으면 null
+     */
+    public record Body(byte[] bytes, String contentType, String contentEncoding) {
+    }
+
+    public PayloadFormat format() {
+        return format;
+    }
+
+    public Compression compression() {
+        return compression;
+    }
+
+    /**
+     * 요청 본문을 그대로 보내는지 (JSON, 압축 없음)
+     */
+    public boolean plainRequest() {
+        return format == PayloadFormat.JSON && compression == Compression.NONE;
+    }
+
+    /**
+     * 요청 본문만 JSON 으로 되돌린 형식 (서버가 415 로 거부한 경우)
+     */
+    public WireFormat withPlainRequest() {
+        return acceptCompressed ? new WireFormat(PayloadFormat.JSON, Compression.NONE, 0, true) : PLAIN;
+    }
+
+    /**
+     * Accept-Encoding 값, 압축 응답을 받지 않으면 null
+     */
+    public String acceptEncoding() {
+        return acceptCompressed ? "gzip, deflate" : null;
+    }
+
+    /**
+     * JSON 배열 본문을 이 형식으로 변환
+     * 행 구성이 서로 다른 등 COLUMNAR 로 바꿀 수 없는 본문은 JSON 그대로 둔다.
+     */
+    public Body encode(byte[] json) throws IOException {
+        byte[] bytes = json;
+        String contentType = JSON_CONTENT_TYPE;
+        if (format == PayloadFormat.COLUMNAR) {
+            byte[] columnar = toColumnar(json);
+            if (columnar != null) {
+                bytes = columnar;
+                contentType = COLUMNAR_CONTENT_TYPE;
+            }
+        }
+        if (compression == Compression.NONE || bytes.length < compressionMinSize) {
+            return new Body(bytes, contentType, null);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream compressed = compress(out)) {
+            compressed.write(bytes);
+        }
+        return new Body(out.toByteArray(), contentType, compression.token());
+    }
+
+    /**
+     * 스트리밍 본문 압축, 닫으면 압축을 마치고 out 도 닫는다.
+     */
+    public OutputStream compress(OutputStream out) throws IOException {
+        return switch (compression) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, 8192);
+            case DEFLATE -> new DeflaterOutputStream(out, true);
+        };
+    }
+
+    /**
+     * 응답 Content-Encoding 에 맞춰 본문 압축 해제
+     */
+    public static InputStream decode(InputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return in;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "", "identity" -> in;
+            case "gzip", "x-gzip" -> new GZIPInputStream(in, 8192);
+            case "deflate" -> new InflaterInputStream(in);
+            default -> throw new IOException("지원하지 않는 Content-Encoding : " + contentEncoding);
+        };
+    }
+
+    /**
+     * [{"A":1,"B":"x"},{"A":2,"B":"y"}] -> {"columns":["A","B"],"rows":[[1,"x"],[2,"y"]]}
+     * 모든 행의 필드 이름과 순서가 첫 행과 같아야 하며, 아니면 null
+     * 숫자는 원문 그대로(BigDecimal) 옮겨 금액 자릿수가 바뀌지 않는다.
+     */
+    public static byte[] toColumnar(byte[] json) throws IOException {
+        List<String> columns = new ArrayList<>();
+        ByteArrayOutputStream rows = new ByteArrayOutputStream(json.length / 2 + 16);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(rows, JsonEncoding.UTF8)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            generator.writeStartArray();
+            boolean first = true;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                generator.writeStartArray();
+                int column = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    if (first) {
+                        columns.add(name);
+                    } else if (column >= columns.size() || !columns.get(column).equals(name)) {
+                        return null;
+                    }
+                    column++;
+                    copyValue(parser, generator);
+                }
+                if (column != columns.size()) {
+                    return null;
+                }
+                generator.writeEndArray();
+                first = false;
+            }
+            if (token != JsonToken.END_ARRAY || parser.nextToken() != null) {
+                return null;
+            }
+            generator.writeEndArray();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() + 32 * columns.size() + 32);
+        out.write(COLUMNS);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (String column : columns) {
+                generator.writeString(column);
+            }
+            generator.writeEndArray();
+        }
+        out.write(ROWS);
+        rows.writeTo(out);
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void copyValue(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_NUMBER_FLOAT) {
+            generator.writeNumber(parser.getDecimalValue());
+        } else if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+            generator.copyCurrentStructure(parser);
+        } else {
+            generator.copyCurrentEvent(parser);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format + "/" + compression + (acceptCompressed ? "/accept-compressed" : "");
+    }
+}
@@ -0,0 +1,23 @@
+package jco.jcosaprfclink.config.log;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 테이블/웹 API 본문 로그 설정 (payload-log)
+ * 출력 여부는 로거 레벨로 정한다. (logging.level.payload: debug)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payload-log")
+public class PayloadLogProperties {
+
+    private double sampleRate = 1.0; // 호출 중 출력 비율 (0 ~ 1)
+    private int maxRows = 20; // 테이블 출력 행 수 상한
+    private int maxChars = 8192; // 1건 출력 길이 상한
+    private List<String> redactFields = new ArrayList<>(List.of("corpBizNo")); // 대소문자, '_' 무시 (CORP_BIZ_NO 포함)
+}
@@ -0,0 +1,141 @@
+package jco.jcosaprfclink.config.log;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RFC 테이블/웹 API 본문 로그 (로거 "payload", DEBUG)
+ * - 로거가 꺼져 있거나 표본에서 빠진 호출은 레벨 확인만 하고 아무것도 만들지 않는다.
+ * - redact-fields 의 값은 가리고, max-rows/max-chars 까지만 출력한다.
+ * - 출력은 logback-spring.xml 의 ASYNC_PAYLOAD 로 가며, 큐가 차면 버려진다. (호출 스레드는 기다리지 않는다)
+ */
+@Slf4j(topic = "payload")
+@Component
+@EnableConfigurationProperties(PayloadLogProperties.class)
+public class PayloadLogger {
+
+    static final String MASK = "***";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final double sampleRate;
+    private final int maxRows;
+    private final int maxChars;
+    private final Set<String> redactFields;
+
+    public PayloadLogger(PayloadLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.maxRows = Math.max(0, properties.getMaxRows());
+        this.maxChars = Math.max(0, properties.getMaxChars());
+        this.redactFields = new HashSet<>();
+        for (String field : properties.getRedactFields()) {
+            redactFields.add(normalize(field));
+        }
+    }
+
+    /**
+     * 이번 호출을 출력할지 (레벨 확인 후 표본 추출)
+     */
+    public boolean sampled() {
+        return log.isDebugEnabled()
+                && (sampleRate >= 1.0 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * 테이블 행 출력, 호출 스레드에서 현재 행을 옮기므로 테이블을 다 쓴 뒤에 호출한다.
+     */
+    public void table(String kind, JCoTable jCoTable) {
+        if (sampled()) {
+            log.debug("{} {}", kind, renderTable(jCoTable));
+        }
+    }
+
+    /**
+     * JSON 본문(UTF-8) 출력
+     */
+    public void json(String kind, byte[] body) {
+        if (sampled()) {
+            log.debug("{} {}", kind, renderJson(body));
+        }
+    }
+
+    String renderTable(JCoTable jCoTable) {
+        JCoRecordMetaData metaData = jCoTable.getRecordMetaData();
+        int fields = metaData.getFieldCount();
+        String[] names = new String[fields];
+        boolean[] redact = new boolean[fields];
+        for (int f = 0; f < fields; f++) {
+            names[f] = metaData.getName(f);
+            redact[f] = redactFields.contains(normalize(names[f]));
+        }
+        int rows = jCoTable.getNumRows();
+        int shown = Math.min(rows, maxRows);
+        StringBuilder sb = new StringBuilder(Math.min(maxChars, 64 + shown * fields * 16) + 64);
+        sb.append(metaData.getName()).append(" rows=").append(rows);
+        int row = 0;
+        for (; row < shown && sb.length() < maxChars; row++) {
+            jCoTable.setRow(row);
+            sb.append("\n  ").append(row).append(" {");
+            for (int f = 0; f < fields; f++) {
+                if (f > 0) {
+                    sb.append(", ");
+                }
+                sb.append(names[f]).append('=').append(redact[f] ? MASK : jCoTable.getString(f));
+            }
+            sb.append('}');
+        }
+        if (row < rows) {
+            sb.append("\n  ... ").append(rows - row).append(" rows");
+        }
+        return sb.toString();
+    }
+
+    String renderJson(byte[] body) {
+        StringWriter writer = new StringWriter(Math.min(maxChars, body.length) + 16);
+        boolean truncated = false;
+        try (JsonParser parser = JSON_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && redactFields.contains(normalize(parser.currentName()))) {
+                    generator.writeFieldName(parser.currentName());
+                    parser.nextToken();
+                    parser.skipChildren();
+                    generator.writeString(MASK);
+                    continue;
+                }
+                generator.copyCurrentEvent(parser);
+                if (token == JsonToken.END_OBJECT) {
+                    generator.flush();
+                    if (writer.getBuffer().length() >= maxChars) {
+                        truncated = true;
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return "(JSON 아님, " + body.length + " bytes)";
+        }
+        if (truncated) {
+            writer.append(" ... (").append(String.valueOf(body.length)).append(" bytes)");
+        }
+        return writer.toString();
+    }
+
+    private static String normalize(String field) {
+        return field.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -8,95 +8,168 @@ import com.sap.conn.jco.server.JCoServer;
 import com.sap.conn.jco.server.JCoServerFactory;
 import com.sap.conn.jco.server.JCoServerFunctionHandler;
 
-import jco.jcosaprfclink.controller.TaxInvoiceStateController;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.dto.JCoPoolReload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.util.*;
-
-import static jco.jcosaprfclink.type.ErrorCode.NOT_CREATE_FILE_ERROR;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties({RfcAsyncProperties.class, RfcServerProperties.class, SapConnectProperties.class,
+        SapRepositoryProperties.class})
 public class JCoConnectionManager {
-    private static final String INVOICE_ISSUE_STATUS_FUN = "ZFI_TAXINV_STATUS_TO_WEB";
-
     static String SERVER_NAME1 = "SERVER";
     static String DESTINATION_NAME1 = "ABAP_AS_WITHOUT_POOL";
+    static String POOLED_DESTINATION_NAME = "ABAP_AS_POOLED"; // SAP 호출(outbound)용
 
-    @Value("${sap.connect.host}")
-    private String ashost;
-    @Value("${sap.connect.sysnr}")
-    private String sysnr;
-    @Value("${sap.connect.client}")
-    private String client;
-    @Value("${sap.connect.user}")
-    private String user;
-    @Value("${sap.connect.passwd}")
-    private String passwd;
-    @Value("${sap.connect.lang}")
-    private String lang;
-
-    @Value("${jco.server.connection_count}")
-    private String conneCount;
-    @Value("${jco.server.thread_count}")
-    private String threadCount;
-    @Value("${jco.server.progid}")
-    private String progid;
-    @Value("${jco.server.repository_destination}")
-    private String repoDestination;
-    @Value("${jco.server.gwserv}")
-    private String gwserv;
-    @Value("${jco.server.gwhost}")
-    private String gwhost;
+    private final RfcTableMapperRegistry rfcTableMapperRegistry;
+    private final RfcAsyncProperties rfcAsyncProperties;
+    private final RfcTidHandler rfcTidHandler;
+    private final RfcServerProperties rfcServerProperties;
+    private final RfcHandlerRegistry rfcHandlerRegistry;
+    private final RfcServerAutoscaler rfcServerAutoscaler;
+    private final SapConnectProperties sapConnectProperties;
+    private final JCoDataProvider jCoDataProvider;
+    private final ReentrantLock reloadLock = new ReentrantLock(); // 운영 API(가상 스레드 가능) 호출, synchronized 대신 사용
 
+    /**
+     * destination/서버 설정을 메모리 provider 에 등록 (파일을 만들지 않는다)
+     */
     @PostConstruct
     public void init() {
+        jCoDataProvider.register();
+        jCoDataProvider.putDestination(DESTINATION_NAME1, connectProperties());
+        if (sapConnectProperties.getPool().isEnabled()) {
+            jCoDataProvider.putDestination(POOLED_DESTINATION_NAME, pooledProperties());
+        }
+        for (String group : rfcHandlerRegistry.handlersByGroup().keySet()) {
+            jCoDataProvider.putServer(serverName(group), serverProperties(group));
+        }
+    }
+
+    /**
+     * 커넥션 풀 설정 변경, JCo 가 풀을 바로 다시 구성한다.
+     */
+    public void reloadPool(JCoPoolReload changes) {
+        reloadLock.lock();
+        try {
+            SapConnectProperties.Pool pool = sapConnectProperties.getPool();
+            if (!pool.isEnabled()) {
+                throw new IllegalStateException("sap.connect.pool.enabled=false 상태에서는 풀 설정을 바꿀 수 없습니다.");
+            }
+            Optional.ofNullable(changes.getPeakLimit()).ifPresent(pool::setPeakLimit);
+            Optional.ofNullable(changes.getCapacity()).ifPresent(pool::setCapacity);
+            Optional.ofNullable(changes.getExpirationTime()).ifPresent(pool::setExpirationTime);
+            Optional.ofNullable(changes.getExpirationPeriod()).ifPresent(pool::setExpirationPeriod);
+            Optional.ofNullable(changes.getMaxGetTime()).ifPresent(pool::setMaxGetTime);
+            jCoDataProvider.putDestination(POOLED_DESTINATION_NAME, pooledProperties());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 격리 그룹 커넥션/스레드 설정 변경, JCo 서버와 오토스케일 범위에 바로 반영한다.
+     */
+    public void reloadServer(String group, RfcServerProperties.Group changes) {
+        reloadLock.lock();
+        try {
+            if (!rfcHandlerRegistry.handlersByGroup().containsKey(group)) {
+                throw new IllegalArgumentException("등록되지 않은 RFC 그룹 : " + group);
+            }
+            RfcServerProperties.Group groupProperties = rfcServerProperties.getGroups()
+                    .computeIfAbsent(group, g -> new RfcServerProperties.Group());
+            Optional.ofNullable(changes.getMinConnections()).ifPresent(groupProperties::setMinConnections);
+            Optional.ofNullable(changes.getMaxConnections()).ifPresent(groupProperties::setMaxConnections);
+            Optional.ofNullable(changes.getMinThreads()).ifPresent(groupProperties::setMinThreads);
+            Optional.ofNullable(changes.getMaxThreads()).ifPresent(groupProperties::setMaxThreads);
+            jCoDataProvider.putServer(serverName(group), serverProperties(group));
+            try {
+                registerAutoscale(group, JCoServerFactory.getServer(serverName(group)));
+            } catch (JCoException e) {
+                log.warn("RFC 서버 오토스케일 범위 갱신 실패 ({}) : {}", group, e.getMessage());
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Properties connectProperties() {
         Properties connectProperties = new Properties();
-        connectProperties.setProperty(DestinationDataProvider.JCO_ASHOST, ashost); // SAP 호스트 정보
-        connectProperties.setProperty(DestinationDataProvider.JCO_SYSNR, sysnr); // 인스턴스번호
-        connectProperties.setProperty(DestinationDataProvider.JCO_CLIENT, client); // SAP 클라이언트
-        connectProperties.setProperty(DestinationDataProvider.JCO_USER, user); // SAP유저명
-        connectProperties.setProperty(DestinationDataProvider.JCO_PASSWD, passwd); // SAP 패스워드
-        connectProperties.setProperty(DestinationDataProvider.JCO_LANG, lang); // 언어
-        createDataFile(DESTINATION_NAME1, "jcoDestination", connectProperties);
+        connectProperties.setProperty(DestinationDataProvider.JCO_ASHOST, sapConnectProperties.getHost()); // SAP 호스트 정보
+        connectProperties.setProperty(DestinationDataProvider.JCO_SYSNR, sapConnectProperties.getSysnr()); // 인스턴스번호
+        connectProperties.setProperty(DestinationDataProvider.JCO_CLIENT, sapConnectProperties.getClient()); // SAP 클라이언트
+        connectProperties.setProperty(DestinationDataProvider.JCO_USER, sapConnectProperties.getUser()); // SAP유저명
+        connectProperties.setProperty(DestinationDataProvider.JCO_PASSWD, sapConnectProperties.getPasswd()); // SAP 패스워드
+        connectProperties.setProperty(DestinationDataProvider.JCO_LANG, sapConnectProperties.getLang()); // 언어
+        return connectProperties;
+    }
 
-        Properties serverProperties = new Properties();
-        serverProperties.setProperty(ServerDataProvider.JCO_GWHOST, gwhost);
-        serverProperties.setProperty(ServerDataProvider.JCO_GWSERV, gwserv);
-        serverProperties.setProperty(ServerDataProvider.JCO_PROGID, progid);
-        serverProperties.setProperty(ServerDataProvider.JCO_REP_DEST, repoDestination);
-        serverProperties.setProperty(ServerDataProvider.JCO_CONNECTION_COUNT, conneCount);
-        serverProperties.setProperty(ServerDataProvider.JCO_WORKER_THREAD_COUNT, threadCount);
-        createDataFile(SERVER_NAME1, "jcoServer", serverProperties);
+    /**
+     * 커넥션 풀 destination 프로퍼티
+     */
+    private Properties pooledProperties() {
+        SapConnectProperties.Pool pool = sapConnectProperties.getPool();
+        Properties pooledProperties = connectProperties();
+        pooledProperties.setProperty(DestinationDataProvider.JCO_PEAK_LIMIT, String.valueOf(pool.getPeakLimit()));
+        pooledProperties.setProperty(DestinationDataProvider.JCO_POOL_CAPACITY, String.valueOf(pool.getCapacity()));
+        pooledProperties.setProperty(DestinationDataProvider.JCO_EXPIRATION_TIME,
+                String.valueOf(pool.getExpirationTime().toMillis()));
+        pooledProperties.setProperty(DestinationDataProvider.JCO_EXPIRATION_PERIOD,
+                String.valueOf(pool.getExpirationPeriod().toMillis()));
+        pooledProperties.setProperty(DestinationDataProvider.JCO_MAX_GET_TIME,
+                String.valueOf(pool.getMaxGetTime().toMillis()));
+        return pooledProperties;
     }
 
     /**
-     * 프로퍼티 파일 생성
-     * 
-     * @param name
-     * @param suffix
-     * @param properties
+     * 격리 그룹별 서버 프로퍼티, 그룹 설정이 없으면 jco.server 공통 설정을 사용한다.
      */
-    static void createDataFile(String name, String suffix, Properties properties) {
-        File cfg = new File(name + "." + suffix);
-        try (FileOutputStream fos = new FileOutputStream(cfg, false)) { // 항상 덮어쓰기
-            properties.store(fos, "SAP JCo Configuration");
-        } catch (Exception e) {
-            throw new RuntimeException(NOT_CREATE_FILE_ERROR + cfg.getName(), e);
+    private Properties serverProperties(String group) {
+        RfcServerProperties.Group groupProperties = groupProperties(group);
+        Properties serverProperties = new Properties();
+        serverProperties.setProperty(ServerDataProvider.JCO_GWHOST, rfcServerProperties.getGwhost());
+        serverProperties.setProperty(ServerDataProvider.JCO_GWSERV, rfcServerProperties.getGwserv());
+        serverProperties.setProperty(ServerDataProvider.JCO_PROGID,
+                Objects.requireNonNullElse(groupProperties.getProgid(), rfcServerProperties.getProgid()));
+        serverProperties.setProperty(ServerDataProvider.JCO_REP_DEST, rfcServerProperties.getRepositoryDestination());
+        serverProperties.setProperty(ServerDataProvider.JCO_CONNECTION_COUNT, String.valueOf(
+                Objects.requireNonNullElse(groupProperties.getMinConnections(), rfcServerProperties.getConnectionCount())));
+        serverProperties.setProperty(ServerDataProvider.JCO_WORKER_THREAD_COUNT, String.valueOf(
+                Objects.requireNonNullElse(groupProperties.getMaxThreads(), rfcServerProperties.getThreadCount())));
+        if (groupProperties.getMinThreads() != null) {
+            serverProperties.setProperty(ServerDataProvider.JCO_WORKER_THREAD_MIN_COUNT,
+                    String.valueOf(groupProperties.getMinThreads()));
+        }
+        return serverProperties;
+    }
+
+    private RfcServerProperties.Group groupProperties(String group) {
+        RfcServerProperties.Group groupProperties = rfcServerProperties.getGroups().get(group);
+        if (groupProperties == null && !RfcServerProperties.DEFAULT_GROUP.equals(group)) {
+            throw new IllegalStateException("jco.server.groups 설정이 없는 RFC 그룹 : " + group);
         }
+        return groupProperties == null ? new RfcServerProperties.Group() : groupProperties;
+    }
+
+    /**
+     * 기본 그룹은 기존 서버명(SERVER)을 그대로 사용
+     */
+    static String serverName(String group) {
+        return RfcServerProperties.DEFAULT_GROUP.equals(group) ? SERVER_NAME1 : SERVER_NAME1 + "_" + group.toUpperCase();
     }
 
     public JCoDestination getConnectionSAP() {
         try {
-            return JCoDestinationManager.getDestination(DESTINATION_NAME1);
+            return JCoDestinationManager.getDestination(
+                    sapConnectProperties.getPool().isEnabled() ? POOLED_DESTINATION_NAME : DESTINATION_NAME1);
         } catch (JCoException e) {
             log.error("SAP 연결 실패: {}", e.getMessage(), e);
             throw new RuntimeException("SAP 연결에 실패했습니다. 설정을 확인하세요.", e);
@@ -104,21 +177,28 @@ public class JCoConnectionManager {
     }
 
     /**
-     * RFC TCP/IP 연결
+     * RFC TCP/IP 연결, 격리 그룹마다 JCoServer 를 하나씩 띄운다.
      */
     public void stepRfcServer() {
-        log.info("SAP RFC 서버 시작 시도...");
+        rfcHandlerRegistry.handlersByGroup().forEach(this::startServer);
+    }
+
+    private void startServer(String group, Map<String, JCoServerFunctionHandler> handlers) {
+        String serverName = serverName(group);
+        log.info("SAP RFC 서버 시작 시도... ({})", serverName);
         int retryCount = 3; // 최대 3번 재시도
         while (retryCount > 0) {
             try {
-                JCoServer server = JCoServerFactory.getServer(SERVER_NAME1);
-                JCoServerFunctionHandler stfcIssueStateConnectionHandler = taxInvoiceStateController();
+                JCoServer server = JCoServerFactory.getServer(serverName);
                 DefaultServerHandlerFactory.FunctionHandlerFactory factory = new DefaultServerHandlerFactory.FunctionHandlerFactory();
-                factory.registerHandler(INVOICE_ISSUE_STATUS_FUN, stfcIssueStateConnectionHandler);
-                // factory.registerHandler(funName, handler);
+                handlers.forEach(factory::registerHandler);
                 server.setCallHandlerFactory(factory);
+                if (rfcAsyncProperties.isEnabled()) { // tRFC 중복 수신 방지
+                    server.setTIDHandler(rfcTidHandler);
+                }
                 server.start();
-                log.info("SAP RFC 서버가 정상적으로 시작되었습니다.");
+                registerAutoscale(group, server);
+                log.info("SAP RFC 서버가 정상적으로 시작되었습니다. ({}, functions={})", serverName, handlers.keySet());
                 return; // 성공 시 종료
             } catch (JCoException ex) {
                 log.error("SAP RFC 서버 시작 실패 (남은 재시도: {}): {}", retryCount - 1, ex.getMessage(), ex);
@@ -130,7 +210,19 @@ public class JCoConnectionManager {
                 }
             }
         }
-        log.error("SAP RFC 서버 시작을 3회 시도했지만 실패하였습니다.");
+        log.error("SAP RFC 서버 시작을 3회 시도했지만 실패하였습니다. ({})", serverName);
+    }
+
+    private void registerAutoscale(String group, JCoServer server) {
+        RfcServerProperties.Group groupProperties = groupProperties(group);
+        int current = server.getConnectionCount();
+        int min = Objects.requireNonNullElse(groupProperties.getMinConnections(), current);
+        int max = Objects.requireNonNullElse(groupProperties.getMaxConnections(), current);
+        if (groupProperties.getMaxThreads() != null) {
+            max = Math.min(max, groupProperties.getMaxThreads()); // 스레드보다 많은 커넥션은 의미 없음
+        }
+        rfcServerAutoscaler.register(group, server, rfcHandlerRegistry.load(group),
+                new RfcAutoscalePolicy(min, Math.max(min, max), rfcServerProperties.getAutoscale()));
     }
 
     /**
@@ -144,27 +236,11 @@ public class JCoConnectionManager {
     public void setRFCImport(List<Map<String, Object>> inputMapList, String inputTabName, JCoFunction jCoFunction)
             throws ConversionException {
         JCoParameterList jCoParameterList = jCoFunction.getTableParameterList();
-        JCoParameterFieldIterator jCoParameterFieldIterator = jCoParameterList.getParameterFieldIterator();
-
-        JCoParameterField jCoParameterField;
-        while (jCoParameterFieldIterator.hasNextField()) {
-            jCoParameterField = jCoParameterFieldIterator.nextParameterField();
-            if (jCoParameterField.isTable() && jCoParameterField.getName().equals(inputTabName)) {
-                JCoTable jCoTable = jCoParameterField.getTable();
-                JCoRecordFieldIterator fieldIter = jCoTable.getRecordFieldIterator();
-                JCoRecordField field = null;
-
-                for (Map<String, Object> inputMap : inputMapList) {
-                    jCoTable.appendRow();
-                    while (fieldIter.hasNextField()) {
-                        field = fieldIter.nextRecordField();
-                        field.setValue(inputMap.get(field.getName()));
-                    }
-                    fieldIter.reset();
-                }
-
-            }
+        if (jCoParameterList == null || !jCoParameterList.getListMetaData().hasField(inputTabName)
+                || !jCoParameterList.getListMetaData().isTable(inputTabName)) {
+            return;
         }
+        rfcTableMapperRegistry.appendMaps(jCoParameterList.getTable(inputTabName), inputMapList);
     }
 
     /**
@@ -176,28 +252,6 @@ public class JCoConnectionManager {
      * @throws Exception
      */
     public List<Map<String, Object>> setRFCExport(String outputTabName, JCoFunction jCoFunction) {
-        List<Map<String, Object>> outMapList = new ArrayList<>();
-        JCoTable jCoTable = jCoFunction.getTableParameterList().getTable(outputTabName);
-
-        // jCoTable 데이터 loop
-        JCoRecordMetaData metaData = jCoFunction.getTableParameterList().getTable(outputTabName).getRecordMetaData();
-        for (int i = 0; i < jCoTable.getNumRows(); i++) {
-            jCoTable.setRow(i);
-            Map<String, Object> outMap = new LinkedHashMap<String, Object>();
-            for (int j = 0; j < metaData.getFieldCount(); j++) {
-                if (metaData.getType(j) == 2) {
-                    outMap.put(metaData.getName(j), jCoTable.getFloat(metaData.getName(j)));
-                } else {
-                    outMap.put(metaData.getName(j), jCoTable.getString(metaData.getName(j)));
-                }
-            }
-            outMapList.add(outMap);
-        }
-        return outMapList;
-    }
-
-    @Bean
-    public TaxInvoiceStateController taxInvoiceStateController() {
-        return new TaxInvoiceStateController();
+        return rfcTableMapperRegistry.readMaps(jCoFunction.getTableParameterList().getTable(outputTabName));
     }
 }
\ No newline at end of file
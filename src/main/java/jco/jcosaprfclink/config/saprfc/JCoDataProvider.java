@@ -0,0 +1,114 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.ext.DestinationDataEventListener;
+import com.sap.conn.jco.ext.DestinationDataProvider;
+import com.sap.conn.jco.ext.Environment;
+import com.sap.conn.jco.ext.ServerDataEventListener;
+import com.sap.conn.jco.ext.ServerDataProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * destination/서버 설정을 파일 대신 메모리에서 JCo 에 제공한다.
+ * 설정을 바꾸면 updated 이벤트로 JCo 가 풀/서버를 바로 다시 구성한다.
+ */
+@Slf4j
+@Component
+public class JCoDataProvider implements DestinationDataProvider, ServerDataProvider {
+
+    private final Map<String, Properties> destinations = new ConcurrentHashMap<>();
+    private final Map<String, Properties> servers = new ConcurrentHashMap<>();
+    private volatile DestinationDataEventListener destinationListener;
+    private volatile ServerDataEventListener serverListener;
+    private boolean registered;
+
+    /**
+     * JCo 환경에 등록, 다른 provider 가 이미 등록되어 있으면 실패한다.
+     */
+    public synchronized void register() {
+        if (registered) {
+            return;
+        }
+        if (Environment.isDestinationDataProviderRegistered() || Environment.isServerDataProviderRegistered()) {
+            throw new IllegalStateException("JCo data provider 가 이미 등록되어 있습니다.");
+        }
+        Environment.registerDestinationDataProvider(this);
+        Environment.registerServerDataProvider(this);
+        registered = true;
+    }
+
+    @PreDestroy
+    public synchronized void unregister() {
+        if (registered) {
+            Environment.unregisterDestinationDataProvider(this);
+            Environment.unregisterServerDataProvider(this);
+            registered = false;
+        }
+    }
+
+    public void putDestination(String name, Properties properties) {
+        Properties previous = destinations.put(name, copy(properties));
+        DestinationDataEventListener listener = destinationListener;
+        if (previous != null && listener != null && !previous.equals(properties)) {
+            log.info("JCo destination 설정 변경 : {}", name);
+            listener.updated(name);
+        }
+    }
+
+    public void putServer(String name, Properties properties) {
+        Properties previous = servers.put(name, copy(properties));
+        ServerDataEventListener listener = serverListener;
+        if (previous != null && listener != null && !previous.equals(properties)) {
+            log.info("JCo 서버 설정 변경 : {}", name);
+            listener.updated(name);
+        }
+    }
+
+    public Properties destination(String name) {
+        Properties properties = destinations.get(name);
+        return properties == null ? null : copy(properties);
+    }
+
+    public Properties server(String name) {
+        Properties properties = servers.get(name);
+        return properties == null ? null : copy(properties);
+    }
+
+    @Override
+    public Properties getDestinationProperties(String destinationName) {
+        Properties properties = destinations.get(destinationName);
+        return properties == null ? null : copy(properties);
+    }
+
+    @Override
+    public Properties getServerProperties(String serverName) {
+        Properties properties = servers.get(serverName);
+        return properties == null ? null : copy(properties);
+    }
+
+    @Override
+    public boolean supportsEvents() {
+        return true;
+    }
+
+    @Override
+    public void setDestinationDataEventListener(DestinationDataEventListener eventListener) {
+        this.destinationListener = eventListener;
+    }
+
+    @Override
+    public void setServerDataEventListener(ServerDataEventListener eventListener) {
+        this.serverListener = eventListener;
+    }
+
+    private static Properties copy(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+}
@@ -0,0 +1,82 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.JCoDestinationManager;
+import com.sap.conn.jco.JCoException;
+import com.sap.conn.jco.monitor.JCoDestinationMonitor;
+import com.sap.conn.jco.monitor.JCoServerMonitor;
+import com.sap.conn.jco.server.JCoServer;
+import com.sap.conn.jco.server.JCoServerFactory;
+import com.sap.conn.jco.server.JCoServerState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * JCo 서버/커넥션 풀 상태 게이지
+ * 서버와 destination 은 값을 읽을 때 조회하므로, 아직 시작 전이면 NaN 이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JCoMetrics implements MeterBinder {
+
+    private final RfcHandlerRegistry rfcHandlerRegistry;
+    private final SapConnectProperties sapConnectProperties;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String group : rfcHandlerRegistry.handlersByGroup().keySet()) {
+            String serverName = JCoConnectionManager.serverName(group);
+            serverGauge(registry, "jco.server.alive", "서버 동작 여부 (1: STARTED/ALIVE)", serverName, monitor ->
+                    monitor.getState() == JCoServerState.ALIVE || monitor.getState() == JCoServerState.STARTED ? 1 : 0);
+            serverGauge(registry, "jco.server.connections", "게이트웨이 등록 커넥션 수", serverName,
+                    JCoServerMonitor::getCurrentConnectionCount);
+            serverGauge(registry, "jco.server.threads", "워커 스레드 수", serverName,
+                    JCoServerMonitor::getCurrentServerThreadCount);
+            serverGauge(registry, "jco.server.threads.busy", "처리 중인 워커 스레드 수", serverName,
+                    JCoServerMonitor::getUsedServerThreadCount);
+            serverGauge(registry, "jco.server.threads.utilization", "워커 스레드 사용률", serverName, monitor ->
+                    monitor.getCurrentServerThreadCount() == 0 ? 0
+                            : (double) monitor.getUsedServerThreadCount() / monitor.getCurrentServerThreadCount());
+            Gauge.builder("rfc.server.in_flight", rfcHandlerRegistry.load(group), RfcGroupLoad::inFlight)
+                    .description("격리 그룹별 처리 중 RFC 호출 수").tag("group", group).register(registry);
+        }
+        if (sapConnectProperties.getPool().isEnabled()) {
+            String destination = JCoConnectionManager.POOLED_DESTINATION_NAME;
+            destinationGauge(registry, "jco.destination.connections.active", "사용 중인 커넥션 수", destination,
+                    JCoDestinationMonitor::getUsedConnectionCount);
+            destinationGauge(registry, "jco.destination.connections.max", "커넥션 상한 (peak limit)", destination,
+                    JCoDestinationMonitor::getPeakLimit);
+            destinationGauge(registry, "jco.destination.connections.pending", "커넥션 대기 스레드 수", destination,
+                    JCoDestinationMonitor::getWaitingThreadCount);
+        }
+    }
+
+    private static void serverGauge(MeterRegistry registry, String name, String description, String serverName,
+                                    ToDoubleFunction<JCoServerMonitor> value) {
+        Gauge.builder(name, serverName, s -> {
+                    try {
+                        JCoServer server = JCoServerFactory.getServer(s);
+                        return value.applyAsDouble(server.getMonitor());
+                    } catch (JCoException | RuntimeException e) {
+                        return Double.NaN;
+                    }
+                })
+                .description(description).tag("server", serverName).register(registry);
+    }
+
+    private static void destinationGauge(MeterRegistry registry, String name, String description, String destination,
+                                         ToDoubleFunction<JCoDestinationMonitor> value) {
+        Gauge.builder(name, destination, d -> {
+                    try {
+                        return value.applyAsDouble(JCoDestinationManager.getDestination(d).getMonitor());
+                    } catch (JCoException | RuntimeException e) {
+                        return Double.NaN;
+                    }
+                })
+                .description(description).tag("destination", destination).register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * RFC 비동기 처리 설정 (rfc.async)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rfc.async")
+public class RfcAsyncProperties {
+
+    private boolean enabled = false;
+    private int workerThreads = 4; // 웹 API 호출 스레드 수
+    private int queueCapacity = 200; // 처리 대기 건수 상한 (호출 단위)
+    private Backpressure backpressure = Backpressure.BLOCK;
+    private Duration blockTimeout = Duration.ofSeconds(5); // BLOCK 모드 대기 시간
+    private boolean virtualThreads = false; // Java 21 이상: 접수 건마다 가상 스레드에서 처리 (workerThreads 무시)
+    private Duration retryInterval = Duration.ofSeconds(30); // 대기열 부족으로 못 넣은 건/실패 건 재등록 주기
+    private int maxAttempts = 3; // 처리 실패 건 재시도 상한, 넘으면 FAILED 로 둔다
+    private Duration receivedLease = Duration.ofMinutes(10); // tRFC commit/rollback 대기 상한, 지나면 접수 건을 버리고 슬롯을 돌려준다
+
+    /**
+     * 대기열이 가득 찼을 때 동작
+     */
+    public enum Backpressure {
+        BLOCK,       // blockTimeout 동안 대기 후 실패
+        REJECT,      // 즉시 실패 (SAP 재전송)
+        CALLER_RUNS  // JCo 워커 스레드에서 동기 처리
+    }
+}
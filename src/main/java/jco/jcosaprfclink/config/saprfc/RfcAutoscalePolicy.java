@@ -0,0 +1,54 @@
+package jco.jcosaprfclink.config.saprfc;
+
+/**
+ * 커넥션 수 결정 규칙, 측정값만으로 동작하므로 JCo 없이 검증할 수 있다.
+ * - 사용률(최대 처리 중 호출 수 / 커넥션 수)이 highWatermark 이상이면 바로 증가
+ * - lowWatermark 이하가 scaleDownSamples 회 연속되면 1씩 감소
+ */
+public class RfcAutoscalePolicy {
+
+    private final int minConnections;
+    private final int maxConnections;
+    private final RfcServerProperties.Autoscale autoscale;
+    private int lowSamples;
+
+    public RfcAutoscalePolicy(int minConnections, int maxConnections, RfcServerProperties.Autoscale autoscale) {
+        if (minConnections < 1 || maxConnections < minConnections) {
+            throw new IllegalArgumentException("커넥션 범위 오류 : " + minConnections + ".." + maxConnections);
+        }
+        this.minConnections = minConnections;
+        this.maxConnections = maxConnections;
+        this.autoscale = autoscale;
+    }
+
+    /**
+     * @param current 현재 커넥션 수
+     * @param peakBusy 측정 주기 동안 최대 처리 중 호출 수
+     * @return 다음 커넥션 수
+     */
+    public int decide(int current, int peakBusy) {
+        int bounded = Math.max(minConnections, Math.min(maxConnections, current));
+        double utilization = (double) peakBusy / bounded;
+        if (utilization >= autoscale.getHighWatermark()) {
+            lowSamples = 0;
+            return Math.min(maxConnections, bounded + autoscale.getScaleUpStep());
+        }
+        if (utilization <= autoscale.getLowWatermark() && bounded > minConnections) {
+            if (++lowSamples >= autoscale.getScaleDownSamples()) {
+                lowSamples = 0;
+                return bounded - 1;
+            }
+            return bounded;
+        }
+        lowSamples = 0;
+        return bounded;
+    }
+
+    public int getMinConnections() {
+        return minConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+}
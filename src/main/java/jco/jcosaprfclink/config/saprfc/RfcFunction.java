@@ -0,0 +1,27 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RFC 함수 처리 핸들러 선언, JCoServerFunctionHandler 빈에 붙인다.
+ * 같은 group 의 함수는 하나의 JCoServer(프로그램 ID, 커넥션, 워커 스레드)를 공유한다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RfcFunction {
+
+    /**
+     * RFC 함수 모듈명
+     */
+    String[] value();
+
+    /**
+     * 격리 그룹명, jco.server.groups 의 키
+     */
+    String group() default RfcServerProperties.DEFAULT_GROUP;
+}
@@ -0,0 +1,32 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 격리 그룹별 처리 중 호출 수, 측정 주기 사이의 최대값을 함께 기록한다.
+ */
+public class RfcGroupLoad {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    public void begin() {
+        int current = inFlight.incrementAndGet();
+        peak.accumulateAndGet(current, Math::max);
+    }
+
+    public void end() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 마지막 측정 이후 최대 처리 중 호출 수, 읽은 뒤 현재 값으로 초기화한다.
+     */
+    public int samplePeak() {
+        return peak.getAndSet(inFlight.get());
+    }
+}
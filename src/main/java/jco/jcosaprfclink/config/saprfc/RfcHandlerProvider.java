@@ -0,0 +1,17 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.server.JCoServerFunctionHandler;
+
+import java.util.List;
+
+/**
+ * @RfcFunction 애노테이션 없이 설정 등으로 만드는 RFC 함수 핸들러 공급자
+ * RfcHandlerRegistry 가 애노테이션 핸들러와 같은 방식(중복 검사, 그룹 부하 기록)으로 등록한다.
+ */
+public interface RfcHandlerProvider {
+
+    List<Registration> rfcHandlers();
+
+    record Registration(String functionName, String group, JCoServerFunctionHandler handler) {
+    }
+}
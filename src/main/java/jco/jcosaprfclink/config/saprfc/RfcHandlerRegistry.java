@@ -0,0 +1,97 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.AbapClassException;
+import com.sap.conn.jco.AbapException;
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.server.JCoServerContext;
+import com.sap.conn.jco.server.JCoServerFunctionHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @RfcFunction 핸들러 빈과 RfcHandlerProvider 가 만든 핸들러를 격리 그룹별로 모은다.
+ */
+@Slf4j
+@Component
+public class RfcHandlerRegistry {
+
+    private final Map<String, Map<String, JCoServerFunctionHandler>> handlersByGroup = new LinkedHashMap<>();
+    private final Map<String, RfcGroupLoad> loads = new ConcurrentHashMap<>();
+
+    private final Map<String, String> groupByFunction = new LinkedHashMap<>();
+
+    public RfcHandlerRegistry(List<JCoServerFunctionHandler> handlers) {
+        this(handlers, List.of());
+    }
+
+    @Autowired
+    public RfcHandlerRegistry(List<JCoServerFunctionHandler> handlers, ObjectProvider<RfcHandlerProvider> providers) {
+        this(handlers, providers.orderedStream().toList());
+    }
+
+    private RfcHandlerRegistry(List<JCoServerFunctionHandler> handlers, List<RfcHandlerProvider> providers) {
+        for (JCoServerFunctionHandler handler : handlers) {
+            RfcFunction rfcFunction = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(handler), RfcFunction.class);
+            if (rfcFunction == null) {
+                continue;
+            }
+            for (String functionName : rfcFunction.value()) {
+                register(functionName, rfcFunction.group(), handler, AopUtils.getTargetClass(handler).getSimpleName());
+            }
+        }
+        for (RfcHandlerProvider provider : providers) {
+            for (RfcHandlerProvider.Registration registration : provider.rfcHandlers()) {
+                register(registration.functionName(), registration.group(), registration.handler(),
+                        AopUtils.getTargetClass(provider).getSimpleName());
+            }
+        }
+    }
+
+    private void register(String functionName, String group, JCoServerFunctionHandler handler, String source) {
+        String registered = groupByFunction.putIfAbsent(functionName, group);
+        if (registered != null) {
+            throw new IllegalStateException("RFC 함수 핸들러 중복 등록 : " + functionName);
+        }
+        RfcGroupLoad load = loads.computeIfAbsent(group, g -> new RfcGroupLoad());
+        handlersByGroup.computeIfAbsent(group, g -> new LinkedHashMap<>())
+                .put(functionName, new Dispatcher(handler, load));
+        log.info("RFC 함수 등록 : {} -> {} (group={})", functionName, source, group);
+    }
+
+    /**
+     * 그룹명 -> (함수명 -> 핸들러)
+     */
+    public Map<String, Map<String, JCoServerFunctionHandler>> handlersByGroup() {
+        return Collections.unmodifiableMap(handlersByGroup);
+    }
+
+    public RfcGroupLoad load(String group) {
+        return loads.get(group);
+    }
+
+    /**
+     * 처리 중 호출 수를 기록하는 핸들러 래퍼
+     */
+    private record Dispatcher(JCoServerFunctionHandler delegate, RfcGroupLoad load) implements JCoServerFunctionHandler {
+        @Override
+        public void handleRequest(JCoServerContext serverCtx, JCoFunction function)
+                throws AbapException, AbapClassException {
+            load.begin();
+            try {
+                delegate.handleRequest(serverCtx, function);
+            } finally {
+                load.end();
+            }
+        }
+    }
+}
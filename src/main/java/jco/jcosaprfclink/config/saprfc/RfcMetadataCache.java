@@ -0,0 +1,311 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.JCo;
+import com.sap.conn.jco.JCoCustomRepository;
+import com.sap.conn.jco.JCoDestination;
+import com.sap.conn.jco.JCoDestinationManager;
+import com.sap.conn.jco.JCoException;
+import com.sap.conn.jco.JCoFunctionTemplate;
+import com.sap.conn.jco.JCoMetaData;
+import com.sap.conn.jco.JCoRepository;
+import com.sap.conn.jco.JCoRepositoryQueryResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RFC 함수 템플릿/구조 메타데이터 캐시
+ * - 기동 시 저장해 둔 파일을 읽고, 없는 항목만 한번의 조회로 가져온다.
+ * - 백그라운드에서 SAP 의 최신 메타데이터와 비교해 바뀐 함수는 새 메타데이터로 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RfcMetadataCache {
+    private static final String FILE_SUFFIX = ".jcoMetadata";
+
+    private final SapRepositoryProperties sapRepositoryProperties;
+    private final RfcHandlerRegistry rfcHandlerRegistry;
+    private final JCoConnectionManager jCoConnectionManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final RfcServerProperties rfcServerProperties;
+
+    private final Map<String, Repository> repositories = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock(); // SAP 조회 중 대기하므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 서버(inbound)/호출(outbound) 저장소를 미리 채운다. RFC 서버 시작 전에 호출한다.
+     */
+    public void warmUp() {
+        lock.lock();
+        try {
+            try {
+                register(JCoDestinationManager.getDestination(rfcServerProperties.getRepositoryDestination()));
+                register(jCoConnectionManager.getConnectionSAP());
+            } catch (JCoException | RuntimeException e) {
+                log.warn("RFC 메타데이터 캐시 준비 실패, 첫 호출 시 조회합니다 : {}", e.getMessage());
+                return;
+            }
+            List<String> functions = warmupFunctions();
+            for (Repository repository : repositories.values()) {
+                load(repository);
+                query(repository, functions);
+                save(repository);
+            }
+            scheduleRevalidation();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시된 함수 메타데이터를 SAP 와 비교해 바뀐 함수만 다시 읽는다.
+     * 새 메타데이터를 모두 받은 뒤 기존 항목 위에 덮어쓰므로, 갱신 중이나 조회 실패 시에도 캐시가 비지 않는다.
+     *
+     * @return 변경된 함수명
+     */
+    public List<String> revalidate() {
+        lock.lock();
+        try {
+            List<String> changed = new ArrayList<>();
+            for (Repository repository : repositories.values()) {
+                JCoRepository cached = repository.jCoRepository();
+                JCoCustomRepository fresh = JCo.createCustomRepository("revalidate-" + cached.getName());
+                Map<String, Set<String>> updated = new LinkedHashMap<>();
+                try {
+                    fresh.setDestination(repository.destination());
+                    for (String functionName : cached.getCachedFunctionTemplateNames()) {
+                        Set<String> recordNames = changedRecords(cached, fresh, functionName);
+                        if (recordNames != null) {
+                            updated.put(functionName, recordNames);
+                        }
+                    }
+                    if (!updated.isEmpty()) {
+                        swap(cached, fresh);
+                    }
+                } catch (JCoException | IOException | RuntimeException e) {
+                    log.warn("RFC 메타데이터 확인 실패 ({}) : {}", cached.getName(), e.getMessage());
+                    updated.clear();
+                } finally {
+                    fresh.clear();
+                }
+                updated.forEach((functionName, recordNames) -> {
+                    log.info("RFC 메타데이터 변경 감지, 캐시 갱신 : {} {}", functionName, recordNames);
+                    applicationEventPublisher.publishEvent(new RfcMetadataChangedEvent(functionName, recordNames));
+                });
+                if (!updated.isEmpty()) {
+                    changed.addAll(updated.keySet());
+                    save(repository);
+                }
+            }
+            return changed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 바뀐 함수의 관련 구조명, 바뀌지 않았으면 null
+     */
+    private Set<String> changedRecords(JCoRepository cached, JCoCustomRepository fresh, String functionName)
+            throws JCoException {
+        JCoFunctionTemplate current = cached.getFunctionTemplate(functionName);
+        JCoFunctionTemplate latest = fresh.getFunctionTemplate(functionName);
+        if (current == null || latest == null || fingerprint(current).equals(fingerprint(latest))) {
+            return null;
+        }
+        Set<String> recordNames = new LinkedHashSet<>();
+        collectRecordNames(current.getFunctionInterface(), recordNames);
+        collectRecordNames(latest.getFunctionInterface(), recordNames);
+        return recordNames;
+    }
+
+    /**
+     * 새로 받은 함수/구조 메타데이터를 기존 캐시에 덮어쓴다. (같은 이름은 교체, 먼저 지우지 않음)
+     * 서버/호출 저장소는 항목 추가 API 가 없어 직렬화 형식으로 옮긴다.
+     */
+    private static void swap(JCoRepository cached, JCoCustomRepository fresh) throws IOException {
+        StringWriter writer = new StringWriter();
+        fresh.save(writer);
+        cached.load(new StringReader(writer.toString()));
+    }
+
+    private void register(JCoDestination destination) throws JCoException {
+        JCoRepository jCoRepository = destination.getRepository();
+        repositories.putIfAbsent(jCoRepository.getName(), new Repository(destination, jCoRepository));
+    }
+
+    private List<String> warmupFunctions() {
+        Set<String> functions = new LinkedHashSet<>(sapRepositoryProperties.getWarmupFunctions());
+        rfcHandlerRegistry.handlersByGroup().values().forEach(handlers -> functions.addAll(handlers.keySet()));
+        return new ArrayList<>(functions);
+    }
+
+    /**
+     * 캐시에 없는 함수/구조만 한번의 조회로 가져온다.
+     */
+    private void query(Repository repository, List<String> functions) {
+        JCoRepository jCoRepository = repository.jCoRepository();
+        Set<String> cachedFunctions = Set.of(jCoRepository.getCachedFunctionTemplateNames());
+        Set<String> cachedRecords = Set.of(jCoRepository.getCachedRecordMetaDataNames());
+        List<String> missingFunctions = functions.stream().filter(f -> !cachedFunctions.contains(f)).toList();
+        List<String> missingStructures = sapRepositoryProperties.getWarmupStructures().stream()
+                .filter(s -> !cachedRecords.contains(s)).toList();
+        if (missingFunctions.isEmpty() && missingStructures.isEmpty()) {
+            return;
+        }
+        try {
+            JCoRepositoryQueryResult result = JCo.queryMetaDataSet(jCoRepository, missingFunctions, missingStructures, List.of());
+            if (!result.isQuerySuccessful()) {
+                log.warn("RFC 메타데이터 일부 조회 실패 : functions={}, structures={}",
+                        result.getFailedFunctionQueries(), result.getFailedTypesQueries());
+            }
+            log.info("RFC 메타데이터 조회 ({}) : functions={}, structures={}",
+                    jCoRepository.getName(), missingFunctions, missingStructures);
+        } catch (JCoException e) {
+            log.warn("RFC 메타데이터 조회 실패 ({}) : {}", jCoRepository.getName(), e.getMessage());
+        }
+    }
+
+    private void load(Repository repository) {
+        Path file = cacheFile(repository);
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            repository.jCoRepository().load(reader);
+            log.info("RFC 메타데이터 캐시 파일 로드 : {} ({} functions)",
+                    file, repository.jCoRepository().getCachedFunctionTemplateNames().length);
+        } catch (IOException | RuntimeException e) {
+            log.warn("RFC 메타데이터 캐시 파일 로드 실패, 다시 조회합니다 : {}", e.getMessage());
+            repository.jCoRepository().clear();
+        }
+    }
+
+    private void save(Repository repository) {
+        Path file = cacheFile(repository);
+        if (file == null) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                repository.jCoRepository().save(writer);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("RFC 메타데이터 캐시 파일 저장 실패 : {}", e.getMessage());
+        }
+    }
+
+    private Path cacheFile(Repository repository) {
+        String dir = sapRepositoryProperties.getCacheDir();
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        return Path.of(dir, repository.jCoRepository().getName().replaceAll("[^A-Za-z0-9_.-]", "_") + FILE_SUFFIX);
+    }
+
+    private void scheduleRevalidation() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rfc-metadata");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sapRepositoryProperties.getRevalidateInterval().toMillis();
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::revalidate, 0, interval, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler.execute(this::revalidate);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 함수 인터페이스(파라미터, 중첩 구조 포함) 지문
+     */
+    static String fingerprint(JCoFunctionTemplate template) {
+        StringBuilder sb = new StringBuilder(template.getName());
+        appendMetaData(template.getFunctionInterface(), sb);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendMetaData(JCoMetaData metaData, StringBuilder sb) {
+        if (metaData == null) {
+            return;
+        }
+        sb.append('{');
+        for (int i = 0; i < metaData.getFieldCount(); i++) {
+            sb.append(metaData.getName(i)).append(':').append(metaData.getType(i))
+                    .append(':').append(metaData.getByteLength(i))
+                    .append(':').append(metaData.getUnicodeByteLength(i))
+                    .append(':').append(metaData.getDecimals(i)).append(';');
+            if (metaData.isStructure(i) || metaData.isTable(i)) {
+                appendMetaData(metaData.getRecordMetaData(i), sb);
+            }
+        }
+        sb.append('}');
+    }
+
+    private static void collectRecordNames(JCoMetaData metaData, Set<String> names) {
+        if (metaData == null) {
+            return;
+        }
+        for (int i = 0; i < metaData.getFieldCount(); i++) {
+            if (metaData.isStructure(i) || metaData.isTable(i)) {
+                JCoMetaData record = metaData.getRecordMetaData(i);
+                if (record != null && record.getName() != null && names.add(record.getName())) {
+                    collectRecordNames(record, names);
+                }
+            }
+        }
+    }
+
+    private record Repository(JCoDestination destination, JCoRepository jCoRepository) {
+    }
+}
@@ -0,0 +1,12 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import java.util.Set;
+
+/**
+ * DDIC 변경으로 RFC 함수 메타데이터가 바뀌었을 때 발행
+ *
+ * @param functionName RFC 함수명
+ * @param recordNames  함수가 사용하는 구조/테이블 타입명
+ */
+public record RfcMetadataChangedEvent(String functionName, Set<String> recordNames) {
+}
@@ -0,0 +1,67 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.server.JCoServer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 격리 그룹별 JCoServer 커넥션 수를 주기적으로 조정한다.
+ * 워커 스레드는 JCo 가 min/max 범위 안에서 직접 늘리고 줄인다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RfcServerAutoscaler {
+
+    private final RfcServerProperties rfcServerProperties;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public synchronized void register(String group, JCoServer server, RfcGroupLoad load, RfcAutoscalePolicy policy) {
+        targets.put(group, new Target(server, load, policy));
+        if (!rfcServerProperties.getAutoscale().isEnabled() || policy.getMinConnections() == policy.getMaxConnections()
+                || scheduler != null) {
+            return;
+        }
+        long interval = rfcServerProperties.getAutoscale().getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rfc-autoscaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjust, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void adjust() {
+        targets.forEach((group, target) -> {
+            try {
+                int current = target.server().getConnectionCount();
+                int next = target.policy().decide(current, target.load().samplePeak());
+                if (next != current) {
+                    log.info("RFC 서버 커넥션 조정 (group={}) : {} -> {}", group, current, next);
+                    target.server().setConnectionCount(next);
+                }
+            } catch (RuntimeException e) {
+                log.warn("RFC 서버 커넥션 조정 실패 (group={}) : {}", group, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private record Target(JCoServer server, RfcGroupLoad load, RfcAutoscalePolicy policy) {
+    }
+}
@@ -0,0 +1,59 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RFC 서버 설정 (jco.server)
+ * 격리 그룹(groups)에서 지정하지 않은 값은 공통 설정을 따른다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jco.server")
+public class RfcServerProperties {
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private String gwhost;
+    private String gwserv;
+    private String progid;
+    private String repositoryDestination;
+    private int connectionCount = 2; // 게이트웨이 등록 커넥션 수
+    private int threadCount = 5; // 워커 스레드 수
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+    private Autoscale autoscale = new Autoscale();
+
+    /**
+     * 격리 그룹별 서버 설정, 지정하지 않은 값은 jco.server 공통 설정을 따른다.
+     * SAP 에서는 그룹별 프로그램 ID 로 RFC destination(SM59)을 나눠야 한다.
+     */
+    @Getter
+    @Setter
+    public static class Group {
+        private String progid;
+        private Integer minConnections; // 게이트웨이 등록 커넥션 하한
+        private Integer maxConnections; // 게이트웨이 등록 커넥션 상한
+        private Integer minThreads; // 워커 스레드 하한
+        private Integer maxThreads; // 워커 스레드 상한
+    }
+
+    /**
+     * 처리 중 호출 수 기준 커넥션 수 자동 조정
+     */
+    @Getter
+    @Setter
+    public static class Autoscale {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofSeconds(5); // 측정 주기
+        private double highWatermark = 0.8; // 사용률이 이 이상이면 증가
+        private double lowWatermark = 0.3; // 사용률이 이 이하로 유지되면 감소
+        private int scaleUpStep = 1;
+        private int scaleDownSamples = 6; // 감소 전 연속 저사용 측정 횟수
+    }
+}
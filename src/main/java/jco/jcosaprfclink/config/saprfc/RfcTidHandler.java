@@ -0,0 +1,39 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import com.sap.conn.jco.server.JCoServerContext;
+import com.sap.conn.jco.server.JCoServerTIDHandler;
+import jco.jcosaprfclink.service.TaxInvoiceStatePipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * tRFC/qRFC TID 처리, 접수 테이블(s_rfc_inbound)로 중복 수신을 판단한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RfcTidHandler implements JCoServerTIDHandler {
+
+    private final TaxInvoiceStatePipeline taxInvoiceStatePipeline;
+
+    @Override
+    public boolean checkTID(JCoServerContext serverCtx, String tid) {
+        return taxInvoiceStatePipeline.checkTid(tid);
+    }
+
+    @Override
+    public void confirmTID(JCoServerContext serverCtx, String tid) {
+        log.debug("TID confirm : {}", tid);
+    }
+
+    @Override
+    public void commit(JCoServerContext serverCtx, String tid) {
+        taxInvoiceStatePipeline.commit(tid);
+    }
+
+    @Override
+    public void rollback(JCoServerContext serverCtx, String tid) {
+        taxInvoiceStatePipeline.rollback(tid);
+    }
+}
@@ -0,0 +1,39 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SAP 접속 정보 (sap.connect)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sap.connect")
+public class SapConnectProperties {
+
+    private String host; // SAP 호스트 정보
+    private String sysnr; // 인스턴스번호
+    private String client; // SAP 클라이언트
+    private String user; // SAP유저명
+    private String passwd; // SAP 패스워드
+    private String lang; // 언어
+
+    private Pool pool = new Pool();
+
+    /**
+     * SAP 호출(outbound)용 커넥션 풀 설정 (sap.connect.pool)
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        private boolean enabled = true; // false 면 기존 비풀링 destination 사용
+        private int peakLimit = 10; // 동시에 사용할 수 있는 최대 커넥션 수
+        private int capacity = 3; // 풀에 유지하는 유휴 커넥션 수
+        private Duration expirationTime = Duration.ofSeconds(60); // 유휴 커넥션 만료 시간
+        private Duration expirationPeriod = Duration.ofSeconds(60); // 만료 검사 주기
+        private Duration maxGetTime = Duration.ofSeconds(30); // 커넥션 대기 시간
+    }
+}
@@ -11,10 +11,13 @@ import javax.annotation.PostConstruct;
 public class SapRFCConnection {
     @Autowired
     private JCoConnectionManager connManager;
+    @Autowired
+    private RfcMetadataCache rfcMetadataCache;
 
     @PostConstruct
     public void init() {
         log.info("RFC Server Start");
+        rfcMetadataCache.warmUp(); // 첫 호출의 메타데이터 조회 방지
         connManager.stepRfcServer();
     }
 }
\ No newline at end of file
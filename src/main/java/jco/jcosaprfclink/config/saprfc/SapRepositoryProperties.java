@@ -0,0 +1,24 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 메타데이터 캐시 설정 (sap.repository)
+ * 등록된 RFC 함수(@RfcFunction)는 자동으로 미리 읽는다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sap.repository")
+public class SapRepositoryProperties {
+
+    private List<String> warmupFunctions = new ArrayList<>(); // 추가로 미리 읽을 함수
+    private List<String> warmupStructures = new ArrayList<>(); // 미리 읽을 DDIC 구조
+    private String cacheDir; // <repository>.jcoMetadata 저장 위치 (예: /var/lib/saprfc), 비우면 파일 저장 안 함
+    private Duration revalidateInterval = Duration.ofHours(1); // DDIC 변경 확인 주기, 0 이면 기동 시 한번만
+}
@@ -0,0 +1,46 @@
+package jco.jcosaprfclink.config.saprfc.bridge;
+
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.RfcHandlerProvider;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.repository.RfcBridgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rfc.bridge.interfaces 설정을 RFC 함수 핸들러로 등록
+ * 설정이 잘못되면 (이름, 필수 항목, 매핑 중복) 기동 시 실패한다. 테이블 필드 존재 여부는 첫 호출 때 확인한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RfcBridgeProperties.class)
+public class RfcBridge implements RfcHandlerProvider {
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    public RfcBridge(RfcBridgeProperties properties, RfcTableMapperRegistry rfcTableMapperRegistry,
+                     PayloadLogger payloadLogger, RfcBridgeRepository rfcBridgeRepository,
+                     @Value("${api.dev_url}") String apiUrl) {
+        for (RfcBridgeProperties.Interface spec : properties.getInterfaces()) {
+            RfcBridgePlan plan = RfcBridgePlan.compile(spec, apiUrl);
+            if (plan.upsertSql != null && rfcBridgeRepository == null) {
+                throw new IllegalStateException("rfc.bridge " + plan.function + " : persist 에 필요한 저장소가 없습니다.");
+            }
+            registrations.add(new Registration(plan.function, plan.group,
+                    new RfcBridgeHandler(plan, rfcTableMapperRegistry, payloadLogger, rfcBridgeRepository)));
+            log.info("RFC 브리지 등록 : {} -> POST {} (table={}, chunk={}, persist={})", plan.function, plan.url,
+                    plan.outputTable == null ? plan.inputTable : plan.inputTable + "->" + plan.outputTable,
+                    plan.chunkSize, plan.upsertSql != null);
+        }
+    }
+
+    @Override
+    public List<Registration> rfcHandlers() {
+        return registrations;
+    }
+}
@@ -0,0 +1,281 @@
+package jco.jcosaprfclink.config.saprfc.bridge;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import com.sap.conn.jco.server.JCoServerContext;
+import com.sap.conn.jco.server.JCoServerFunctionHandler;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTablePlan;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.repository.RfcBridgeRepository;
+import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.utils.HttpUtil;
+import jco.jcosaprfclink.utils.RowKeyIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static jco.jcosaprfclink.type.ErrorCode.JACKSON_PROCESS_ERROR;
+
+/**
+ * rfc.bridge 인터페이스 하나를 처리하는 RFC 함수 핸들러
+ * 요청 행을 chunk 단위로 JSON 배열로 보내고, 결과 배열을 끝까지 읽은 뒤 키가 같은 행(또는 output-table 새 행)에 쓴다.
+ * 응답을 읽다 실패한 chunk 는 결과를 쓰지도 저장하지도 않고 오류 코드만 기록한다.
+ * JCoTable 은 호출 스레드에서만 읽고 쓰며, 필드는 인덱스로 접근한다.
+ */
+@Slf4j
+final class RfcBridgeHandler implements JCoServerFunctionHandler {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE) // 응답 스트림은 HttpClientEngine 이 닫는다
+            .build();
+
+    private final RfcBridgePlan plan;
+    private final RfcTableMapperRegistry rfcTableMapperRegistry;
+    private final PayloadLogger payloadLogger;
+    private final RfcBridgeRepository rfcBridgeRepository;
+
+    RfcBridgeHandler(RfcBridgePlan plan, RfcTableMapperRegistry rfcTableMapperRegistry, PayloadLogger payloadLogger,
+                     RfcBridgeRepository rfcBridgeRepository) {
+        this.plan = plan;
+        this.rfcTableMapperRegistry = rfcTableMapperRegistry;
+        this.payloadLogger = payloadLogger;
+        this.rfcBridgeRepository = rfcBridgeRepository;
+    }
+
+    @Override
+    public void handleRequest(JCoServerContext serverCtx, JCoFunction function) {
+        JCoTable input = function.getTableParameterList().getTable(plan.inputTable);
+        JCoTable output = plan.outputTable == null ? input : function.getTableParameterList().getTable(plan.outputTable);
+        RfcTablePlan inputPlan = rfcTableMapperRegistry.plan(input);
+        RfcBridgePlan.Bound bound = plan.bind(inputPlan, output == input ? inputPlan : rfcTableMapperRegistry.plan(output));
+        payloadLogger.table(plan.function, input);
+
+        int rows = input.getNumRows();
+        int chunkSize = plan.chunkSize > 0 ? plan.chunkSize : Math.max(rows, 1);
+        RowKeyIndex index = output == input ? RowKeyIndex.of(input, bound.key) : null;
+        int appendedFrom = output.getNumRows();
+        BitSet written = new BitSet(output == input ? rows : 0);
+        for (int from = 0; from < rows; from += chunkSize) {
+            int to = Math.min(from + chunkSize, rows);
+            byte[] body = writeChunk(input, bound, from, to);
+            payloadLogger.json(plan.function, body);
+            Chunk chunk = new Chunk(input, output, bound, index, from, to, written);
+            try {
+                HttpUtil.sendHttpRequest(plan.url, HttpMethod.POST, out -> out.write(body), null, chunk::read);
+            } catch (BusinessExceptionHandler e) {
+                if (bound.errorCode < 0) {
+                    throw e;
+                }
+                log.warn("{} 웹 API 호출 실패 [{}, {}) : {}", plan.function, from, to, e.getErrorCode());
+                markRows(input, bound, from, to, e);
+                continue;
+            }
+            chunk.apply();
+            if (chunk.missing() > 0 || chunk.unexpected > 0) {
+                log.warn("{} 웹 API 결과 불일치 [{}, {}) : 누락 {}건, 요청 외 {}건",
+                        plan.function, from, to, chunk.missing(), chunk.unexpected);
+            }
+        }
+        if (output != input) {
+            written.set(appendedFrom, output.getNumRows());
+        }
+        persist(output, bound, written);
+    }
+
+    /**
+     * 요청 행 [from, to) 을 JSON 배열로 직렬화 (호출 스레드)
+     */
+    private static byte[] writeChunk(JCoTable input, RfcBridgePlan.Bound bound, int from, int to) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * bound.request.length * (to - from) + 2);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int row = from; row < to; row++) {
+                input.setRow(row);
+                generator.writeStartObject();
+                for (int i = 0; i < bound.request.length; i++) {
+                    generator.writeFieldName(bound.requestNames[i]);
+                    if (bound.numeric[i]) {
+                        generator.writeNumber(input.getBigDecimal(bound.request[i]));
+                    } else {
+                        generator.writeString(input.getString(bound.request[i]));
+                    }
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+        }
+        return out.toByteArray();
+    }
+
+    private static void markRows(JCoTable input, RfcBridgePlan.Bound bound, int from, int to, BusinessExceptionHandler e) {
+        for (int row = from; row < to; row++) {
+            input.setRow(row);
+            input.setValue(bound.errorCode, e.getErrorCode().getCode());
+            if (bound.errorMessage >= 0) {
+                input.setValue(bound.errorMessage, e.getErrorMassage());
+            }
+        }
+    }
+
+    /**
+     * 결과를 쓴 행을 persist.columns 순서로 읽어 한번에 저장
+     */
+    private void persist(JCoTable output, RfcBridgePlan.Bound bound, BitSet written) {
+        if (plan.upsertSql == null || written.isEmpty()) {
+            return;
+        }
+        List<Object[]> values = new ArrayList<>(written.cardinality());
+        for (int row = written.nextSetBit(0); row >= 0; row = written.nextSetBit(row + 1)) {
+            output.setRow(row);
+            Object[] columns = new Object[bound.persist.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = bound.output.read(output, bound.persist[i]);
+            }
+            values.add(columns);
+        }
+        rfcBridgeRepository.upsertAll(plan.upsertSql, values);
+    }
+
+    /**
+     * chunk 1건의 응답 처리, 결과 객체를 슬롯으로 모두 읽어 둔 뒤 apply 에서 대상 행에 쓴다.
+     */
+    private final class Chunk {
+        private final JCoTable input;
+        private final JCoTable output;
+        private final RfcBridgePlan.Bound bound;
+        private final RowKeyIndex index;
+        private final int from;
+        private final int to;
+        private final BitSet written;
+        private final BitSet answered;
+        private final List<Object[]> results = new ArrayList<>();
+        private final Set<String> applied = new HashSet<>();
+        private int unexpected;
+
+        Chunk(JCoTable input, JCoTable output, RfcBridgePlan.Bound bound, RowKeyIndex index, int from, int to,
+              BitSet written) {
+            this.input = input;
+            this.output = output;
+            this.bound = bound;
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.written = written;
+            this.answered = new BitSet(to - from);
+        }
+
+        Void read(InputStream in) throws IOException {
+            try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    Object[] slots = new Object[plan.slotCount()];
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        int slot = plan.slot(parser.currentName());
+                        JsonToken value = parser.nextToken();
+                        if (slot < 0) {
+                            parser.skipChildren();
+                        } else {
+                            slots[slot] = value(parser, value);
+                        }
+                    }
+                    results.add(slots);
+                }
+                if (token != JsonToken.END_ARRAY || parser.nextToken() != null) { // 객체가 아닌 요소, 배열 뒤 내용
+                    log.error("{} 웹 API 응답 형식 오류 ({}건 읽은 뒤) : {}", plan.function, results.size(), parser.currentToken());
+                    throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+                }
+            }
+            return null;
+        }
+
+        int missing() {
+            return index == null ? 0 : (to - from) - answered.cardinality();
+        }
+
+        /**
+         * 읽어 둔 결과를 응답 순서대로 대상 행에 쓴다. (응답을 끝까지 읽은 경우만)
+         * 같은 키의 결과가 여러 건이면 첫 결과만 쓴다.
+         */
+        void apply() {
+            for (Object[] slots : results) {
+                apply(slots);
+            }
+        }
+
+        private void apply(Object[] slots) {
+            if (index == null) {
+                output.appendRow();
+                write(output, slots);
+                return;
+            }
+            Object key = slots[plan.keySlot()];
+            if (key != null && applied.contains(key.toString())) { // 같은 키의 반복 결과, 첫 결과를 이미 반영
+                return;
+            }
+            boolean matched = false;
+            for (int row = index.first(key); row >= 0 && row < to; row = index.next(row)) {
+                if (row < from) {
+                    continue;
+                }
+                input.setRow(row);
+                write(input, slots);
+                answered.set(row - from);
+                written.set(row);
+                matched = true;
+            }
+            if (!matched) {
+                unexpected++;
+                log.warn("{} 요청에 없는 웹 API 결과 : {}", plan.function, key);
+                return;
+            }
+            applied.add(key.toString());
+        }
+
+        /**
+         * 슬롯 값을 대상 행의 매핑된 필드에 타입에 맞게 쓴다.
+         */
+        private void write(JCoTable target, Object[] slots) {
+            for (int slot = 0; slot < bound.response.length; slot++) {
+                if (bound.response[slot] >= 0) {
+                    bound.output.write(target, bound.response[slot], slots[slot]);
+                }
+            }
+        }
+    }
+
+    private static Object value(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_TRUE, VALUE_FALSE -> parser.getText();
+            case START_OBJECT, START_ARRAY -> {
+                parser.skipChildren();
+                yield null;
+            }
+            default -> null;
+        };
+    }
+}
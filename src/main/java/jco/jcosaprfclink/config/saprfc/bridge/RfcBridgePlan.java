@@ -0,0 +1,256 @@
+package jco.jcosaprfclink.config.saprfc.bridge;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sap.conn.jco.JCoMetaData;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTablePlan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * rfc.bridge 인터페이스 하나의 실행 계획, 기동 시 설정을 검증하며 한번 만든다.
+ * - 이름 매핑, 결과 JSON 이름 -> 슬롯, upsert SQL, 호출 URL 은 여기서 미리 계산한다.
+ * - 테이블 필드 인덱스는 테이블 접근 계획(RfcTablePlan)이 바뀔 때만 다시 찾는다. (bind)
+ */
+final class RfcBridgePlan {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+
+    final String function;
+    final String group;
+    final String inputTable;
+    final String outputTable; // null 이면 inputTable 의 같은 키 행에 반영
+    final String url;
+    final int chunkSize;
+    final String key;
+    final String errorCodeField;
+    final String errorMessageField;
+    final String upsertSql; // 저장하지 않으면 null
+
+    private final String[] requestFields; // null 이면 전체 필드
+    private final SerializedString[] requestNames;
+    private final String[] responseFields; // 슬롯 순서, 키 슬롯이 마지막일 수 있다
+    private final Map<String, Integer> slotByName;
+    private final int keySlot;
+    private final String[] persistFields;
+
+    private volatile Bound bound;
+
+    private RfcBridgePlan(RfcBridgeProperties.Interface spec, String apiUrl) {
+        this.function = identifier("function", spec.getFunction());
+        this.group = spec.getGroup();
+        this.inputTable = identifier("input-table", spec.getInputTable());
+        this.outputTable = blank(spec.getOutputTable()) ? null : identifier("output-table", spec.getOutputTable());
+        this.chunkSize = spec.getChunkSize();
+        this.errorCodeField = blank(spec.getErrorCodeField()) ? null : identifier("error-code-field", spec.getErrorCodeField());
+        this.errorMessageField = blank(spec.getErrorMessageField()) ? null : identifier("error-message-field", spec.getErrorMessageField());
+        if (blank(spec.getEndpoint())) {
+            throw invalid("endpoint 가 없습니다.");
+        }
+        this.url = spec.getEndpoint().startsWith("http://") || spec.getEndpoint().startsWith("https://")
+                ? spec.getEndpoint() : apiUrl + (spec.getEndpoint().startsWith("/") ? "" : "/") + spec.getEndpoint();
+
+        Map<String, String> request = mapping("request", spec.getRequest(), false);
+        if (request.isEmpty()) {
+            this.requestFields = null;
+            this.requestNames = null;
+        } else {
+            this.requestFields = request.keySet().toArray(String[]::new);
+            this.requestNames = request.values().stream().map(SerializedString::new).toArray(SerializedString[]::new);
+        }
+
+        Map<String, String> response = mapping("response", spec.getResponse(), false);
+        if (response.isEmpty()) {
+            throw invalid("response 매핑이 없습니다.");
+        }
+        List<String> fields = new ArrayList<>(response.keySet());
+        this.slotByName = new HashMap<>();
+        for (Map.Entry<String, String> entry : response.entrySet()) {
+            if (slotByName.putIfAbsent(entry.getValue(), slotByName.size()) != null) {
+                throw invalid("response 에 결과 JSON 이름이 중복되었습니다 : " + entry.getValue());
+            }
+        }
+        this.key = blank(spec.getKey()) ? null : identifier("key", spec.getKey());
+        if (key == null && outputTable == null) {
+            throw invalid("output-table 이 없으면 key 가 필요합니다.");
+        }
+        if (key != null) {
+            String responseKey = !blank(spec.getResponseKey()) ? spec.getResponseKey() : request.getOrDefault(key, key);
+            Integer slot = slotByName.get(responseKey);
+            if (slot == null) { // 키 값은 읽기만 하는 슬롯
+                slot = slotByName.size();
+                slotByName.put(responseKey, slot);
+                fields.add(null);
+            }
+            this.keySlot = slot;
+        } else {
+            this.keySlot = -1;
+        }
+        this.responseFields = fields.toArray(String[]::new);
+
+        RfcBridgeProperties.Persist persist = spec.getPersist();
+        if (persist == null || blank(persist.getTable())) {
+            this.upsertSql = null;
+            this.persistFields = null;
+        } else {
+            Map<String, String> columns = mapping("persist.columns", persist.getColumns(), true);
+            if (columns.isEmpty()) {
+                throw invalid("persist.columns 가 없습니다.");
+            }
+            this.persistFields = columns.values().toArray(String[]::new);
+            this.upsertSql = upsertSql(identifier("persist.table", persist.getTable()), List.copyOf(columns.keySet()));
+        }
+    }
+
+    static RfcBridgePlan compile(RfcBridgeProperties.Interface spec, String apiUrl) {
+        try {
+            return new RfcBridgePlan(spec, apiUrl);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("rfc.bridge " + spec.getFunction() + " : " + e.getMessage(), e);
+        }
+    }
+
+    int slotCount() {
+        return responseFields.length;
+    }
+
+    /**
+     * 결과 JSON 이름의 슬롯, 매핑에 없으면 -1
+     */
+    int slot(String jsonName) {
+        Integer slot = slotByName.get(jsonName);
+        return slot == null ? -1 : slot;
+    }
+
+    int keySlot() {
+        return keySlot;
+    }
+
+    /**
+     * 테이블 접근 계획에 맞춘 필드 인덱스, 같은 계획이면 이전 결과를 그대로 쓴다.
+     *
+     * @param output 결과를 쓰는 테이블의 계획 (output-table 이 없으면 input 과 같다)
+     */
+    Bound bind(RfcTablePlan input, RfcTablePlan output) {
+        Bound current = bound;
+        if (current != null && current.input == input && current.output == output) {
+            return current;
+        }
+        current = new Bound(this, input, output);
+        bound = current;
+        return current;
+    }
+
+    /**
+     * 필드 인덱스 묶음, 인덱스가 -1 이면 해당 값을 쓰지 않는다.
+     */
+    static final class Bound {
+        final RfcTablePlan input;
+        final RfcTablePlan output;
+        final int[] request;
+        final SerializedString[] requestNames;
+        final boolean[] numeric;
+        final int key;
+        final int[] response; // 슬롯 -> output 필드
+        final int errorCode;
+        final int errorMessage;
+        final int[] persist; // output 필드
+
+        private Bound(RfcBridgePlan plan, RfcTablePlan input, RfcTablePlan output) {
+            this.input = input;
+            this.output = output;
+            if (plan.requestFields == null) {
+                this.request = new int[input.getFieldCount()];
+                this.requestNames = new SerializedString[request.length];
+                for (int i = 0; i < request.length; i++) {
+                    request[i] = i;
+                    requestNames[i] = new SerializedString(input.getFieldName(i));
+                }
+            } else {
+                this.request = indices(input, plan.requestFields);
+                this.requestNames = plan.requestNames;
+            }
+            this.numeric = new boolean[request.length];
+            for (int i = 0; i < request.length; i++) { // JCoJsonSerializer 와 같이 BCD 만 숫자로 보낸다
+                numeric[i] = input.getType(request[i]) == JCoMetaData.TYPE_BCD;
+            }
+            this.key = plan.key == null ? -1 : input.requireIndex(plan.key);
+            this.response = new int[plan.responseFields.length];
+            for (int i = 0; i < response.length; i++) {
+                response[i] = plan.responseFields[i] == null ? -1 : output.requireIndex(plan.responseFields[i]);
+            }
+            this.errorCode = plan.errorCodeField == null ? -1 : input.requireIndex(plan.errorCodeField);
+            this.errorMessage = plan.errorMessageField == null ? -1 : input.requireIndex(plan.errorMessageField);
+            this.persist = plan.persistFields == null ? null : indices(output, plan.persistFields);
+        }
+
+        private static int[] indices(RfcTablePlan plan, String[] fields) {
+            int[] indices = new int[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                indices[i] = plan.requireIndex(fields[i]);
+            }
+            return indices;
+        }
+    }
+
+    /**
+     * "왼쪽[=오른쪽]" 목록 -> 순서가 유지되는 Map, 오른쪽이 없으면 왼쪽과 같다.
+     *
+     * @param identifiers 오른쪽도 SAP 필드/컬럼 이름인지 (JSON 이름이면 false)
+     */
+    private static Map<String, String> mapping(String name, List<String> entries, boolean identifiers) {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int eq = entry.indexOf('=');
+            String left = identifier(name, (eq < 0 ? entry : entry.substring(0, eq)).trim());
+            String right = eq < 0 ? left : entry.substring(eq + 1).trim();
+            if (identifiers) {
+                identifier(name, right);
+            } else if (right.isEmpty()) {
+                throw invalid(name + " 의 JSON 이름이 비어 있습니다 : " + entry);
+            }
+            if (mapping.put(left, right) != null) {
+                throw invalid(name + " 에 " + left + " 가 중복되었습니다.");
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * INSERT ... ON DUPLICATE KEY UPDATE, 키 충돌 시 첫 컬럼을 뺀 나머지를 새 값으로 갱신
+     */
+    private static String upsertSql(String table, List<String> columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                .append(String.join(", ", columns)).append(") VALUES (")
+                .append("?, ".repeat(columns.size() - 1)).append("?) ON DUPLICATE KEY UPDATE ");
+        if (columns.size() == 1) {
+            return sql.append(columns.get(0)).append(" = ").append(columns.get(0)).toString();
+        }
+        for (int i = 1; i < columns.size(); i++) {
+            if (i > 1) {
+                sql.append(", ");
+            }
+            sql.append(columns.get(i)).append(" = VALUES(").append(columns.get(i)).append(')');
+        }
+        return sql.toString();
+    }
+
+    private static String identifier(String name, String value) {
+        if (value == null || !IDENTIFIER.matcher(value).matches()) {
+            throw invalid(name + " 이름이 올바르지 않습니다 : " + value);
+        }
+        return value;
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException(message);
+    }
+}
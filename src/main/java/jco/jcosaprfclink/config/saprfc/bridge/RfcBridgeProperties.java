@@ -0,0 +1,50 @@
+package jco.jcosaprfclink.config.saprfc.bridge;
+
+import jco.jcosaprfclink.config.saprfc.RfcServerProperties;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 설정으로 선언하는 RFC -> 웹 API 연동 (rfc.bridge)
+ * 인터페이스마다 실행 계획을 기동 시 한번 만들고, 컨트롤러/서비스 코드 없이 RFC 함수 핸들러로 등록한다.
+ * 매핑은 "왼쪽=오른쪽" 문자열 목록으로 쓴다. (Map 키로 쓰면 relaxed binding 이 '_' 를 지운다)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rfc.bridge")
+public class RfcBridgeProperties {
+
+    private List<Interface> interfaces = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Interface {
+        private String function; // RFC 함수 모듈명
+        private String group = RfcServerProperties.DEFAULT_GROUP; // 격리 그룹, jco.server.groups 의 키
+        private String inputTable; // 요청 행 테이블 파라미터
+        private String outputTable; // 결과를 행으로 추가할 테이블 파라미터, 비우면 input-table 의 같은 키 행에 반영
+        private String endpoint; // api.dev_url 기준 경로 또는 http(s) URL, 요청은 POST JSON 배열
+        private int chunkSize = 1000; // 요청 1건에 담는 행 수, 0 이하면 한번에 전송
+        private List<String> request = new ArrayList<>(); // "테이블필드[=JSON이름]", 비우면 전체 필드를 필드명으로
+        private String key; // 결과를 요청 행에 맞춰 볼 테이블 필드 (output-table 이 없으면 필수)
+        private String responseKey; // 결과 JSON 의 키 이름, 비우면 request 에서 key 필드의 JSON 이름
+        private List<String> response = new ArrayList<>(); // "테이블필드[=결과JSON이름]"
+        private String errorCodeField; // 웹 API 호출 실패 시 오류 코드를 쓸 필드, 비우면 예외로 SAP 에 실패 응답
+        private String errorMessageField;
+        private Persist persist; // 결과 반영 후 행 저장, 비우면 저장하지 않음
+    }
+
+    /**
+     * 결과가 반영된 행을 DB 테이블에 배치 upsert (INSERT ... ON DUPLICATE KEY UPDATE)
+     */
+    @Getter
+    @Setter
+    public static class Persist {
+        private String table; // 고유 키가 있는 테이블
+        private List<String> columns = new ArrayList<>(); // "컬럼=테이블필드", 첫 컬럼이 키 (중복 시 나머지 컬럼 갱신)
+    }
+}
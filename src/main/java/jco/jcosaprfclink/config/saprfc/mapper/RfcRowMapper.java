@@ -0,0 +1,22 @@
+package jco.jcosaprfclink.config.saprfc.mapper;
+
+import com.sap.conn.jco.JCoRecord;
+
+/**
+ * RFC 테이블 행을 객체로 변환하는 매퍼
+ * compile 은 테이블 메타데이터(버전)마다 한번만 호출되며, 필드 인덱스를 미리 결정해 둔다.
+ * 캐시 키로 사용되므로 상수(static final)로 선언해서 사용한다.
+ */
+@FunctionalInterface
+public interface RfcRowMapper<T> {
+
+    RowReader<T> compile(RfcTablePlan plan);
+
+    /**
+     * 현재 행을 인덱스 기반으로 읽어 객체를 만든다.
+     */
+    @FunctionalInterface
+    interface RowReader<T> {
+        T read(JCoRecord row);
+    }
+}
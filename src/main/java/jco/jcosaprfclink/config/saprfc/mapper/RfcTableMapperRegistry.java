@@ -0,0 +1,107 @@
+package jco.jcosaprfclink.config.saprfc.mapper;
+
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.saprfc.RfcMetadataChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RFC 테이블 접근 계획 캐시
+ * 테이블(구조)명별로 한번 계산하고, DDIC 구조가 바뀌어 메타데이터가 달라지면 다시 계산한다.
+ */
+@Slf4j
+@Component
+public class RfcTableMapperRegistry {
+
+    private final Map<String, RfcTablePlan> plans = new ConcurrentHashMap<>();
+
+    public RfcTablePlan plan(JCoTable jCoTable) {
+        return plan(jCoTable.getRecordMetaData());
+    }
+
+    public RfcTablePlan plan(JCoRecordMetaData metaData) {
+        String key = metaData.getName() == null ? "" : metaData.getName();
+        RfcTablePlan plan = plans.get(key);
+        if (plan != null && plan.getMetaData() == metaData) {
+            return plan;
+        }
+        return plans.compute(key, (k, current) -> {
+            if (current != null && current.matches(metaData)) {
+                return current.getMetaData() == metaData ? current : current.rebind(metaData);
+            }
+            log.info("RFC 테이블 접근 계획 생성 : {} ({} fields)", k, metaData.getFieldCount());
+            return new RfcTablePlan(metaData);
+        });
+    }
+
+    /**
+     * 테이블 행을 매퍼로 변환
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, RfcRowMapper<T> mapper) {
+        return plan(jCoTable).readRows(jCoTable, mapper);
+    }
+
+    /**
+     * [from, to) 행을 매퍼로 변환
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, int from, int to, RfcRowMapper<T> mapper) {
+        return plan(jCoTable).readRows(jCoTable, from, to, mapper);
+    }
+
+    /**
+     * rows[from, to) 위치의 행을 매퍼로 변환
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, int[] rows, int from, int to, RfcRowMapper<T> mapper) {
+        return plan(jCoTable).readRows(jCoTable, rows, from, to, mapper);
+    }
+
+    /**
+     * 테이블 행을 List<Map> 으로 변환
+     */
+    public List<Map<String, Object>> readMaps(JCoTable jCoTable) {
+        RfcTablePlan plan = plan(jCoTable);
+        int rows = jCoTable.getNumRows();
+        List<Map<String, Object>> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            jCoTable.setRow(i);
+            result.add(plan.readMap(jCoTable));
+        }
+        return result;
+    }
+
+    /**
+     * List<Map> 을 테이블 행으로 추가
+     */
+    public void appendMaps(JCoTable jCoTable, List<Map<String, Object>> rows) {
+        RfcTablePlan plan = plan(jCoTable);
+        jCoTable.appendRows(rows.size());
+        int first = jCoTable.getNumRows() - rows.size();
+        for (int i = 0; i < rows.size(); i++) {
+            jCoTable.setRow(first + i);
+            plan.writeMap(jCoTable, rows.get(i));
+        }
+    }
+
+    /**
+     * 구조 변경 시 캐시 제거
+     */
+    public void evict(String name) {
+        plans.remove(name);
+    }
+
+    @EventListener
+    public void onMetadataChanged(RfcMetadataChangedEvent event) {
+        event.recordNames().forEach(this::evict);
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+}
@@ -0,0 +1,260 @@
+package jco.jcosaprfclink.config.saprfc.mapper;
+
+import com.sap.conn.jco.JCoMetaData;
+import com.sap.conn.jco.JCoRecord;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 테이블 메타데이터 하나에 대해 미리 계산한 필드 접근 계획
+ * 필드명/타입 조회를 행마다 하지 않고, 타입별 변환기를 인덱스로 바로 호출한다.
+ */
+public final class RfcTablePlan {
+
+    @FunctionalInterface
+    interface FieldReader {
+        Object read(JCoRecord record, int index);
+    }
+
+    @FunctionalInterface
+    interface FieldWriter {
+        void write(JCoRecord record, int index, Object value);
+    }
+
+    private final JCoRecordMetaData metaData;
+    private final String[] fieldNames;
+    private final int[] types;
+    private final int[] lengths;
+    private final FieldReader[] readers;
+    private final FieldWriter[] writers;
+    private final Map<String, Integer> indexByName;
+    private final Map<RfcRowMapper<?>, RfcRowMapper.RowReader<?>> rowReaders;
+
+    RfcTablePlan(JCoRecordMetaData metaData) {
+        int fieldCount = metaData.getFieldCount();
+        this.metaData = metaData;
+        this.fieldNames = new String[fieldCount];
+        this.types = new int[fieldCount];
+        this.lengths = new int[fieldCount];
+        this.readers = new FieldReader[fieldCount];
+        this.writers = new FieldWriter[fieldCount];
+        this.indexByName = new HashMap<>(fieldCount * 2);
+        this.rowReaders = new ConcurrentHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            fieldNames[i] = metaData.getName(i);
+            types[i] = metaData.getType(i);
+            lengths[i] = metaData.getLength(i);
+            readers[i] = reader(types[i]);
+            writers[i] = writer(types[i]);
+            indexByName.put(fieldNames[i], i);
+        }
+    }
+
+    private RfcTablePlan(RfcTablePlan source, JCoRecordMetaData metaData) {
+        this.metaData = metaData;
+        this.fieldNames = source.fieldNames;
+        this.types = source.types;
+        this.lengths = source.lengths;
+        this.readers = source.readers;
+        this.writers = source.writers;
+        this.indexByName = source.indexByName;
+        this.rowReaders = source.rowReaders;
+    }
+
+    /**
+     * 같은 구조의 다른 메타데이터 인스턴스에 계획을 재사용
+     */
+    RfcTablePlan rebind(JCoRecordMetaData other) {
+        return new RfcTablePlan(this, other);
+    }
+
+    /**
+     * 메타데이터가 이 계획과 같은 구조인지 확인, 같은 인스턴스면 바로 true
+     */
+    boolean matches(JCoRecordMetaData other) {
+        return other == metaData || sameLayout(other);
+    }
+
+    boolean sameLayout(JCoRecordMetaData other) {
+        if (other.getFieldCount() != fieldNames.length) {
+            return false;
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (other.getType(i) != types[i] || other.getLength(i) != lengths[i]
+                    || !fieldNames[i].equals(other.getName(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public JCoRecordMetaData getMetaData() {
+        return metaData;
+    }
+
+    public int getFieldCount() {
+        return fieldNames.length;
+    }
+
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * 필드 인덱스, 없으면 -1
+     */
+    public int indexOf(String fieldName) {
+        Integer index = indexByName.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 필드 인덱스, 없으면 예외
+     */
+    public int requireIndex(String fieldName) {
+        int index = indexOf(fieldName);
+        if (index < 0) {
+            throw new IllegalArgumentException(metaData.getName() + " 에 " + fieldName + " 필드가 없습니다.");
+        }
+        return index;
+    }
+
+    /**
+     * 타입 변환된 필드 값
+     */
+    public Object read(JCoRecord record, int index) {
+        return readers[index].read(record, index);
+    }
+
+    /**
+     * 타입에 맞게 변환해서 필드 값 세팅
+     */
+    public void write(JCoRecord record, int index, Object value) {
+        writers[index].write(record, index, value);
+    }
+
+    /**
+     * 테이블 전체 행을 매퍼로 변환, 결과 리스트는 행 수만큼만 할당한다.
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, RfcRowMapper<T> mapper) {
+        return readRows(jCoTable, 0, jCoTable.getNumRows(), mapper);
+    }
+
+    /**
+     * [from, to) 행을 매퍼로 변환
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, int from, int to, RfcRowMapper<T> mapper) {
+        RfcRowMapper.RowReader<T> rowReader = rowReader(mapper);
+        List<T> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            jCoTable.setRow(i);
+            result.add(rowReader.read(jCoTable));
+        }
+        return result;
+    }
+
+    /**
+     * rows[from, to) 위치의 행을 매퍼로 변환
+     */
+    public <T> List<T> readRows(JCoTable jCoTable, int[] rows, int from, int to, RfcRowMapper<T> mapper) {
+        RfcRowMapper.RowReader<T> rowReader = rowReader(mapper);
+        List<T> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            jCoTable.setRow(rows[i]);
+            result.add(rowReader.read(jCoTable));
+        }
+        return result;
+    }
+
+    /**
+     * 매퍼의 행 변환기, 메타데이터 버전별로 한번만 만든다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RfcRowMapper.RowReader<T> rowReader(RfcRowMapper<T> mapper) {
+        return (RfcRowMapper.RowReader<T>) rowReaders.computeIfAbsent(mapper, m -> m.compile(this));
+    }
+
+    /**
+     * 현재 행을 필드명 순서가 유지되는 Map 으로 변환
+     */
+    public Map<String, Object> readMap(JCoRecord record) {
+        Map<String, Object> map = new LinkedHashMap<>((int) (fieldNames.length / 0.75f) + 1);
+        for (int i = 0; i < fieldNames.length; i++) {
+            map.put(fieldNames[i], readers[i].read(record, i));
+        }
+        return map;
+    }
+
+    /**
+     * Map 값을 현재 행에 세팅, Map 에 없는 필드는 null 로 세팅한다.
+     */
+    public void writeMap(JCoRecord record, Map<String, Object> map) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            writers[i].write(record, i, map.get(fieldNames[i]));
+        }
+    }
+
+    private static FieldReader reader(int type) {
+        switch (type) {
+            case JCoMetaData.TYPE_BCD:
+            case JCoMetaData.TYPE_DECF16:
+            case JCoMetaData.TYPE_DECF34:
+                return JCoRecord::getBigDecimal;
+            case JCoMetaData.TYPE_INT:
+            case JCoMetaData.TYPE_INT1:
+            case JCoMetaData.TYPE_INT2:
+                return JCoRecord::getInt;
+            case JCoMetaData.TYPE_FLOAT:
+                return JCoRecord::getDouble;
+            case JCoMetaData.TYPE_DATE:
+                return (record, index) -> toLocalDate(record.getDate(index));
+            case JCoMetaData.TYPE_TIME:
+                return (record, index) -> toLocalTime(record.getTime(index));
+            case JCoMetaData.TYPE_BYTE:
+            case JCoMetaData.TYPE_XSTRING:
+                return JCoRecord::getByteArray;
+            case JCoMetaData.TYPE_CHAR:
+            case JCoMetaData.TYPE_NUM:
+            case JCoMetaData.TYPE_STRING:
+                return JCoRecord::getString;
+            default:
+                return JCoRecord::getValue;
+        }
+    }
+
+    private static FieldWriter writer(int type) {
+        switch (type) {
+            case JCoMetaData.TYPE_DATE:
+                return (record, index, value) -> record.setValue(index,
+                        value instanceof LocalDate date ? Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()) : value);
+            case JCoMetaData.TYPE_TIME:
+                return (record, index, value) -> record.setValue(index,
+                        value instanceof LocalTime time ? Date.from(time.atDate(LocalDate.EPOCH).atZone(ZoneId.systemDefault()).toInstant()) : value);
+            default:
+                return JCoRecord::setValue;
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static LocalTime toLocalTime(Date time) {
+        return time == null ? null : time.toInstant().atZone(ZoneId.systemDefault()).toLocalTime();
+    }
+}
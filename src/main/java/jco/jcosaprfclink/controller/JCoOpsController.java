@@ -0,0 +1,49 @@
+package jco.jcosaprfclink.controller;
+
+import jco.jcosaprfclink.config.saprfc.JCoConnectionManager;
+import jco.jcosaprfclink.config.saprfc.RfcServerProperties;
+import jco.jcosaprfclink.dto.JCoPoolReload;
+import jco.jcosaprfclink.dto.ResponseResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JCo 운영 설정 변경 (재기동 없이 반영)
+ * 인증이 없으므로 jco.ops.enabled=true 일 때만 등록한다. 운영망 내부에서만 열 것.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "jco.ops", name = "enabled", havingValue = "true")
+@RequestMapping("/ops/jco")
+@RequiredArgsConstructor
+public class JCoOpsController {
+
+    private final JCoConnectionManager jCoConnectionManager;
+
+    /**
+     * SAP 호출용 커넥션 풀 설정 변경
+     */
+    @PutMapping("/pool")
+    public ResponseResult reloadPool(@RequestBody JCoPoolReload jCoPoolReload) {
+        jCoConnectionManager.reloadPool(jCoPoolReload);
+        log.info("JCo 커넥션 풀 설정 변경 완료");
+        return new ResponseResult("커넥션 풀 설정 변경 완료", null);
+    }
+
+    /**
+     * RFC 서버 격리 그룹의 커넥션/워커 스레드 범위 변경
+     */
+    @PutMapping("/servers/{group}")
+    public ResponseResult reloadServer(@PathVariable("group") String group,
+                                       @RequestBody RfcServerProperties.Group changes) {
+        jCoConnectionManager.reloadServer(group, changes);
+        log.info("RFC 서버 설정 변경 완료 : {}", group);
+        return new ResponseResult("RFC 서버 설정 변경 완료 : " + group, null);
+    }
+}
@@ -0,0 +1,62 @@
+package jco.jcosaprfclink.controller;
+
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import jco.jcosaprfclink.dto.ResponseResult;
+import jco.jcosaprfclink.service.TaxInvoiceOutboxService;
+import jco.jcosaprfclink.type.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 웹 API 재전송 대기열 조회 및 DEAD 건 재처리
+ */
+@Slf4j
+@RestController
+@RequestMapping("/ops/outbox")
+@RequiredArgsConstructor
+public class OutboxOpsController {
+
+    private final TaxInvoiceOutboxService taxInvoiceOutboxService;
+
+    /**
+     * 상태별 건수
+     */
+    @GetMapping("/stats")
+    public Map<OutboxStatus, Long> stats() {
+        return taxInvoiceOutboxService.countByStatus();
+    }
+
+    /**
+     * 재시도 한도를 넘긴 건 조회 (최근 변경 순)
+     */
+    @GetMapping("/dead")
+    public Page<TaxInvoiceOutbox> dead(@RequestParam(value = "page", defaultValue = "0") int page,
+                                       @RequestParam(value = "size", defaultValue = "50") int size) {
+        return taxInvoiceOutboxService.findDead(page, size);
+    }
+
+    @PostMapping("/dead/{mgrdocNo}/replay")
+    public ResponseResult replay(@PathVariable("mgrdocNo") String mgrdocNo) {
+        if (!taxInvoiceOutboxService.replay(mgrdocNo)) {
+            return new ResponseResult("재처리 대상 아님 : " + mgrdocNo, null);
+        }
+        log.info("DEAD 건 재처리 등록 : {}", mgrdocNo);
+        return new ResponseResult("재처리 등록 완료 : " + mgrdocNo, null);
+    }
+
+    @PostMapping("/dead/replay")
+    public ResponseResult replayAll() {
+        int count = taxInvoiceOutboxService.replayAllDead();
+        log.info("DEAD 건 일괄 재처리 등록 : {}건", count);
+        return new ResponseResult("재처리 등록 완료 : " + count + "건", null);
+    }
+}
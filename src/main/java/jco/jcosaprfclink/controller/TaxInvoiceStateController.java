@@ -1,29 +1,36 @@
 package jco.jcosaprfclink.controller;
 
+import com.sap.conn.jco.AbapException;
 import com.sap.conn.jco.JCoFunction;
 import com.sap.conn.jco.server.JCoServerContext;
 import com.sap.conn.jco.server.JCoServerFunctionHandler;
 import jco.jcosaprfclink.config.aop.TimeTrace;
-import jco.jcosaprfclink.config.saprfc.JCoConnectionManager;
+import jco.jcosaprfclink.config.saprfc.RfcAsyncProperties;
+import jco.jcosaprfclink.config.saprfc.RfcFunction;
+import jco.jcosaprfclink.service.TaxInvoiceStatePipeline;
 import jco.jcosaprfclink.service.TaxInvoiceStateService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-import java.util.Map;
-
 @Slf4j
 @RestController
+@RfcFunction("ZFI_TAXINV_STATUS_TO_WEB")
 public class TaxInvoiceStateController implements JCoServerFunctionHandler {
     @Autowired
     private TaxInvoiceStateService taxInvoiceStateService;
     @Autowired
-    private JCoConnectionManager jCoConnManager;
+    private TaxInvoiceStatePipeline taxInvoiceStatePipeline;
+    @Autowired
+    private RfcAsyncProperties rfcAsyncProperties;
+
     @Override
     @TimeTrace
-    public void handleRequest(JCoServerContext jCoServerContext, JCoFunction function) {
-        List<Map<String, Object>> taxinvocieStateList = jCoConnManager.setRFCExport("T_IF_ZTAXT020", function);
-        taxInvoiceStateService.taxinvoiceState(taxinvocieStateList, function);
+    public void handleRequest(JCoServerContext jCoServerContext, JCoFunction function) throws AbapException {
+        if (rfcAsyncProperties.isEnabled()) { // 접수만 하고 바로 응답
+            taxInvoiceStatePipeline.accept(jCoServerContext, function);
+            return;
+        }
+        taxInvoiceStateService.taxinvoiceState(function);
     }
 }
@@ -0,0 +1,49 @@
+package jco.jcosaprfclink.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jco.jcosaprfclink.type.InboundStatus;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "s_rfc_inbound")
+@EntityListeners(AuditingEntityListener.class)
+public class RfcInbound implements Serializable {
+
+    @Id
+    @NotNull
+    @Column(length = 36)
+    private String id; // tRFC TID, 동기 호출은 UUID
+
+    @Column(nullable = false, length = 30)
+    private String functionName; // RFC 함수명
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String payload; // 웹 API 요청 본문(JSON)
+    private int rowCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InboundStatus status;
+    @Column(length = 200)
+    private String errMsg;
+    private int attempts; // 처리 실패 횟수, rfc.async.max-attempts 에 닿으면 다시 처리하지 않는다
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    @Column(insertable = false)
+    private LocalDateTime updatedAt;
+}
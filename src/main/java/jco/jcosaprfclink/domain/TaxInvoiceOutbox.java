@@ -0,0 +1,48 @@
+package jco.jcosaprfclink.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jco.jcosaprfclink.type.OutboxStatus;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "s_taxinvoice_outbox", indexes = @Index(name = "idx_s_taxinvoice_outbox_next", columnList = "status, nextAttemptAt"))
+@EntityListeners(AuditingEntityListener.class)
+public class TaxInvoiceOutbox implements Serializable {
+
+    @Id
+    @NotNull
+    private String mgrdocNo; // 문서관리번호, 멱등 키
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String payload; // 웹 API 요청 행(JSON 객체)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+    private int attempts; // 전송 시도 횟수
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // 다음 전송 시각 (IN_FLIGHT 는 점유 만료 시각)
+    @Column(length = 20)
+    private String lastErrCode;
+    @Column(length = 200)
+    private String lastErrMsg;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package jco.jcosaprfclink.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * 커넥션 풀 설정 변경 요청, 값이 없는 항목은 현재 설정을 유지한다.
+ * 시간 값은 ISO-8601 형식 (예: PT60S)
+ */
+@Getter
+@Setter
+public class JCoPoolReload {
+    private Integer peakLimit;
+    private Integer capacity;
+    private Duration expirationTime;
+    private Duration expirationPeriod;
+    private Duration maxGetTime;
+}
@@ -1,5 +1,6 @@
 package jco.jcosaprfclink.dto;
 
+import com.sap.conn.jco.JCoTable;
 import jco.jcosaprfclink.domain.StateTaxinvoice;
 
 import java.util.List;
@@ -7,4 +8,10 @@ import java.util.Map;
 
 public interface StateInvoiceSap {
     List<StateTaxinvoice> toEntityList(List<Map<String, Object>> stateInvoiceData);
+
+    List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable);
+
+    List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable, int from, int to);
+
+    List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable, int[] rows, int from, int to);
 }
@@ -1,31 +1,66 @@
 package jco.jcosaprfclink.dto;
 
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcRowMapper;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
 import jco.jcosaprfclink.domain.StateTaxinvoice;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.Setter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-@Getter
-@Setter
-@AllArgsConstructor
+/**
+ * SAP 행 -> StateTaxinvoice 변환
+ * 상태를 갖지 않는다. 호출마다 입력 행 수에 맞춘 새 목록을 돌려주므로 여러 JCo 워커 스레드에서 동시에 호출해도 된다.
+ */
 @Component
+@RequiredArgsConstructor
 public class StateInvoiceSapImpl implements StateInvoiceSap {
-    List<StateTaxinvoice> taxinvocieCancelList;
+    /**
+     * T_IF_ZTAXT020 행 -> StateTaxinvoice, 필드 인덱스는 메타데이터별로 한번만 결정된다.
+     */
+    private static final RfcRowMapper<StateTaxinvoice> STATE_TAXINVOICE_MAPPER = plan -> {
+        int corpBizNo = plan.requireIndex("CORP_BIZ_NO");
+        int userId = plan.requireIndex("USER_ID");
+        int mgrdocNo = plan.requireIndex("MGR_DOC_NO");
+        return row -> StateTaxinvoice.builder()
+                .channel("NARINER")
+                .corpBizNo(row.getString(corpBizNo))
+                .userId(row.getString(userId))
+                .mgrdocNo(row.getString(mgrdocNo))
+                .build();
+    };
+
+    private final RfcTableMapperRegistry rfcTableMapperRegistry;
 
     @Override
     public List<StateTaxinvoice> toEntityList(List<Map<String, Object>> stateInvoiceList) {
+        List<StateTaxinvoice> stateTaxinvoiceList = new ArrayList<>(stateInvoiceList.size());
         for (Map<String, Object> map : stateInvoiceList) {
-            taxinvocieCancelList.add(StateTaxinvoice.builder()
+            stateTaxinvoiceList.add(StateTaxinvoice.builder()
                     .channel("NARINER")
                     .corpBizNo(map.get("CORP_BIZ_NO").toString())
                     .userId(map.get("USER_ID").toString())
                     .mgrdocNo(map.get("MGR_DOC_NO").toString())
                     .build());
         }
-        return taxinvocieCancelList;
+        return stateTaxinvoiceList;
+    }
+
+    @Override
+    public List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable) {
+        return rfcTableMapperRegistry.readRows(stateInvoiceTable, STATE_TAXINVOICE_MAPPER);
+    }
+
+    @Override
+    public List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable, int from, int to) {
+        return rfcTableMapperRegistry.readRows(stateInvoiceTable, from, to, STATE_TAXINVOICE_MAPPER);
+    }
+
+    @Override
+    public List<StateTaxinvoice> toEntityList(JCoTable stateInvoiceTable, int[] rows, int from, int to) {
+        return rfcTableMapperRegistry.readRows(stateInvoiceTable, rows, from, to, STATE_TAXINVOICE_MAPPER);
     }
 }
@@ -0,0 +1,23 @@
+package jco.jcosaprfclink.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * /resultTaxInvoice 응답 1건, 정의되지 않은 필드는 무시한다.
+ */
+@Getter
+@Setter
+public class TaxInvoiceStateResult {
+    private String channel;
+    private String corpBizNo;
+    private String mgrdocNo;
+    private String userId;
+    private String result;
+    private String errCode;
+    private String errMsg;
+    private String issueDd;
+    private String apprNo;
+    private String docState;
+    private String docStateNm;
+}
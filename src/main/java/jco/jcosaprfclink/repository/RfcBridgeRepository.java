@@ -0,0 +1,49 @@
+package jco.jcosaprfclink.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * rfc.bridge 인터페이스 결과 행 저장, SQL 은 인터페이스별로 기동 시 만든 upsert 문을 받는다.
+ */
+@Slf4j
+@Repository
+public class RfcBridgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public RfcBridgeRepository(JdbcTemplate jdbcTemplate,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 행마다 값 배열을 순서대로 바인딩해서 JDBC 배치로 실행, 한번의 호출이 하나의 트랜잭션이다.
+     *
+     * @return 처리 행 수
+     */
+    @Transactional
+    public int upsertAll(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, RfcBridgeRepository::bind);
+        log.debug("rfc bridge upsert rows : {}", rows.size());
+        return rows.size();
+    }
+
+    private static void bind(PreparedStatement ps, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            ps.setObject(i + 1, values[i]);
+        }
+    }
+}
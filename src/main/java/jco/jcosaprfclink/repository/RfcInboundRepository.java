@@ -0,0 +1,37 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.RfcInbound;
+import jco.jcosaprfclink.type.InboundStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RfcInboundRepository extends JpaRepository<RfcInbound, String> {
+
+    @Query("select r from RfcInbound r where r.status in :statuses or (r.status = :failed and r.attempts < :maxAttempts)")
+    List<RfcInbound> findRecoverable(@Param("statuses") Collection<InboundStatus> statuses,
+                                     @Param("failed") InboundStatus failed, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("update RfcInbound r set r.status = :status, r.errMsg = :errMsg, r.updatedAt = CURRENT_TIMESTAMP where r.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") InboundStatus status, @Param("errMsg") String errMsg);
+
+    @Query("select r.id from RfcInbound r where r.status = :status and r.createdAt < :before")
+    List<String> findIdsByStatusAndCreatedAtBefore(@Param("status") InboundStatus status,
+                                                   @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from RfcInbound r where r.id = :id and r.status = :status")
+    int deleteByIdAndStatus(@Param("id") String id, @Param("status") InboundStatus status);
+
+    @Modifying
+    @Query("update RfcInbound r set r.status = :status, r.attempts = r.attempts + 1, r.errMsg = :errMsg, r.updatedAt = CURRENT_TIMESTAMP where r.id = :id")
+    int markFailed(@Param("id") String id, @Param("status") InboundStatus status, @Param("errMsg") String errMsg);
+}
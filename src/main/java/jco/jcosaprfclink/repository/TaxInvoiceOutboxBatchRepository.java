@@ -0,0 +1,22 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+
+import java.util.List;
+
+/**
+ * s_taxinvoice_outbox 일괄 등록
+ */
+public interface TaxInvoiceOutboxBatchRepository {
+
+    /**
+     * 문서관리번호 기준 upsert, 동시에 같은 문서를 등록해도 한 건만 남는다.
+     * - 없으면 PENDING 으로 insert
+     * - DONE/DEAD 면 PENDING 으로 되돌리고 시도 횟수와 전송 시각을 다시 잡는다
+     * - PENDING/IN_FLIGHT 면 상태, 시도 횟수, 전송 시각은 두고 요청 내용과 오류만 바꾼다
+     *
+     * @param outboxList mgrdocNo, payload, nextAttemptAt, lastErrCode, lastErrMsg 사용
+     * @return 처리 행 수
+     */
+    int enqueueAll(List<TaxInvoiceOutbox> outboxList);
+}
@@ -0,0 +1,63 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 조회 후 save 하면 동시에 같은 문서를 등록할 때 insert 가 겹쳐 PK 충돌이 나므로 한번의 upsert 로 등록한다.
+ * MariaDB 는 SET 절을 앞에서부터 적용하므로 status 를 참조하는 컬럼을 status 보다 먼저 둔다.
+ */
+@Slf4j
+public class TaxInvoiceOutboxBatchRepositoryImpl implements TaxInvoiceOutboxBatchRepository {
+
+    static final String ENQUEUE_SQL = """
+            INSERT INTO s_taxinvoice_outbox
+                (mgrdoc_no, payload, status, attempts, next_attempt_at, last_err_code, last_err_msg,
+                 created_at, updated_at)
+            VALUES (?, ?, 'PENDING', 0, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                attempts = IF(status IN ('DONE', 'DEAD'), 0, attempts),
+                next_attempt_at = IF(status IN ('DONE', 'DEAD'), VALUES(next_attempt_at), next_attempt_at),
+                status = IF(status IN ('DONE', 'DEAD'), 'PENDING', status),
+                payload = VALUES(payload),
+                last_err_code = VALUES(last_err_code),
+                last_err_msg = VALUES(last_err_msg),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TaxInvoiceOutboxBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int enqueueAll(List<TaxInvoiceOutbox> outboxList) {
+        if (outboxList == null || outboxList.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, outboxList, batchSize, (ps, outbox) -> {
+            ps.setString(1, outbox.getMgrdocNo());
+            ps.setString(2, outbox.getPayload());
+            ps.setTimestamp(3, Timestamp.valueOf(outbox.getNextAttemptAt()));
+            ps.setString(4, outbox.getLastErrCode());
+            ps.setString(5, outbox.getLastErrMsg());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+        log.debug("s_taxinvoice_outbox upsert rows : {}", outboxList.size());
+        return outboxList.size();
+    }
+}
@@ -0,0 +1,36 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import jco.jcosaprfclink.type.OutboxStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaxInvoiceOutboxRepository extends JpaRepository<TaxInvoiceOutbox, String>, TaxInvoiceOutboxBatchRepository {
+
+    /**
+     * 전송할 건 점유, 여러 인스턴스가 같은 건을 가져가지 않도록 잠긴 행은 건너뛴다.
+     * 점유 만료된 IN_FLIGHT 건(전송 중 종료)도 다시 가져온다.
+     */
+    @Query(value = "SELECT * FROM s_taxinvoice_outbox WHERE status IN ('PENDING', 'IN_FLIGHT') "
+            + "AND next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TaxInvoiceOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    Page<TaxInvoiceOutbox> findByStatus(OutboxStatus status, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query("update TaxInvoiceOutbox o set o.status = jco.jcosaprfclink.type.OutboxStatus.PENDING, o.attempts = 0, "
+            + "o.nextAttemptAt = :now, o.updatedAt = :now where o.status = jco.jcosaprfclink.type.OutboxStatus.DEAD")
+    int replayAllDead(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,20 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+
+import java.util.List;
+
+/**
+ * s_state_taxinvoice 일괄 저장
+ */
+public interface TaxinvoiceStateBatchRepository {
+
+    /**
+     * JDBC 배치로 insert, 이미 있는 문서관리번호는 넘어온 값(null 제외)만 update
+     * 한번의 호출이 하나의 트랜잭션이다. (배치 statement 마다 커밋하지 않음)
+     * 같은 문서관리번호가 여러 번 있으면 목록 순서대로 반영된다.
+     *
+     * @return 처리 행 수
+     */
+    int upsertAll(List<StateTaxinvoice> stateTaxinvoiceList);
+}
@@ -0,0 +1,76 @@
+package jco.jcosaprfclink.repository;
+
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 행마다 SELECT 후 merge 하는 JPA save 대신 multi-row 배치 upsert 로 저장한다.
+ * 요청 행(문서번호만 있음)과 결과 행(처리 결과만 있음)이 서로의 값을 지우지 않도록 update 는 COALESCE 로 처리한다.
+ */
+@Slf4j
+public class TaxinvoiceStateBatchRepositoryImpl implements TaxinvoiceStateBatchRepository {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO s_state_taxinvoice
+                (mgrdoc_no, channel, corp_biz_no, user_id, appr_no, send_dd, err_code, err_msg, result,
+                 doc_type, doc_type_nm, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                channel = COALESCE(VALUES(channel), channel),
+                corp_biz_no = COALESCE(VALUES(corp_biz_no), corp_biz_no),
+                user_id = COALESCE(VALUES(user_id), user_id),
+                appr_no = COALESCE(VALUES(appr_no), appr_no),
+                send_dd = COALESCE(VALUES(send_dd), send_dd),
+                err_code = COALESCE(VALUES(err_code), err_code),
+                err_msg = COALESCE(VALUES(err_msg), err_msg),
+                result = COALESCE(VALUES(result), result),
+                doc_type = COALESCE(VALUES(doc_type), doc_type),
+                doc_type_nm = COALESCE(VALUES(doc_type_nm), doc_type_nm),
+                updated_at = VALUES(created_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TaxinvoiceStateBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<StateTaxinvoice> stateTaxinvoiceList) {
+        if (stateTaxinvoiceList == null || stateTaxinvoiceList.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, stateTaxinvoiceList, batchSize, (ps, entity) -> bind(ps, entity, now));
+        log.debug("s_state_taxinvoice upsert rows : {}", stateTaxinvoiceList.size());
+        return stateTaxinvoiceList.size();
+    }
+
+    private static void bind(PreparedStatement ps, StateTaxinvoice entity, Timestamp now) throws SQLException {
+        ps.setString(1, entity.getMgrdocNo());
+        ps.setString(2, entity.getChannel());
+        ps.setString(3, entity.getCorpBizNo());
+        ps.setString(4, entity.getUserId());
+        ps.setString(5, entity.getApprNo());
+        ps.setString(6, entity.getSendDd());
+        ps.setString(7, entity.getErrCode());
+        ps.setString(8, entity.getErrMsg());
+        ps.setString(9, entity.getResult());
+        ps.setString(10, entity.getDocType());
+        ps.setString(11, entity.getDocTypeNm());
+        ps.setTimestamp(12, now);
+    }
+}
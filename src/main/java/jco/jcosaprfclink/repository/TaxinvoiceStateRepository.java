@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TaxinvoiceStateRepository extends JpaRepository<StateTaxinvoice, String> {
+public interface TaxinvoiceStateRepository extends JpaRepository<StateTaxinvoice, String>, TaxinvoiceStateBatchRepository {
 }
@@ -0,0 +1,162 @@
+package jco.jcosaprfclink.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.utils.AdaptiveLimiter;
+import jco.jcosaprfclink.utils.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static jco.jcosaprfclink.type.ErrorCode.FORBIDDEN_ERROR;
+import static jco.jcosaprfclink.type.ErrorCode.INVALID_REQUEST;
+import static jco.jcosaprfclink.type.ErrorCode.IO_ERROR;
+import static jco.jcosaprfclink.type.ErrorCode.NOT_FOUND_ERROR;
+import static jco.jcosaprfclink.type.ErrorCode.WEB_API_CIRCUIT_OPEN;
+import static jco.jcosaprfclink.type.ErrorCode.WEB_API_OVERLOADED;
+
+/**
+ * /resultTaxInvoice 호출 보호 (서킷 브레이커 + 동시 호출 상한)
+ * - 브레이커가 열려 있으면 호출하지 않고 바로 WEB_API_CIRCUIT_OPEN
+ * - 상한에 닿아 max-wait 안에 자리가 나지 않으면 WEB_API_OVERLOADED
+ * 두 경우 모두 웹 API 에는 요청이 가지 않는다. 4xx 응답(요청 오류)은 웹 API 장애로 세지 않는다.
+ */
+@Slf4j
+@Component
+public class InvoiceApiGuard implements MeterBinder {
+
+    private final CircuitBreaker circuitBreaker; // 비활성화 시 null
+    private final AdaptiveLimiter limiter; // 비활성화 시 null
+    private final long maxWaitNanos;
+
+    public InvoiceApiGuard(InvoiceApiProperties invoiceApiProperties) {
+        InvoiceApiProperties.CircuitBreaker breaker = invoiceApiProperties.getCircuitBreaker();
+        this.circuitBreaker = !breaker.isEnabled() ? null : new CircuitBreaker(breaker.getWindowSize(),
+                breaker.getMinimumCalls(), breaker.getFailureRateThreshold(), breaker.getSlowCallDuration(),
+                breaker.getSlowCallRateThreshold(), breaker.getOpenDuration(), breaker.getHalfOpenCalls(),
+                System::nanoTime, (from, to) -> log.warn("웹 API 서킷 브레이커 : {} -> {}", from, to));
+        InvoiceApiProperties.Limiter limit = invoiceApiProperties.getLimiter();
+        this.limiter = !limit.isEnabled() ? null : new AdaptiveLimiter(limit.getInitialLimit(), limit.getMinLimit(),
+                limit.getMaxLimit(), limit.getBackoffRatio(), limit.getLatencyTolerance());
+        this.maxWaitNanos = limit.getMaxWait() == null ? 0L : limit.getMaxWait().toNanos();
+    }
+
+    /**
+     * 웹 API 호출 1건 실행 (1행 요청)
+     *
+     * @see #call(int, Supplier)
+     */
+    public <T> T call(Supplier<T> request) {
+        return call(1, request);
+    }
+
+    /**
+     * 웹 API 호출 1건 실행
+     *
+     * @param rows 요청 행 수, 동시 호출 상한은 같은 행 수 구간의 응답 시간끼리 비교한다
+     * @throws BusinessExceptionHandler WEB_API_CIRCUIT_OPEN, WEB_API_OVERLOADED 또는 호출 중 발생한 오류
+     */
+    public <T> T call(int rows, Supplier<T> request) {
+        long permit = circuitBreaker == null ? 0L : circuitBreaker.tryAcquire();
+        if (permit < 0) {
+            throw new BusinessExceptionHandler(WEB_API_CIRCUIT_OPEN);
+        }
+        if (limiter != null && !acquire()) {
+            if (circuitBreaker != null) {
+                circuitBreaker.release(permit);
+            }
+            throw new BusinessExceptionHandler(WEB_API_OVERLOADED);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = request.get();
+            failed = false;
+            return result;
+        } catch (BusinessExceptionHandler e) {
+            failed = !permanent(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (limiter != null) {
+                limiter.release(elapsed, rows, failed);
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(permit, elapsed, failed);
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return limiter.acquire(maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessExceptionHandler(IO_ERROR);
+        }
+    }
+
+    /**
+     * 보호 장치가 거절해 웹 API 를 호출하지 않은 오류인지
+     */
+    public static boolean rejected(BusinessExceptionHandler e) {
+        return e.getErrorCode() == WEB_API_CIRCUIT_OPEN || e.getErrorCode() == WEB_API_OVERLOADED;
+    }
+
+    /**
+     * 다시 보내도 같은 결과가 나오는 오류인지 (4xx 요청 오류), 재전송하지 않는다.
+     */
+    public static boolean permanent(BusinessExceptionHandler e) {
+        return e.getErrorCode() == INVALID_REQUEST || e.getErrorCode() == FORBIDDEN_ERROR
+                || e.getErrorCode() == NOT_FOUND_ERROR;
+    }
+
+    /**
+     * 브레이커가 열려 있어 호출이 바로 거절되는 상태인지 (재전송 주기 건너뛰기용)
+     */
+    public boolean isOpen() {
+        return circuitBreaker != null && circuitBreaker.state() == CircuitBreaker.State.OPEN;
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker == null ? CircuitBreaker.State.CLOSED : circuitBreaker.state();
+    }
+
+    /**
+     * 현재 동시 호출 상한, 비활성화 시 -1
+     */
+    public int limit() {
+        return limiter == null ? -1 : limiter.limit();
+    }
+
+    /**
+     * invoice.api.circuit.state{state}, invoice.api.circuit.not_permitted,
+     * invoice.api.limit, invoice.api.in_flight, invoice.api.limit.rejected
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (circuitBreaker != null) {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("invoice.api.circuit.state", circuitBreaker, b -> b.state() == state ? 1 : 0)
+                        .description("웹 API 서킷 브레이커 상태 (현재 상태만 1)")
+                        .tag("state", state.name().toLowerCase(Locale.ROOT)).register(registry);
+            }
+            FunctionCounter.builder("invoice.api.circuit.not_permitted", circuitBreaker, CircuitBreaker::notPermittedCount)
+                    .description("브레이커가 열려 거절한 호출 수").register(registry);
+        }
+        if (limiter != null) {
+            Gauge.builder("invoice.api.limit", limiter, AdaptiveLimiter::limit)
+                    .description("웹 API 동시 호출 상한").register(registry);
+            Gauge.builder("invoice.api.in_flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("웹 API 호출 중인 건수").register(registry);
+            FunctionCounter.builder("invoice.api.limit.rejected", limiter, AdaptiveLimiter::rejectedCount)
+                    .description("상한에 닿아 거절한 호출 수").register(registry);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package jco.jcosaprfclink.service;
+
+import jco.jcosaprfclink.domain.RfcInbound;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.repository.RfcInboundRepository;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.type.InboundStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RfcInboundService {
+
+    private final RfcInboundRepository rfcInboundRepository;
+    private final TaxinvoiceStateRepository taxinvoiceStateRepository;
+
+    /**
+     * 접수 건과 요청 행을 한 트랜잭션으로 저장
+     */
+    @Transactional
+    public void receive(RfcInbound inbound, List<StateTaxinvoice> stateTaxinvoiceList) {
+        rfcInboundRepository.save(inbound);
+        taxinvoiceStateRepository.upsertAll(stateTaxinvoiceList);
+    }
+
+    @Transactional
+    public void updateStatus(String id, InboundStatus status, String errMsg) {
+        rfcInboundRepository.updateStatus(id, status, errMsg);
+    }
+
+    /**
+     * commit/rollback 전(RECEIVED)인 경우만 삭제
+     *
+     * @return 삭제 여부
+     */
+    @Transactional
+    public boolean deleteReceived(String id) {
+        return rfcInboundRepository.deleteByIdAndStatus(id, InboundStatus.RECEIVED) > 0;
+    }
+
+    /**
+     * before 이전에 접수되어 아직 commit/rollback 을 받지 못한 건
+     */
+    public List<String> findExpiredReceived(LocalDateTime before) {
+        return rfcInboundRepository.findIdsByStatusAndCreatedAtBefore(InboundStatus.RECEIVED, before);
+    }
+
+    public Optional<RfcInbound> find(String id) {
+        return rfcInboundRepository.findById(id);
+    }
+
+    /**
+     * 처리 실패, 실패 횟수를 올린다.
+     */
+    @Transactional
+    public void markFailed(String id, String errMsg) {
+        rfcInboundRepository.markFailed(id, InboundStatus.FAILED, errMsg);
+    }
+
+    /**
+     * 다시 등록할 건: QUEUED, 실패 횟수가 maxAttempts 미만인 FAILED (startup 이면 PROCESSING 포함)
+     */
+    public List<RfcInbound> findRecoverable(boolean startup, int maxAttempts) {
+        EnumSet<InboundStatus> statuses = startup
+                ? EnumSet.of(InboundStatus.QUEUED, InboundStatus.PROCESSING)
+                : EnumSet.of(InboundStatus.QUEUED);
+        return rfcInboundRepository.findRecoverable(statuses, InboundStatus.FAILED, maxAttempts);
+    }
+}
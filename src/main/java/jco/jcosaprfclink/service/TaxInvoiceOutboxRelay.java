@@ -0,0 +1,214 @@
+package jco.jcosaprfclink.service;
+
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import jco.jcosaprfclink.dto.TaxInvoiceStateResult;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.utils.ChunkFanOut;
+import jco.jcosaprfclink.utils.HttpUtil;
+import jco.jcosaprfclink.utils.JsonStreamUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jco.jcosaprfclink.type.ErrorCode.WEB_API_NO_RESULT;
+
+/**
+ * 재전송 대기열을 주기적으로 비운다. SAP 워커 스레드와 별도 스레드에서 동작한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaxInvoiceOutboxRelay {
+    private final OutboxProperties outboxProperties;
+    private final TaxInvoiceOutboxService taxInvoiceOutboxService;
+    private final TaxinvoiceStateRepository taxinvoiceStateRepository;
+    private final InvoiceApiGuard invoiceApiGuard;
+
+    @Value("${api.dev_url}")
+    private String apiUrl;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+        AtomicInteger threadNo = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(outboxProperties.getMaxConcurrency(), r -> {
+            Thread thread = new Thread(r, "outbox-sender-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = outboxProperties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 진행 중인 drain 은 인터럽트되어도 전송 중인 chunk 를 모두 기록한 뒤 끝난다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+            senders.shutdown();
+        }
+    }
+
+    /**
+     * 전송 시각이 된 건을 점유해 chunk 단위로 동시에 전송, 점유 건수가 가득 차면 바로 다음 묶음을 처리한다.
+     * chunk 마다 따로 전송/기록하므로 한 chunk 의 실패가 다른 chunk 전송을 막지 않는다. (record 는 예외를 던지지 않는다)
+     * ChunkFanOut 은 보낸 chunk 가 모두 끝나야 반환하므로, 인터럽트되어도 전송 중인 chunk 결과는 기록된다.
+     */
+    void drain() {
+        try {
+            List<TaxInvoiceOutbox> claimed;
+            do {
+                if (invoiceApiGuard.isOpen()) { // 재시도 횟수를 쓰지 않도록 점유하지 않고 다음 주기로 넘긴다
+                    return;
+                }
+                claimed = taxInvoiceOutboxService.claim();
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                log.info("웹 API 재전송 : {}건", claimed.size());
+                List<List<TaxInvoiceOutbox>> chunks = new ArrayList<>();
+                int chunkSize = outboxProperties.getChunkSize();
+                for (int from = 0; from < claimed.size(); from += chunkSize) {
+                    chunks.add(claimed.subList(from, Math.min(from + chunkSize, claimed.size())));
+                }
+                // 전송은 sender 스레드, 결과 기록은 이 스레드에서 도착 순서대로
+                AtomicBoolean rejected = new AtomicBoolean();
+                ChunkFanOut.run(senders, chunks.size(), outboxProperties.getMaxConcurrency(), chunks::get, this::send,
+                        (chunk, sent, failure) -> {
+                            if (!record(chunks.get(chunk), sent, failure)) {
+                                rejected.set(true);
+                            }
+                        });
+                if (rejected.get()) { // 웹 API 가 받을 여유가 없으면 다음 주기로
+                    return;
+                }
+            } while (claimed.size() >= outboxProperties.getBatchSize());
+        } catch (RuntimeException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                log.error("웹 API 재전송 처리 오류", e);
+            }
+        }
+    }
+
+    /**
+     * chunk 전송, 응답을 문서관리번호별 결과로 분류만 하고 저장은 record 에서 한다.
+     */
+    private Sent send(List<TaxInvoiceOutbox> chunk) {
+        Map<String, TaxInvoiceOutbox> pending = new LinkedHashMap<>();
+        chunk.forEach(outbox -> pending.put(outbox.getMgrdocNo(), outbox));
+        Sent sent = new Sent(new ArrayList<>(chunk.size()), new ArrayList<>(), new HashMap<>(), new HashMap<>(),
+                pending.keySet());
+        invoiceApiGuard.call(chunk.size(), () -> HttpUtil.sendHttpRequest(apiUrl + "/resultTaxInvoice", HttpMethod.POST,
+                out -> writeChunk(chunk, out), null,
+                in -> JsonStreamUtil.readArray(TaxInvoiceStateService.RESULT_READER, in, (TaxInvoiceStateResult result) -> {
+                    String mgrdocNo = result.getMgrdocNo();
+                    if (pending.remove(mgrdocNo) == null) {
+                        return;
+                    }
+                    String errCode = result.getErrCode();
+                    if (TaxInvoiceStateService.SUCCESS_CODE.equals(errCode)) {
+                        sent.done().add(mgrdocNo);
+                    } else {
+                        sent.failedByErrCode().computeIfAbsent(errCode, k -> new ArrayList<>()).add(mgrdocNo);
+                        sent.errMsgByErrCode().putIfAbsent(errCode, result.getErrMsg());
+                    }
+                    sent.results().add(TaxInvoiceStateService.toResultEntity(result));
+                })));
+        return sent;
+    }
+
+    /**
+     * chunk 전송 결과 기록, 저장에 실패한 chunk 는 점유 만료 후 다시 전송된다.
+     *
+     * @return 보호 장치(서킷 브레이커, 동시 호출 상한)가 거절해 호출하지 않았으면 false
+     */
+    private boolean record(List<TaxInvoiceOutbox> chunk, Sent sent, RuntimeException failure) {
+        List<String> requested = chunk.stream().map(TaxInvoiceOutbox::getMgrdocNo).toList();
+        try {
+            if (failure instanceof BusinessExceptionHandler e && InvoiceApiGuard.rejected(e)) { // 시도 횟수에 넣지 않는다
+                taxInvoiceOutboxService.release(requested);
+                return false;
+            }
+            if (failure instanceof BusinessExceptionHandler e) { // 응답을 읽다 실패하면 chunk 전체를 실패 처리
+                if (InvoiceApiGuard.permanent(e)) {
+                    taxInvoiceOutboxService.markDead(requested, e.getErrorCode().getCode(), e.getErrorMassage());
+                } else {
+                    taxInvoiceOutboxService.markFailed(requested, e.getErrorCode().getCode(), e.getErrorMassage());
+                }
+                return true;
+            }
+            if (failure != null) {
+                taxInvoiceOutboxService.markFailed(requested, "ERROR", failure.getMessage());
+                return true;
+            }
+            taxinvoiceStateRepository.upsertAll(sent.results());
+            if (!sent.done().isEmpty()) {
+                taxInvoiceOutboxService.markDone(sent.done());
+            }
+            sent.failedByErrCode().forEach((errCode, mgrdocNos) -> // 업무 오류는 다시 보내도 같은 결과
+                    taxInvoiceOutboxService.markDead(mgrdocNos, errCode, sent.errMsgByErrCode().get(errCode)));
+            if (!sent.missing().isEmpty()) {
+                taxInvoiceOutboxService.markFailed(sent.missing(), WEB_API_NO_RESULT.getCode(),
+                        WEB_API_NO_RESULT.getDescription());
+            }
+        } catch (RuntimeException e) {
+            log.error("웹 API 재전송 결과 저장 실패, 점유 만료 후 다시 전송 : {}건", requested.size(), e);
+        }
+        return true;
+    }
+
+    /**
+     * 저장된 행(JSON 객체)을 이어 붙여 요청 배열로 출력
+     */
+    private static void writeChunk(List<TaxInvoiceOutbox> chunk, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(chunk.get(i).getPayload().getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(']');
+    }
+
+    private record Sent(List<StateTaxinvoice> results, List<String> done, Map<String, List<String>> failedByErrCode,
+                        Map<String, String> errMsgByErrCode, Collection<String> missing) {
+    }
+}
@@ -0,0 +1,186 @@
+package jco.jcosaprfclink.service;
+
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import jco.jcosaprfclink.repository.TaxInvoiceOutboxRepository;
+import jco.jcosaprfclink.type.ErrorCode;
+import jco.jcosaprfclink.type.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 웹 API 재전송 대기열 (s_taxinvoice_outbox)
+ * 문서관리번호당 한 건만 유지한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaxInvoiceOutboxService {
+
+    private final TaxInvoiceOutboxRepository taxInvoiceOutboxRepository;
+    private final OutboxProperties outboxProperties;
+
+    /**
+     * 전송 실패 행 등록, 이미 대기 중인 문서는 요청 내용만 최신으로 바꾼다. (문서관리번호 기준 upsert)
+     *
+     * @param payloads 문서관리번호 -> 요청 행(JSON 객체)
+     */
+    @Transactional
+    public void enqueue(Map<String, String> payloads, String errCode, String errMsg) {
+        LocalDateTime now = LocalDateTime.now();
+        String lastErrCode = ErrorCode.bounded(errCode);
+        String lastErrMsg = ErrorCode.boundedMessage(errMsg);
+        List<TaxInvoiceOutbox> outboxList = new ArrayList<>(payloads.size());
+        payloads.forEach((mgrdocNo, payload) -> outboxList.add(TaxInvoiceOutbox.builder()
+                .mgrdocNo(mgrdocNo)
+                .payload(payload)
+                .nextAttemptAt(now.plus(backoff(1)))
+                .lastErrCode(lastErrCode)
+                .lastErrMsg(lastErrMsg)
+                .build()));
+        taxInvoiceOutboxRepository.enqueueAll(outboxList);
+        log.info("웹 API 재전송 대기 등록 : {}건 ({})", outboxList.size(), lastErrCode);
+    }
+
+    /**
+     * 전송할 건 점유, 점유 시간 동안 다른 인스턴스/주기에서 가져가지 않는다.
+     */
+    @Transactional
+    public List<TaxInvoiceOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaxInvoiceOutbox> due = taxInvoiceOutboxRepository.findDueForUpdate(now, outboxProperties.getBatchSize());
+        LocalDateTime leaseUntil = now.plus(outboxProperties.getLeaseTimeout());
+        for (TaxInvoiceOutbox outbox : due) {
+            outbox.setStatus(OutboxStatus.IN_FLIGHT);
+            outbox.setAttempts(outbox.getAttempts() + 1);
+            outbox.setNextAttemptAt(leaseUntil);
+        }
+        return taxInvoiceOutboxRepository.saveAll(due);
+    }
+
+    @Transactional
+    public void markDone(Collection<String> mgrdocNos) {
+        List<TaxInvoiceOutbox> outboxList = taxInvoiceOutboxRepository.findAllById(mgrdocNos);
+        outboxList.forEach(outbox -> {
+            outbox.setStatus(OutboxStatus.DONE);
+            outbox.setLastErrCode(null);
+            outbox.setLastErrMsg(null);
+        });
+        taxInvoiceOutboxRepository.saveAll(outboxList);
+    }
+
+    /**
+     * 웹 API 를 호출하지 않은 건(서킷 열림, 동시 호출 한도 초과) 점유 해제, 시도 횟수에서 뺀다.
+     */
+    @Transactional
+    public void release(Collection<String> mgrdocNos) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaxInvoiceOutbox> outboxList = taxInvoiceOutboxRepository.findAllById(mgrdocNos);
+        for (TaxInvoiceOutbox outbox : outboxList) {
+            outbox.setStatus(OutboxStatus.PENDING);
+            outbox.setAttempts(Math.max(0, outbox.getAttempts() - 1));
+            outbox.setNextAttemptAt(now);
+        }
+        taxInvoiceOutboxRepository.saveAll(outboxList);
+    }
+
+    /**
+     * 전송 실패 처리, 재시도 한도를 넘으면 DEAD
+     */
+    @Transactional
+    public void markFailed(Collection<String> mgrdocNos, String errCode, String errMsg) {
+        fail(mgrdocNos, errCode, errMsg, false);
+    }
+
+    /**
+     * 다시 보내도 같은 결과인 실패 (4xx, 업무 오류), 재시도 없이 DEAD
+     */
+    @Transactional
+    public void markDead(Collection<String> mgrdocNos, String errCode, String errMsg) {
+        fail(mgrdocNos, errCode, errMsg, true);
+    }
+
+    private void fail(Collection<String> mgrdocNos, String errCode, String errMsg, boolean permanent) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaxInvoiceOutbox> outboxList = taxInvoiceOutboxRepository.findAllById(mgrdocNos);
+        for (TaxInvoiceOutbox outbox : outboxList) {
+            outbox.setLastErrCode(ErrorCode.bounded(errCode));
+            outbox.setLastErrMsg(ErrorCode.boundedMessage(errMsg));
+            if (permanent || outbox.getAttempts() >= outboxProperties.getMaxAttempts()) {
+                outbox.setStatus(OutboxStatus.DEAD);
+                log.warn("웹 API 재전송 한도 초과 : {} ({})", outbox.getMgrdocNo(), errCode);
+            } else {
+                outbox.setStatus(OutboxStatus.PENDING);
+                outbox.setNextAttemptAt(now.plus(backoff(outbox.getAttempts() + 1)));
+            }
+        }
+        taxInvoiceOutboxRepository.saveAll(outboxList);
+    }
+
+    public Page<TaxInvoiceOutbox> findDead(int page, int size) {
+        return taxInvoiceOutboxRepository.findByStatus(OutboxStatus.DEAD,
+                PageRequest.of(page, size, Sort.by("updatedAt").descending()));
+    }
+
+    public Map<OutboxStatus, Long> countByStatus() {
+        Map<OutboxStatus, Long> counts = new EnumMap<>(OutboxStatus.class);
+        for (OutboxStatus status : OutboxStatus.values()) {
+            counts.put(status, taxInvoiceOutboxRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    /**
+     * DEAD 건 재처리, 재시도 횟수를 초기화하고 바로 전송 대상으로 돌린다.
+     *
+     * @return 재처리 대상 여부
+     */
+    @Transactional
+    public boolean replay(String mgrdocNo) {
+        return taxInvoiceOutboxRepository.findById(mgrdocNo)
+                .filter(outbox -> outbox.getStatus() == OutboxStatus.DEAD)
+                .map(outbox -> {
+                    outbox.setStatus(OutboxStatus.PENDING);
+                    outbox.setAttempts(0);
+                    outbox.setNextAttemptAt(LocalDateTime.now());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public int replayAllDead() {
+        return taxInvoiceOutboxRepository.replayAllDead(LocalDateTime.now());
+    }
+
+    /**
+     * n 번째 시도 전 대기 시간, 지수 증가 + 절반 범위 jitter
+     */
+    Duration backoff(int attempt) {
+        return backoff(attempt, outboxProperties.getInitialBackoff(), outboxProperties.getMaxBackoff());
+    }
+
+    static Duration backoff(int attempt, Duration initial, Duration max) {
+        long ceiling = max.toMillis();
+        long delay = initial.toMillis() << Math.min(Math.max(attempt - 1, 0), 30);
+        if (delay <= 0 || delay > ceiling) {
+            delay = ceiling;
+        }
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
@@ -0,0 +1,95 @@
+package jco.jcosaprfclink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.dto.TaxInvoiceStateResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 문서관리번호별 마지막 성공 조회 결과 캐시
+ * 최종 DOC_STATE 는 만료 없이(또는 final-ttl 동안), 그 외 상태는 pending-ttl 동안만 유지한다.
+ * 실패 결과는 캐시하지 않는다.
+ */
+@Component
+public class TaxInvoiceStateCache implements MeterBinder {
+
+    private final Cache<String, TaxInvoiceStateResult> cache; // 비활성화 시 null
+    private final Set<String> finalStates;
+    private final long finalTtlNanos;
+    private final long pendingTtlNanos;
+
+    public TaxInvoiceStateCache(InvoiceApiProperties invoiceApiProperties) {
+        InvoiceApiProperties.Cache properties = invoiceApiProperties.getCache();
+        this.finalStates = Set.copyOf(properties.getFinalStates());
+        this.finalTtlNanos = properties.getFinalTtl() == null ? Long.MAX_VALUE : properties.getFinalTtl().toNanos();
+        this.pendingTtlNanos = properties.getPendingTtl() == null ? 0L : properties.getPendingTtl().toNanos();
+        this.cache = !properties.isEnabled() ? null : Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, TaxInvoiceStateResult>() {
+                    @Override
+                    public long expireAfterCreate(String key, TaxInvoiceStateResult value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TaxInvoiceStateResult value, long currentTime,
+                                                  long currentDuration) {
+                        return ttlNanos(value); // 상태가 바뀌면 만료 시간도 새 상태 기준
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TaxInvoiceStateResult value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return 캐시된 결과, 없으면 null
+     */
+    public TaxInvoiceStateResult get(String mgrdocNo) {
+        return cache == null || mgrdocNo == null ? null : cache.getIfPresent(mgrdocNo);
+    }
+
+    /**
+     * 성공 결과만 저장, 실패 결과는 이전 값을 지운다.
+     */
+    public void put(TaxInvoiceStateResult result) {
+        if (cache == null || result.getMgrdocNo() == null) {
+            return;
+        }
+        if (!TaxInvoiceStateService.SUCCESS_CODE.equals(result.getErrCode()) || ttlNanos(result) <= 0) {
+            cache.invalidate(result.getMgrdocNo());
+            return;
+        }
+        cache.put(result.getMgrdocNo(), result);
+    }
+
+    public long size() {
+        return cache == null ? 0L : cache.estimatedSize();
+    }
+
+    private long ttlNanos(TaxInvoiceStateResult result) {
+        return result.getDocState() != null && finalStates.contains(result.getDocState()) ? finalTtlNanos : pendingTtlNanos;
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.size, cache.evictions (cache=invoice.state)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "invoice.state");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package jco.jcosaprfclink.service;
+
+import com.sap.conn.jco.AbapException;
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import com.sap.conn.jco.server.JCoServerContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jco.jcosaprfclink.config.saprfc.RfcAsyncProperties;
+import jco.jcosaprfclink.domain.RfcInbound;
+import jco.jcosaprfclink.dto.StateInvoiceSap;
+import jco.jcosaprfclink.type.ErrorCode;
+import jco.jcosaprfclink.type.InboundStatus;
+import jco.jcosaprfclink.utils.JCoJsonSerializer;
+import jco.jcosaprfclink.utils.VirtualThreads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jco.jcosaprfclink.type.ErrorCode.RFC_QUEUE_FULL;
+
+/**
+ * ZFI_TAXINV_STATUS_TO_WEB 비동기 처리
+ * JCo 워커는 요청을 s_rfc_inbound 에 저장하고 바로 응답하며,
+ * 웹 API 호출과 결과 저장은 별도 워커 스레드에서 처리한다.
+ * rfc.async.virtual-threads=true (Java 21 이상) 이면 접수 건마다 가상 스레드를 쓰고, 동시 처리 수는 접수 상한으로만 제한된다.
+ * 접수 슬롯은 건(id)마다 한번만 잡고 한번만 돌려준다. (held)
+ * 슬롯이 없어 바로 처리하지 못한 QUEUED 건과 재시도 횟수가 남은 FAILED 건은 retry-interval 마다 다시 등록한다.
+ * commit/rollback 을 받지 못하고 received-lease 가 지난 RECEIVED 건은 같은 주기에 버리고 슬롯을 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaxInvoiceStatePipeline {
+    private static final String INVOICE_TABLE = "T_IF_ZTAXT020";
+
+    private final RfcAsyncProperties rfcAsyncProperties;
+    private final RfcInboundService rfcInboundService;
+    private final TaxInvoiceStateService taxInvoiceStateService;
+    private final StateInvoiceSap stateInvoiceSap;
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService sweeper;
+    private Semaphore slots; // 대기 + 처리 중 건수 상한
+    private final Set<String> held = ConcurrentHashMap.newKeySet(); // 슬롯을 잡고 있는 접수 건
+    private int capacity;
+    private final AtomicInteger active = new AtomicInteger(); // 웹 API 호출/결과 저장 중인 건수
+    private Counter acceptedCounter;
+    private Counter rejectedCounter;
+    private Counter duplicatedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!rfcAsyncProperties.isEnabled()) {
+            return;
+        }
+        int workers = rfcAsyncProperties.getWorkerThreads();
+        boolean virtual = rfcAsyncProperties.isVirtualThreads() && VirtualThreads.isSupported();
+        if (rfcAsyncProperties.isVirtualThreads() && !virtual) {
+            log.warn("가상 스레드를 지원하지 않는 Java 버전({}), 고정 워커 스레드로 처리합니다.", Runtime.version().feature());
+        }
+        if (virtual) {
+            executor = VirtualThreads.newThreadPerTaskExecutor("rfc-async-vt-");
+        } else {
+            AtomicInteger threadNo = new AtomicInteger();
+            executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    r -> new Thread(r, "rfc-async-" + threadNo.incrementAndGet()));
+        }
+        capacity = rfcAsyncProperties.getQueueCapacity() + workers;
+        slots = new Semaphore(capacity);
+
+        Gauge.builder("rfc.async.queue.depth", this, p -> p.capacity - p.slots.availablePermits() - p.active.get())
+                .description("처리 대기 중인 RFC 호출 수").register(meterRegistry);
+        Gauge.builder("rfc.async.active", active, AtomicInteger::get)
+                .description("웹 API 호출 중인 건수").register(meterRegistry);
+        Gauge.builder("rfc.async.slots.available", slots, Semaphore::availablePermits)
+                .description("추가로 접수 가능한 RFC 호출 수").register(meterRegistry);
+        acceptedCounter = meterRegistry.counter("rfc.async.calls", "result", "accepted");
+        rejectedCounter = meterRegistry.counter("rfc.async.calls", "result", "rejected");
+        duplicatedCounter = meterRegistry.counter("rfc.async.calls", "result", "duplicated");
+        failedCounter = meterRegistry.counter("rfc.async.calls", "result", "failed");
+        log.info("RFC 비동기 처리 사용 (workers={}, queue={}, backpressure={})",
+                virtual ? "virtual" : workers, rfcAsyncProperties.getQueueCapacity(), rfcAsyncProperties.getBackpressure());
+    }
+
+    /**
+     * 재기동 전 처리하지 못한 건(처리 중이던 건 포함) 다시 등록하고, 이후 주기적으로 미등록 건을 등록한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (executor == null) {
+            return;
+        }
+        resubmit(true);
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rfc-async-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = rfcAsyncProperties.getRetryInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(() -> {
+            expireReceived();
+            resubmit(false);
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * received-lease 가 지나도록 commit/rollback 이 오지 않은 tRFC 접수 건을 버린다. (SAP 재전송 시 다시 접수)
+     */
+    void expireReceived() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(rfcAsyncProperties.getReceivedLease());
+            for (String tid : rfcInboundService.findExpiredReceived(before)) {
+                if (rfcInboundService.deleteReceived(tid)) {
+                    releaseSlot(tid);
+                    log.warn("commit/rollback 없이 만료된 TID 삭제 : {}", tid);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("만료 접수 건 정리 오류", e);
+        }
+    }
+
+    /**
+     * 슬롯을 잡지 못한 QUEUED 건과 재시도 가능한 FAILED 건 등록, 슬롯이 모자라면 남은 건은 다음 주기에 등록한다.
+     *
+     * @param startup 재기동 직후면 PROCESSING 건도 포함 (이전 프로세스에서 중단된 건)
+     */
+    void resubmit(boolean startup) {
+        try {
+            int skipped = 0;
+            for (RfcInbound inbound : rfcInboundService.findRecoverable(startup, rfcAsyncProperties.getMaxAttempts())) {
+                String id = inbound.getId();
+                if (held.contains(id)) {
+                    continue;
+                }
+                if (skipped > 0 || !slots.tryAcquire()) {
+                    skipped++;
+                    continue;
+                }
+                if (!held.add(id)) { // 그 사이 commit 이 등록한 건
+                    slots.release();
+                    continue;
+                }
+                if (inbound.getStatus() != InboundStatus.QUEUED) {
+                    rfcInboundService.updateStatus(id, InboundStatus.QUEUED, inbound.getErrMsg());
+                }
+                log.info("미처리 건 재등록 : {} ({}, 실패 {}회)", id, inbound.getStatus(), inbound.getAttempts());
+                executor.execute(() -> process(id));
+            }
+            if (skipped > 0) {
+                log.warn("대기열 부족으로 미처리 {}건은 다음 주기에 등록", skipped);
+            }
+        } catch (RuntimeException e) {
+            log.error("미처리 건 재등록 오류", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * JCo 워커 스레드에서 호출, 요청을 저장하고 바로 반환한다.
+     * tRFC 호출은 SAP commit 이후 처리 대기열에 등록된다.
+     */
+    public void accept(JCoServerContext jCoServerContext, JCoFunction function) throws AbapException {
+        String tid = jCoServerContext.isInTransaction() ? jCoServerContext.getTID() : null;
+        if (tid != null && rfcInboundService.find(tid).isPresent()) {
+            duplicatedCounter.increment();
+            log.info("중복 수신 TID 무시 : {}", tid);
+            return;
+        }
+        if (!admit()) { // CALLER_RUNS 는 슬롯 없이 바로 처리하고 저장하지 않는다
+            if (rfcAsyncProperties.getBackpressure() == RfcAsyncProperties.Backpressure.CALLER_RUNS) {
+                taxInvoiceStateService.taxinvoiceState(function);
+                return;
+            }
+            rejectedCounter.increment();
+            throw new AbapException("SYSTEM_BUSY", RFC_QUEUE_FULL.getDescription());
+        }
+
+        String id = tid != null ? tid : UUID.randomUUID().toString();
+        held.add(id);
+        try {
+            JCoTable jCoTable = function.getTableParameterList().getTable(INVOICE_TABLE);
+            RfcInbound inbound = RfcInbound.builder()
+                    .id(id)
+                    .functionName(function.getName())
+                    .payload(toPayload(jCoTable))
+                    .rowCount(jCoTable.getNumRows())
+                    .status(tid != null ? InboundStatus.RECEIVED : InboundStatus.QUEUED)
+                    .build();
+            rfcInboundService.receive(inbound, stateInvoiceSap.toEntityList(jCoTable));
+            markAccepted(jCoTable);
+        } catch (RuntimeException e) {
+            releaseSlot(id);
+            throw e;
+        }
+        acceptedCounter.increment();
+        if (tid == null) {
+            executor.execute(() -> process(id));
+        }
+    }
+
+    /**
+     * tRFC 실행 여부 판단, 이미 commit 된 TID 는 다시 실행하지 않는다.
+     */
+    public boolean checkTid(String tid) {
+        Optional<RfcInbound> inbound = rfcInboundService.find(tid);
+        if (inbound.isEmpty()) {
+            return true;
+        }
+        if (inbound.get().getStatus() == InboundStatus.RECEIVED) {
+            // commit 되지 않은 이전 수신분은 버리고 다시 실행, 이전 수신분이 잡은 슬롯도 돌려준다
+            if (rfcInboundService.deleteReceived(tid)) {
+                releaseSlot(tid);
+            }
+            return true;
+        }
+        duplicatedCounter.increment();
+        log.info("이미 처리된 TID : {}", tid);
+        return false;
+    }
+
+    /**
+     * SAP commit: 접수(RECEIVED) 상태인 건만 처리 대기열에 등록한다.
+     * 중복 TID 나 CALLER_RUNS 로 바로 처리해 저장하지 않은 건은 아무것도 하지 않는다.
+     */
+    public void commit(String tid) {
+        Optional<RfcInbound> inbound = rfcInboundService.find(tid);
+        if (inbound.isEmpty() || inbound.get().getStatus() != InboundStatus.RECEIVED) {
+            return;
+        }
+        rfcInboundService.updateStatus(tid, InboundStatus.QUEUED, null);
+        if (!held.contains(tid)) { // 재기동 전에 접수된 건, 슬롯이 없으면 다음 주기에 등록
+            if (!slots.tryAcquire()) {
+                return;
+            }
+            if (!held.add(tid)) { // 그 사이 재등록 주기가 등록한 건
+                slots.release();
+                return;
+            }
+        }
+        executor.execute(() -> process(tid));
+    }
+
+    public void rollback(String tid) {
+        if (rfcInboundService.deleteReceived(tid)) {
+            releaseSlot(tid);
+        }
+    }
+
+    /**
+     * 워커 스레드: 웹 API 호출 후 결과 저장
+     */
+    private void process(String id) {
+        active.incrementAndGet();
+        try {
+            Optional<RfcInbound> inbound = rfcInboundService.find(id);
+            if (inbound.isEmpty() || inbound.get().getStatus() == InboundStatus.DONE) {
+                return;
+            }
+            rfcInboundService.updateStatus(id, InboundStatus.PROCESSING, null);
+            taxInvoiceStateService.taxinvoiceStatePayload(inbound.get().getPayload());
+            rfcInboundService.updateStatus(id, InboundStatus.DONE, null);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("비동기 처리 실패 : {}", id, e);
+            rfcInboundService.markFailed(id, ErrorCode.boundedMessage(e.getMessage()));
+        } finally {
+            active.decrementAndGet();
+            releaseSlot(id);
+        }
+    }
+
+    /**
+     * 이 건이 잡은 슬롯이 있을 때만 돌려준다.
+     */
+    private void releaseSlot(String id) {
+        if (held.remove(id)) {
+            slots.release();
+        }
+    }
+
+    int availableSlots() {
+        return slots.availablePermits();
+    }
+
+    private boolean admit() {
+        if (slots.tryAcquire()) {
+            return true;
+        }
+        if (rfcAsyncProperties.getBackpressure() != RfcAsyncProperties.Backpressure.BLOCK) {
+            return false;
+        }
+        try {
+            return slots.tryAcquire(rfcAsyncProperties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String toPayload(JCoTable jCoTable) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (jCoTable.getNumRows() + 1));
+        try {
+            JCoJsonSerializer.writeTable(jCoTable, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void markAccepted(JCoTable jCoTable) {
+        for (int i = 0; i < jCoTable.getNumRows(); i++) {
+            jCoTable.setRow(i);
+            jCoTable.setValue("ERR_MSG", "세금계산서 조회 접수");
+        }
+    }
+}
@@ -1,85 +1,539 @@
 package jco.jcosaprfclink.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.sap.conn.jco.JCoFunction;
 import com.sap.conn.jco.JCoTable;
 import jco.jcosaprfclink.config.aop.TimeTrace;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
 import jco.jcosaprfclink.domain.StateTaxinvoice;
 import jco.jcosaprfclink.dto.StateInvoiceSap;
+import jco.jcosaprfclink.dto.TaxInvoiceStateResult;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
 import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.type.ErrorCode;
 import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.utils.ChunkFanOut;
+import jco.jcosaprfclink.utils.CoalescingBatcher;
 import jco.jcosaprfclink.utils.HttpUtil;
-import jco.jcosaprfclink.utils.JsonPaserUtil;
+import jco.jcosaprfclink.utils.JCoJsonSerializer;
+import jco.jcosaprfclink.utils.JsonStreamUtil;
+import jco.jcosaprfclink.utils.RowKeyIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static jco.jcosaprfclink.type.ErrorCode.JACKSON_PROCESS_ERROR;
+import static jco.jcosaprfclink.type.ErrorCode.WEB_API_NO_RESULT;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaxInvoiceStateService {
+    static final String SUCCESS_CODE = "KH_COM_0000";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    static final ObjectReader RESULT_READER = JsonStreamUtil.readerFor(TaxInvoiceStateResult.class);
+
     @Autowired
     StateInvoiceSap stateInvoiceSap;
 
     @Autowired
     TaxinvoiceStateRepository taxinvoiceStateRepository;
 
+    @Autowired
+    TaxInvoiceOutboxService taxInvoiceOutboxService;
+
+    @Autowired
+    OutboxProperties outboxProperties;
+
+    @Autowired
+    InvoiceApiProperties invoiceApiProperties;
+
+    @Autowired
+    TaxInvoiceStateCache taxInvoiceStateCache;
+
+    @Autowired
+    PayloadLogger payloadLogger;
+
+    @Autowired
+    InvoiceApiGuard invoiceApiGuard;
+
     @Value("${api.dev_url}")
     private String apiUrl;
 
+    private ExecutorService apiExecutor; // 웹 API chunk 전송, 호출 간 공유해 호스트 기준 동시 전송 수를 제한
+    private CoalescingBatcher<String, InvoiceLookup, TaxInvoiceStateResult> coalescer; // 동시 호출 간 조회 병합, 비활성화 시 null
+
+    @PostConstruct
+    public void init() {
+        int threads = invoiceApiProperties.getMaxConcurrency();
+        if (threads > 1) {
+            AtomicInteger threadNo = new AtomicInteger();
+            apiExecutor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "invoice-api-" + threadNo.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Duration window = invoiceApiProperties.getCoalesceWindow();
+        if (window != null && !window.isZero() && !window.isNegative()) {
+            int maxBatch = invoiceApiProperties.getChunkSize() > 0 ? invoiceApiProperties.getChunkSize() : Integer.MAX_VALUE;
+            coalescer = new CoalescingBatcher<>("invoice-api", InvoiceLookup::mgrdocNo, TaxInvoiceStateResult::getMgrdocNo,
+                    this::lookupBatch, window, maxBatch, apiExecutor);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        if (apiExecutor != null) {
+            apiExecutor.shutdown();
+        }
+    }
+
     @TimeTrace
-    public void taxinvoiceState(List<Map<String, Object>> taxinvocieStateList, JCoFunction jCofunction) {
-        log.info("Service handleRequest, 'taxinvoiceState'");
-        JSONObject info;
-        JSONArray jsonArray = new JSONArray();
-        for (Map<String, Object> taxinvoiceStateMap : taxinvocieStateList) {
-            info = JsonPaserUtil.getJsonObjectFromMap(taxinvoiceStateMap);
-            jsonArray.add(info);
-        }
-        System.out.println("jsonArray result : " + jsonArray.toJSONString());
-        taxinvoiceStateRepository.saveAllAndFlush(stateInvoiceSap.toEntityList(taxinvocieStateList));
-//        String result = HttpUtil.callConversionApi(jsonArray.toJSONString(), apiUrl + "/resultTaxInvoice");
-        String result = HttpUtil.sendHttpRequest(apiUrl + "/resultTaxInvoice", HttpMethod.POST, jsonArray.toJSONString(), null );
-        JSONArray jsonArrayResult = JsonPaserUtil.getJsonArrayFromString(result);
+    public void taxinvoiceState(JCoFunction jCofunction) {
+        log.debug("Service handleRequest, 'taxinvoiceState'");
         JCoTable jCoTable = jCofunction.getTableParameterList().getTable("T_IF_ZTAXT020");
-        List<StateTaxinvoice> taxinvocieStateResultList = new ArrayList<>();
-        for (int i = 0; i < jsonArrayResult.size(); i++) {
-            JSONObject jsonObject = (JSONObject) jsonArrayResult.get(i);
+        // JCoTable 은 호출 스레드에서만 읽고 쓴다, 다른 스레드는 직렬화된 요청 본문만 전송한다.
+        int[] pending = answerFromCache(jCoTable);
+        int rows = pending.length;
+        int chunkSize = invoiceApiProperties.getChunkSize() > 0 ? invoiceApiProperties.getChunkSize() : Math.max(rows, 1);
+        int chunks = (rows + chunkSize - 1) / chunkSize;
+        log.debug("taxinvoiceState rows : {}, cached : {}, chunk : {} x {}",
+                jCoTable.getNumRows(), jCoTable.getNumRows() - rows, chunks, chunkSize);
+        RowKeyIndex index = chunks > 0 ? RowKeyIndex.of(jCoTable, jCoTable.getRecordMetaData().indexOf("MGR_DOC_NO")) : null;
+        // chunk 별 요청 상태, 결과와 함께 한번에 저장한다 (병합 조회는 묶음 단위로 저장하므로 비어 있음)
+        List<List<StateTaxinvoice>> requestStates = new ArrayList<>(Collections.nCopies(chunks, null));
+        ChunkFanOut.Completion<List<TaxInvoiceStateResult>> complete = (chunk, result, failure) -> completeChunk(
+                jCoTable, index, pending, chunk * chunkSize, Math.min(rows, (chunk + 1) * chunkSize),
+                requestStates.set(chunk, null), result, failure);
+        AtomicReference<BusinessExceptionHandler> sendFailure = new AtomicReference<>();
+        if (coalescer != null) { // 다른 호출과 겹치는 문서는 진행 중인 조회를 함께 받고, 나머지는 짧게 모아 보낸다
+            ChunkFanOut.runAsync(chunks, invoiceApiProperties.getMaxConcurrency(),
+                    chunk -> lookups(jCoTable, pending, chunk * chunkSize, Math.min(rows, (chunk + 1) * chunkSize)),
+                    lookups -> lookupChunk(lookups, sendFailure), complete);
+        } else {
+            ChunkFanOut.run(apiExecutor != null ? apiExecutor : Runnable::run, chunks, invoiceApiProperties.getMaxConcurrency(),
+                    chunk -> {
+                        int from = chunk * chunkSize;
+                        int to = Math.min(rows, from + chunkSize);
+                        requestStates.set(chunk, stateInvoiceSap.toEntityList(jCoTable, pending, from, to));
+                        return new ChunkBody(requestBody(jCoTable, pending, from, to), to - from);
+                    },
+                    body -> sendChunk(body, sendFailure), complete);
+        }
+        payloadLogger.table("taxinvoiceState", jCoTable);
+    }
+
+    /**
+     * 캐시된 결과가 있는 행은 바로 반영하고, 웹 API 로 보낼 행 번호를 돌려준다.
+     */
+    private int[] answerFromCache(JCoTable jCoTable) {
+        int rows = jCoTable.getNumRows();
+        int[] pending = new int[rows];
+        int count = 0;
+        int field = jCoTable.getRecordMetaData().indexOf("MGR_DOC_NO");
+        for (int i = 0; i < rows; i++) {
             jCoTable.setRow(i);
-            if (!jsonObject.get("errCode").equals("KH_COM_0000")) { // 호출 실패
-                log.error("에러 오류 코드 : " + jsonObject.get("errCode"));
-                jCoTable.setValue("RESULT", jsonObject.get("result"));
-                jCoTable.setValue("ERR_CODE", jsonObject.get("errCode"));
-                jCoTable.setValue("ERR_MSG", jsonObject.get("errMsg"));
+            TaxInvoiceStateResult cached = taxInvoiceStateCache.get(jCoTable.getString(field));
+            if (cached == null) {
+                pending[count++] = i;
             } else {
-                jCoTable.setValue("RESULT", jsonObject.get("result"));
-                jCoTable.setValue("SEND_DD", jsonObject.get("issueDd"));
-                jCoTable.setValue("APPR_NO", jsonObject.get("apprNo"));
-                jCoTable.setValue("ERR_CODE", jsonObject.get("errCode"));
-                jCoTable.setValue("ERR_MSG", "세금계산서 조회 완료");
-
-                jCoTable.setValue("DOC_STATE", jsonObject.get("docState"));
-                jCoTable.setValue("DOC_STATE_NM", jsonObject.get("docStateNm"));
-            }
-            taxinvocieStateResultList.add(StateTaxinvoice.builder()
-                    .channel(jsonObject.get("channel").toString())
-                    .corpBizNo(jsonObject.get("corpBizNo").toString())
-                    .mgrdocNo(jsonObject.get("mgrdocNo").toString())
-                    .userId(jsonObject.get("userId").toString())
-                    .result(jsonObject.get("result").toString())
-                    .errCode(jsonObject.get("errCode").toString())
-                    .errMsg(jsonObject.get("errMsg").toString())
-                    .build());
-            taxinvoiceStateRepository.saveAllAndFlush(taxinvocieStateResultList);
-        }
-        log.info(jCoTable.toString());
-        log.info("Service handleRequest, 'taxinvoiceState'");
+                applyResult(jCoTable, i, cached);
+            }
+        }
+        return count == rows ? pending : Arrays.copyOf(pending, count);
+    }
+
+    /**
+     * rows[from, to) 요청 본문 생성
+     */
+    private byte[] requestBody(JCoTable jCoTable, int[] rows, int from, int to) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (to - from + 1));
+        try {
+            JCoJsonSerializer.writeRows(jCoTable, rows, from, to, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 병합 조회 요청, rows[from, to) 행의 요청 상태와 행 JSON
+     */
+    private List<InvoiceLookup> lookups(JCoTable jCoTable, int[] rows, int from, int to) {
+        List<StateTaxinvoice> states = stateInvoiceSap.toEntityList(jCoTable, rows, from, to);
+        byte[][] json = JCoJsonSerializer.rowsToJson(jCoTable, rows, from, to);
+        List<InvoiceLookup> lookups = new ArrayList<>(to - from);
+        for (int i = 0; i < to - from; i++) {
+            lookups.add(new InvoiceLookup(states.get(i).getMgrdocNo(), states.get(i), json[i]));
+        }
+        return lookups;
+    }
+
+    /**
+     * 병합된 조회 묶음 1건: 웹 API 호출 후 요청 상태와 결과를 묶음 단위로 한번에 저장한다. (apiExecutor 스레드)
+     */
+    private List<TaxInvoiceStateResult> lookupBatch(List<InvoiceLookup> batch) {
+        List<StateTaxinvoice> states = new ArrayList<>(batch.size());
+        Set<String> requested = new HashSet<>((int) (batch.size() / 0.75f) + 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * (batch.size() + 1));
+        out.write('[');
+        for (InvoiceLookup lookup : batch) {
+            if (!states.isEmpty()) {
+                out.write(',');
+            }
+            out.writeBytes(lookup.row());
+            states.add(lookup.state());
+            requested.add(lookup.mgrdocNo());
+        }
+        out.write(']');
+        byte[] body = out.toByteArray();
+        payloadLogger.json("resultTaxInvoice", body);
+        List<TaxInvoiceStateResult> results;
+        try {
+            results = invoiceApiGuard.call(batch.size(), () -> HttpUtil.sendHttpRequest(apiUrl + "/resultTaxInvoice", HttpMethod.POST,
+                    o -> o.write(body), null, TaxInvoiceStateService::readResults));
+        } catch (RuntimeException e) {
+            taxinvoiceStateRepository.upsertAll(states); // 요청 기록은 남긴다
+            throw e;
+        }
+        for (TaxInvoiceStateResult result : results) {
+            if (requested.contains(result.getMgrdocNo())) {
+                states.add(toResultEntity(result));
+            }
+        }
+        taxinvoiceStateRepository.upsertAll(states);
+        return results;
+    }
+
+    /**
+     * 병합 조회, 앞서 실패한 chunk 가 있으면 조회하지 않고 같은 원인으로 실패시킨다.
+     */
+    private CompletableFuture<List<TaxInvoiceStateResult>> lookupChunk(List<InvoiceLookup> lookups,
+                                                                       AtomicReference<BusinessExceptionHandler> sendFailure) {
+        BusinessExceptionHandler failed = sendFailure.get();
+        if (failed != null) {
+            return CompletableFuture.failedFuture(failed);
+        }
+        return coalescer.lookup(lookups).whenComplete((results, t) -> {
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            if (cause instanceof BusinessExceptionHandler e) {
+                sendFailure.compareAndSet(null, e);
+            }
+        });
+    }
+
+    /**
+     * 병합 조회 단위, row 는 요청 행 JSON 객체 (UTF-8)
+     */
+    private record InvoiceLookup(String mgrdocNo, StateTaxinvoice state, byte[] row) {
+    }
+
+    /**
+     * chunk 요청 본문 (JSON 배열, UTF-8) 과 행 수
+     */
+    private record ChunkBody(byte[] json, int rows) {
+    }
+
+    /**
+     * 웹 API 전송, 앞서 전송에 실패한 chunk 가 있으면 호출하지 않고 같은 원인으로 실패시킨다.
+     */
+    private List<TaxInvoiceStateResult> sendChunk(ChunkBody body, AtomicReference<BusinessExceptionHandler> sendFailure) {
+        BusinessExceptionHandler failed = sendFailure.get();
+        if (failed != null) {
+            throw failed;
+        }
+        payloadLogger.json("resultTaxInvoice", body.json());
+        try {
+            return invoiceApiGuard.call(body.rows(), () -> HttpUtil.sendHttpRequest(apiUrl + "/resultTaxInvoice",
+                    HttpMethod.POST, out -> out.write(body.json()), null, TaxInvoiceStateService::readResults));
+        } catch (BusinessExceptionHandler e) {
+            sendFailure.compareAndSet(null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * rows[from, to) 전송 결과를 문서관리번호가 같은 행에 반영하고, 요청 상태와 결과를 한번에 저장
+     * 응답 순서나 건수에 의존하지 않으며, 결과가 없는 행은 해당 건만 재전송 대기열로 보낸다.
+     *
+     * @param requestStates 저장할 요청 상태, 이미 저장된 경우 null
+     */
+    private void completeChunk(JCoTable jCoTable, RowKeyIndex index, int[] rows, int from, int to,
+                               List<StateTaxinvoice> requestStates, List<TaxInvoiceStateResult> results,
+                               RuntimeException failure) {
+        if (failure != null) {
+            if (requestStates != null) {
+                taxinvoiceStateRepository.upsertAll(requestStates);
+            }
+            if (failure instanceof BusinessExceptionHandler e) {
+                if (outboxProperties.isEnabled()) {
+                    if (InvoiceApiGuard.permanent(e)) { // 다시 보내도 같은 결과, 오류 코드로 바로 응답
+                        markRows(jCoTable, rows, from, to, e);
+                    } else {
+                        enqueueRows(jCoTable, rows, from, to, e);
+                    }
+                    return;
+                }
+                if (InvoiceApiGuard.rejected(e)) { // 웹 API 를 호출하지 않은 건, 오류 코드로 바로 응답
+                    markRows(jCoTable, rows, from, to, e);
+                    return;
+                }
+            }
+            throw failure;
+        }
+        BitSet answered = new BitSet(to - from);
+        List<StateTaxinvoice> taxinvocieStateResultList = new ArrayList<>(results.size());
+        Set<String> applied = new HashSet<>((int) (results.size() / 0.75f) + 1);
+        int unexpected = 0;
+        for (TaxInvoiceStateResult result : results) {
+            if (applied.contains(result.getMgrdocNo())) { // 같은 문서의 반복 결과, 첫 결과를 이미 모든 행에 반영
+                continue;
+            }
+            boolean matched = false;
+            for (int row = index.first(result.getMgrdocNo()); row >= 0 && row <= rows[to - 1]; row = index.next(row)) {
+                int pos = Arrays.binarySearch(rows, from, to, row);
+                if (pos < 0 || answered.get(pos - from)) {
+                    continue;
+                }
+                answered.set(pos - from);
+                matched = true;
+                applyResult(jCoTable, row, result);
+            }
+            if (!matched) {
+                unexpected++;
+                log.warn("요청에 없는 웹 API 결과 : {}", result.getMgrdocNo());
+                continue;
+            }
+            applied.add(result.getMgrdocNo());
+            taxInvoiceStateCache.put(result);
+            taxinvocieStateResultList.add(toResultEntity(result));
+        }
+        if (requestStates != null) { // 같은 문서는 결과가 요청 값을 덮는다
+            requestStates.addAll(taxinvocieStateResultList);
+            taxinvoiceStateRepository.upsertAll(requestStates);
+        }
+        int missing = (to - from) - answered.cardinality();
+        if (missing > 0 || unexpected > 0) {
+            log.warn("웹 API 결과 불일치 [{}, {}) : 누락 {}건, 요청 외 {}건", from, to, missing, unexpected);
+        }
+        if (missing > 0 && outboxProperties.isEnabled()) { // 업무 오류 결과는 재전송하지 않는다
+            int[] missingRows = new int[missing];
+            for (int i = answered.nextClearBit(0), n = 0; i < to - from; i = answered.nextClearBit(i + 1)) {
+                missingRows[n++] = rows[from + i];
+            }
+            taxInvoiceOutboxService.enqueue(markForResend(jCoTable, missingRows, 0, missing, WEB_API_NO_RESULT.getCode(),
+                    WEB_API_NO_RESULT.getDescription()), WEB_API_NO_RESULT.getCode(), WEB_API_NO_RESULT.getDescription());
+        }
+    }
+
+    /**
+     * 결과 1건을 행에 반영, 웹 API 오류 코드/메시지는 기록 가능한 길이로 자른다.
+     */
+    private static void applyResult(JCoTable jCoTable, int row, TaxInvoiceStateResult result) {
+        jCoTable.setRow(row);
+        if (!SUCCESS_CODE.equals(result.getErrCode())) { // 호출 실패
+            log.error("에러 오류 코드 : " + result.getErrCode());
+            jCoTable.setValue("RESULT", result.getResult());
+            jCoTable.setValue("ERR_CODE", ErrorCode.bounded(result.getErrCode()));
+            jCoTable.setValue("ERR_MSG", ErrorCode.boundedMessage(result.getErrMsg()));
+            return;
+        }
+        jCoTable.setValue("RESULT", result.getResult());
+        jCoTable.setValue("SEND_DD", result.getIssueDd());
+        jCoTable.setValue("APPR_NO", result.getApprNo());
+        jCoTable.setValue("ERR_CODE", result.getErrCode());
+        jCoTable.setValue("ERR_MSG", "세금계산서 조회 완료");
+
+        jCoTable.setValue("DOC_STATE", result.getDocState());
+        jCoTable.setValue("DOC_STATE_NM", result.getDocStateNm());
+    }
+
+    /**
+     * rows[from, to) 행을 재전송 대기열에 넣고 SAP 에는 대기 상태로 응답
+     */
+    private void enqueueRows(JCoTable jCoTable, int[] rows, int from, int to, BusinessExceptionHandler e) {
+        taxInvoiceOutboxService.enqueue(markForResend(jCoTable, rows, from, to, e.getErrorCode().getCode(),
+                "웹 API 전송 실패, 재전송 대기"), e.getErrorCode().getCode(), e.getErrorMassage());
+    }
+
+    /**
+     * rows[from, to) 행을 행 JSON 으로 한번에 직렬화하고 오류 코드/메시지를 기록한다.
+     *
+     * @return 문서관리번호 -> 행 JSON (재전송 대기열 저장용)
+     */
+    private static Map<String, String> markForResend(JCoTable jCoTable, int[] rows, int from, int to, String errCode,
+                                                     String errMsg) {
+        byte[][] json = JCoJsonSerializer.rowsToJson(jCoTable, rows, from, to);
+        int field = jCoTable.getRecordMetaData().indexOf("MGR_DOC_NO");
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            jCoTable.setRow(rows[i]);
+            payloads.put(jCoTable.getString(field), new String(json[i - from], StandardCharsets.UTF_8));
+            jCoTable.setValue("ERR_CODE", errCode);
+            jCoTable.setValue("ERR_MSG", errMsg);
+        }
+        return payloads;
+    }
+
+    /**
+     * rows[from, to) 행에 오류 코드 기록
+     */
+    private static void markRows(JCoTable jCoTable, int[] rows, int from, int to, BusinessExceptionHandler e) {
+        for (int i = from; i < to; i++) {
+            jCoTable.setRow(rows[i]);
+            jCoTable.setValue("ERR_CODE", e.getErrorCode().getCode());
+            jCoTable.setValue("ERR_MSG", e.getErrorMassage());
+        }
+    }
+
+    /**
+     * 비동기 처리: 접수 시 저장한 요청 본문을 chunk-size 행씩 나눠 웹 API 호출 후 결과 저장
+     * 재전송할 수 없는 오류(outbox 비활성화, 4xx 등)는 전송 중인 chunk 를 반영한 뒤 던진다.
+     */
+    @TimeTrace("ZFI_TAXINV_STATUS_TO_WEB")
+    public void taxinvoiceStatePayload(String payload) {
+        List<Map.Entry<String, String>> rows = new ArrayList<>(splitPayload(payload).entrySet());
+        int chunkSize = invoiceApiProperties.getChunkSize() > 0 ? invoiceApiProperties.getChunkSize() : Math.max(rows.size(), 1);
+        int chunks = (rows.size() + chunkSize - 1) / chunkSize;
+        // chunk 별 요청 행 (문서관리번호 -> 행 JSON), 결과를 반영하면 비운다
+        List<Map<String, String>> requested = new ArrayList<>(Collections.nCopies(chunks, null));
+        AtomicReference<BusinessExceptionHandler> sendFailure = new AtomicReference<>();
+        ChunkFanOut.run(apiExecutor != null ? apiExecutor : Runnable::run, chunks, invoiceApiProperties.getMaxConcurrency(),
+                chunk -> {
+                    Map<String, String> window = new LinkedHashMap<>();
+                    for (Map.Entry<String, String> row : rows.subList(chunk * chunkSize, Math.min(rows.size(), (chunk + 1) * chunkSize))) {
+                        window.put(row.getKey(), row.getValue());
+                    }
+                    requested.set(chunk, window);
+                    return new ChunkBody(("[" + String.join(",", window.values()) + "]").getBytes(StandardCharsets.UTF_8),
+                            window.size());
+                },
+                body -> sendChunk(body, sendFailure),
+                (chunk, results, failure) -> completePayloadChunk(requested.set(chunk, null), results, failure));
+    }
+
+    /**
+     * 비동기 처리 chunk 1건 결과 저장, 응답에서 빠진 건만 재전송 대기열로 보낸다.
+     */
+    private void completePayloadChunk(Map<String, String> requested, List<TaxInvoiceStateResult> results,
+                                      RuntimeException failure) {
+        if (failure != null) {
+            if (failure instanceof BusinessExceptionHandler e && outboxProperties.isEnabled() && !InvoiceApiGuard.permanent(e)) {
+                taxInvoiceOutboxService.enqueue(requested, e.getErrorCode().getCode(), e.getErrorMassage());
+                return;
+            }
+            throw failure;
+        }
+        List<StateTaxinvoice> taxinvocieStateResultList = new ArrayList<>(results.size());
+        for (TaxInvoiceStateResult result : results) {
+            if (requested.remove(result.getMgrdocNo()) == null) { // 요청 외 또는 같은 문서의 반복 결과, 첫 결과만 반영
+                log.warn("요청에 없는 웹 API 결과 : {}", result.getMgrdocNo());
+                continue;
+            }
+            if (!SUCCESS_CODE.equals(result.getErrCode())) { // 업무 오류, 재전송하지 않는다
+                log.error("에러 오류 코드 : " + result.getErrCode());
+            }
+            taxInvoiceStateCache.put(result);
+            taxinvocieStateResultList.add(toResultEntity(result));
+        }
+        taxinvoiceStateRepository.upsertAll(taxinvocieStateResultList);
+        if (!requested.isEmpty()) {
+            log.warn("웹 API 결과 누락 {}건 : {}", requested.size(), requested.keySet());
+        }
+        if (!requested.isEmpty() && outboxProperties.isEnabled()) { // 응답에서 빠진 건
+            taxInvoiceOutboxService.enqueue(requested, WEB_API_NO_RESULT.getCode(), WEB_API_NO_RESULT.getDescription());
+        }
+    }
+
+    /**
+     * 요청 배열을 문서관리번호별 행(JSON 객체)으로 분리, 행은 원문 그대로 잘라내 숫자 자릿수가 바뀌지 않는다.
+     *
+     * @throws BusinessExceptionHandler JACKSON_PROCESS_ERROR, 객체 배열이 아닌 경우
+     */
+    static Map<String, String> splitPayload(String payload) {
+        Map<String, String> payloads = new LinkedHashMap<>();
+        try (JsonParser parser = OBJECT_MAPPER.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                int start = (int) parser.currentTokenLocation().getCharOffset();
+                String mgrdocNo = "";
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    if ("MGR_DOC_NO".equals(name)) {
+                        mgrdocNo = parser.getValueAsString("");
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                payloads.put(mgrdocNo, payload.substring(start, (int) parser.currentLocation().getCharOffset()));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+            }
+        } catch (IOException e) {
+            throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+        }
+        return payloads;
+    }
+
+    /**
+     * /resultTaxInvoice 응답 본문을 결과 목록으로 읽는다.
+     *
+     * @throws BusinessExceptionHandler JACKSON_PROCESS_ERROR, 응답 형식이 잘못된 경우
+     */
+    static List<TaxInvoiceStateResult> readResults(InputStream in) throws IOException {
+        List<TaxInvoiceStateResult> results = new ArrayList<>();
+        JsonStreamUtil.<TaxInvoiceStateResult>readArray(RESULT_READER, in, results::add);
+        return results;
+    }
+
+    static StateTaxinvoice toResultEntity(TaxInvoiceStateResult result) {
+        return StateTaxinvoice.builder()
+                .channel(result.getChannel())
+                .corpBizNo(result.getCorpBizNo())
+                .mgrdocNo(result.getMgrdocNo())
+                .userId(result.getUserId())
+                .result(result.getResult())
+                .errCode(ErrorCode.bounded(result.getErrCode()))
+                .errMsg(ErrorCode.boundedMessage(result.getErrMsg()))
+                .build();
     }
 }
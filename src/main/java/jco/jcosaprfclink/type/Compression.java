@@ -0,0 +1,23 @@
+package jco.jcosaprfclink.type;
+
+/**
+ * HTTP 본문 압축 (Content-Encoding)
+ */
+public enum Compression {
+    NONE(null),
+    GZIP("gzip"),
+    DEFLATE("deflate"); // zlib 형식 (RFC 9110 deflate)
+
+    private final String token;
+
+    Compression(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Content-Encoding 값, NONE 이면 null
+     */
+    public String token() {
+        return token;
+    }
+}
@@ -1,21 +1,28 @@
 package jco.jcosaprfclink.type;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+/**
+ * code 는 SAP ERR_CODE(CHAR 20), s_taxinvoice_outbox.last_err_code(VARCHAR 20) 에 기록하는 값
+ * 오류 메시지 컬럼(err_msg, last_err_msg 등)은 VARCHAR 200
+ * 이름이 20자를 넘는 항목은 짧은 코드를 따로 지정한다.
+ */
 @Getter
-@AllArgsConstructor
 public enum ErrorCode {
-    INTERNAL_SERVER_ERROR("내부 서버 오류가 발생하였습니다."),
+    INTERNAL_SERVER_ERROR("내부 서버 오류가 발생하였습니다.", "INTERNAL_ERROR"),
     INVALID_REQUEST("잘못된 요청입니다."),
 	INPUT_DATA_NOT_FOUND("입력 데이터가 없습니다."),
 	INPUT_DATA_NOT_JSON("입력 데이터가 Json형식이 아닙니다."),
 	SAP_DATA_FIELD_ERROR("SAP 전달 데이터에 오류가 발생하였습니다."),
-	INPUT_DATA_NULL_POINTER("입력 값이 없습니다."),
+	INPUT_DATA_NULL_POINTER("입력 값이 없습니다.", "INPUT_DATA_NULL"),
 	POPBILL_SERVER_ERROR("POPBILL 세금 계산서 전송 서버 오류가 발생하였습니다."),
-	INPUT_DATA_PARSE_ERROR("데이터 변환 에러"),
-	NOT_CREATE_FILE_ERROR("대상 파일을 만들 수 없습니다."),
-	NOT_CREATE_SAP_SERVER_ERROR("서버를 만들 수 없습니다."),
+	INPUT_DATA_PARSE_ERROR("데이터 변환 에러", "INPUT_PARSE_ERROR"),
+	NOT_CREATE_FILE_ERROR("대상 파일을 만들 수 없습니다.", "CREATE_FILE_ERROR"),
+	NOT_CREATE_SAP_SERVER_ERROR("서버를 만들 수 없습니다.", "CREATE_SERVER_ERROR"),
+	RFC_QUEUE_FULL("비동기 처리 대기열이 가득 찼습니다."),
+	WEB_API_NO_RESULT("웹 API 응답에 해당 건의 결과가 없습니다."),
+	WEB_API_CIRCUIT_OPEN("웹 API 장애로 호출을 일시 중단했습니다."),
+	WEB_API_OVERLOADED("웹 API 동시 호출 한도를 초과했습니다."),
 	
 	/**
      * ******************************* Global Error CodeList ***************************************
@@ -31,13 +38,13 @@ public enum ErrorCode {
     BAD_REQUEST_ERROR("Bad Request Exception"),
 
     // @RequestBody 데이터 미 존재400
-    REQUEST_BODY_MISSING_ERROR("Required request body is missing"),
+    REQUEST_BODY_MISSING_ERROR("Required request body is missing", "BODY_MISSING_ERROR"),
 
     // 유효하지 않은 타입400
     INVALID_TYPE_VALUE(" Invalid Type Value"),
 
     // Request Parameter 로 데이터가 전달되지 않을 경우400
-    MISSING_REQUEST_PARAMETER_ERROR("Missing Servlet RequestParameter Exception"),
+    MISSING_REQUEST_PARAMETER_ERROR("Missing Servlet RequestParameter Exception", "MISSING_PARAM_ERROR"),
 
     // 입력/출력 값이 유효하지 않음400
     IO_ERROR("I/O Exception"),
@@ -46,7 +53,7 @@ public enum ErrorCode {
     JSON_PARSE_ERROR("JsonParseException"),
 
     // com.fasterxml.jackson.core Processing Error400
-    JACKSON_PROCESS_ERROR("com.fasterxml.jackson.core Exception"),
+    JACKSON_PROCESS_ERROR("com.fasterxml.jackson.core Exception", "JACKSON_ERROR"),
 
     // 권한이 없음403
     FORBIDDEN_ERROR("Forbidden Exception"),
@@ -61,7 +68,7 @@ public enum ErrorCode {
     NOT_VALID_ERROR("handle Validation Exception"),
 
     // @RequestBody 및 @RequestParam, @PathVariable 값이 유효하지 않음404
-    NOT_VALID_HEADER_ERROR("Header에 데이터가 존재하지 않는 경우 "),
+    NOT_VALID_HEADER_ERROR("Header에 데이터가 존재하지 않는 경우 ", "INVALID_HEADER"),
 
     // 서버가 처리 할 방법을 모르는 경우 발생500
 //    INTERNAL_SERVER_ERROR("Internal Server Error Exception"),
@@ -79,5 +86,33 @@ public enum ErrorCode {
 
     // Transaction Delete Error
     DELETE_ERROR("Delete Transaction Error Exception");
-    private String description;
+
+    public static final int CODE_LENGTH = 20;
+    public static final int MESSAGE_LENGTH = 200;
+
+    private final String description;
+    private final String code;
+
+    ErrorCode(String description) {
+        this(description, null);
+    }
+
+    ErrorCode(String description, String code) {
+        this.description = description;
+        this.code = code == null ? name() : code;
+    }
+
+    /**
+     * 외부(웹 API 응답 등) 오류 코드를 기록 가능한 길이로 자른다.
+     */
+    public static String bounded(String code) {
+        return code == null || code.length() <= CODE_LENGTH ? code : code.substring(0, CODE_LENGTH);
+    }
+
+    /**
+     * 오류 메시지를 기록 가능한 길이로 자른다.
+     */
+    public static String boundedMessage(String message) {
+        return message == null || message.length() <= MESSAGE_LENGTH ? message : message.substring(0, MESSAGE_LENGTH);
+    }
 }
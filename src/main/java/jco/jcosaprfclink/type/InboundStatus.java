@@ -0,0 +1,12 @@
+package jco.jcosaprfclink.type;
+
+/**
+ * 비동기 접수 건 처리 상태
+ */
+public enum InboundStatus {
+    RECEIVED,   // tRFC 접수, SAP commit 대기
+    QUEUED,     // 처리 대기
+    PROCESSING, // 웹 API 호출 중
+    DONE,
+    FAILED
+}
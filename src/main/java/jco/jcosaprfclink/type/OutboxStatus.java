@@ -0,0 +1,11 @@
+package jco.jcosaprfclink.type;
+
+/**
+ * 웹 API 재전송 대기열 상태
+ */
+public enum OutboxStatus {
+    PENDING,   // 전송 대기 (재시도 포함)
+    IN_FLIGHT, // 전송 중, next_attempt_at 까지 점유
+    DONE,      // 전송 완료
+    DEAD       // 재시도 한도 초과, 운영자 재처리 필요
+}
@@ -0,0 +1,9 @@
+package jco.jcosaprfclink.type;
+
+/**
+ * 웹 API 요청 본문 형식
+ */
+public enum PayloadFormat {
+    JSON,    // [{"MGR_DOC_NO":..,...},...] 행마다 키를 반복
+    COLUMNAR // {"columns":["MGR_DOC_NO",...],"rows":[[..],...]} 키는 묶음당 한번
+}
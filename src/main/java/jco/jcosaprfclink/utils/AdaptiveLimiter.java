@@ -0,0 +1,167 @@
+package jco.jcosaprfclink.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답 시간에 맞춰 조정되는 동시 호출 상한 (AIMD, 지연 판정은 Vegas 방식)
+ * - 응답 시간은 요청 행 수 구간(1, 2~3, 4~7, ...)별 기준 응답 시간과 비교한다. (chunk 크기 차이를 지연으로 보지 않음)
+ * - 기준 응답 시간은 성공한 호출만으로 잡은 구간별 이동 최소값 (최근 BASELINE_WINDOW ~ 2 x BASELINE_WINDOW 건)
+ * - 기준 대비 응답 시간 비율의 지수 이동 평균이 latencyTolerance 를 넘거나 호출이 실패하면 상한 x backoffRatio,
+ *   줄인 뒤 상한 건수만큼 응답이 돌아오기 전에는 다시 줄이지 않는다. (응답 한 바퀴에 한번)
+ * - 그 외에는 상한의 절반 이상을 쓰고 있을 때 성공마다 1/상한 만큼 올린다. (응답 한 바퀴에 약 +1)
+ * 상한에 닿으면 maxWait 동안 자리가 나기를 기다리고, 그래도 없으면 거절한다.
+ */
+public final class AdaptiveLimiter {
+
+    private static final int BASELINE_WINDOW = 250;
+    private static final int SIZE_CLASSES = 16;
+    private static final double SMOOTHING = 0.3; // 새 표본 가중치
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private final long[] windowMin = new long[SIZE_CLASSES]; // 현재 구간 최소 응답 시간
+    private final long[] previousMin = new long[SIZE_CLASSES]; // 직전 구간 최소 응답 시간
+    private final int[] windowSamples = new int[SIZE_CLASSES];
+    private double latencyRatio = 1.0;
+    private int sinceBackoff = Integer.MAX_VALUE;
+    private long rejected;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        Arrays.fill(windowMin, Long.MAX_VALUE);
+        Arrays.fill(previousMin, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return 자리를 얻었으면 true, 호출 후 반드시 release
+     */
+    public boolean acquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0L) {
+                    rejected++;
+                    return false;
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param rows    요청 행 수
+     * @param dropped 실패(시간 초과 포함)로 끝난 호출
+     */
+    public void release(long elapsedNanos, int rows, boolean dropped) {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            boolean busy = inFlight * 2 >= limit;
+            inFlight--;
+            if (sinceBackoff < Integer.MAX_VALUE) {
+                sinceBackoff++;
+            }
+            boolean congested = dropped;
+            if (!dropped) {
+                int sizeClass = sizeClass(rows);
+                long baseline = Math.min(windowMin[sizeClass], previousMin[sizeClass]);
+                if (baseline != Long.MAX_VALUE) {
+                    latencyRatio += SMOOTHING * ((double) elapsedNanos / Math.max(1L, baseline) - latencyRatio);
+                    congested = latencyRatio > latencyTolerance;
+                }
+                sample(sizeClass, elapsedNanos);
+            }
+            if (congested) {
+                if (sinceBackoff >= before) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    sinceBackoff = 0;
+                }
+            } else if (busy) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            int after = (int) limit;
+            if (after > before) {
+                available.signalAll();
+            } else {
+                available.signal(); // 내 자리 1개
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(int sizeClass, long elapsedNanos) {
+        windowMin[sizeClass] = Math.min(windowMin[sizeClass], elapsedNanos);
+        if (++windowSamples[sizeClass] >= BASELINE_WINDOW) {
+            previousMin[sizeClass] = windowMin[sizeClass];
+            windowMin[sizeClass] = Long.MAX_VALUE;
+            windowSamples[sizeClass] = 0;
+        }
+    }
+
+    private static int sizeClass(int rows) {
+        return Math.min(SIZE_CLASSES - 1, 31 - Integer.numberOfLeadingZeros(Math.max(1, rows)));
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 자리가 없어 거절된 호출 수
+     */
+    public long rejectedCount() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 행 수 구간의 기준 응답 시간(ns), 성공한 표본이 없으면 0
+     */
+    public long baselineNanos(int rows) {
+        lock.lock();
+        try {
+            int sizeClass = sizeClass(rows);
+            long baseline = Math.min(windowMin[sizeClass], previousMin[sizeClass]);
+            return baseline == Long.MAX_VALUE ? 0L : baseline;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
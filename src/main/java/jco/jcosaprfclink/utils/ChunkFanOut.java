@@ -0,0 +1,129 @@
+package jco.jcosaprfclink.utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * chunk 단위 병렬 전송
+ * 요청 준비와 결과 반영은 호출 스레드에서만, 전송만 executor 에서 실행한다 (JCoTable 등 스레드 안전하지 않은 대상 보호).
+ * 동시에 전송 중인 chunk 는 maxInFlight 개 이하이고, 결과는 도착한 순서대로 chunk 번호와 함께 반영된다.
+ * 반환(예외 포함) 시점에 전송 중인 chunk 는 없다. 도중에 예외가 나면 새 chunk 는 보내지 않고,
+ * 이미 보낸 chunk 는 모두 끝날 때까지 기다려 결과를 반영한 뒤 처음 난 예외를 던진다. (이후 예외는 suppressed)
+ */
+public final class ChunkFanOut {
+
+    private ChunkFanOut() {
+    }
+
+    /**
+     * 전송 결과 반영, 호출 스레드에서 실행
+     */
+    @FunctionalInterface
+    public interface Completion<R> {
+        /**
+         * @param chunk   chunk 번호 (0부터)
+         * @param result  전송 결과, 실패 시 null
+         * @param failure 전송 실패 원인, 성공 시 null
+         */
+        void accept(int chunk, R result, RuntimeException failure);
+    }
+
+    /**
+     * @param executor    전송 실행기
+     * @param chunks      chunk 수
+     * @param maxInFlight 동시 전송 상한 (1 이하면 순차 전송)
+     * @param prepare     chunk 번호로 요청 생성 (호출 스레드), 예외를 던지면 남은 chunk 는 보내지 않는다
+     * @param send        요청 전송 (executor 스레드)
+     * @param complete    결과 반영 (호출 스레드), 예외를 던지면 남은 chunk 는 보내지 않는다
+     * @throws IllegalStateException 대기 중 인터럽트된 경우 (전송 중인 chunk 를 반영한 뒤, 인터럽트 상태 유지)
+     */
+    public static <P, R> void run(Executor executor, int chunks, int maxInFlight, IntFunction<P> prepare,
+                                  Function<P, R> send, Completion<R> complete) {
+        runAsync(chunks, maxInFlight, prepare, request -> CompletableFuture.supplyAsync(() -> send.apply(request), executor),
+                complete);
+    }
+
+    /**
+     * 전송이 비동기 결과를 돌려주는 경우, 전송 대기에 스레드를 쓰지 않는다.
+     *
+     * @param send 요청 전송 (호출 스레드에서 시작), 예외를 던지면 해당 chunk 의 실패로 반영한다
+     * @see #run(Executor, int, int, IntFunction, Function, Completion)
+     */
+    public static <P, R> void runAsync(int chunks, int maxInFlight, IntFunction<P> prepare,
+                                       Function<P, ? extends CompletionStage<R>> send, Completion<R> complete) {
+        int limit = Math.max(1, maxInFlight);
+        BlockingQueue<Done<R>> done = new LinkedBlockingQueue<>();
+        int next = 0;
+        int inFlight = 0;
+        Throwable stopped = null; // 먼저 난 예외, 이후 새 chunk 는 보내지 않는다
+        boolean interrupted = false;
+        while (stopped == null && next < chunks || inFlight > 0) {
+            while (stopped == null && next < chunks && inFlight < limit) {
+                int chunk = next++;
+                CompletionStage<R> sent;
+                try {
+                    P request = prepare.apply(chunk);
+                    try {
+                        sent = send.apply(request);
+                    } catch (RuntimeException e) {
+                        sent = CompletableFuture.failedFuture(e);
+                    }
+                } catch (RuntimeException | Error e) {
+                    stopped = e;
+                    break;
+                }
+                sent.whenComplete((result, failure) -> done.add(new Done<>(chunk, result,
+                        failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure)));
+                inFlight++;
+            }
+            if (inFlight == 0) {
+                break;
+            }
+            Done<R> arrived;
+            try {
+                arrived = done.take();
+            } catch (InterruptedException e) {
+                interrupted = true; // 전송 중인 chunk 는 끝까지 기다린다
+                stopped = stop(stopped, new IllegalStateException("chunk 전송 대기 중 인터럽트", e));
+                continue;
+            }
+            inFlight--;
+            try {
+                if (arrived.failure() instanceof Error error) {
+                    throw error;
+                }
+                complete.accept(arrived.chunk(), arrived.result(), (RuntimeException) arrived.failure());
+            } catch (RuntimeException | Error e) {
+                stopped = stop(stopped, e);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (stopped instanceof Error error) {
+            throw error;
+        }
+        if (stopped != null) {
+            throw (RuntimeException) stopped;
+        }
+    }
+
+    private static Throwable stop(Throwable stopped, Throwable e) {
+        if (stopped == null) {
+            return e;
+        }
+        if (stopped != e) {
+            stopped.addSuppressed(e);
+        }
+        return stopped;
+    }
+
+    private record Done<R>(int chunk, R result, Throwable failure) {
+    }
+}
@@ -0,0 +1,162 @@
+package jco.jcosaprfclink.utils;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 호출 수 기준 서킷 브레이커
+ * - CLOSED : 최근 windowSize 건(최소 minimumCalls 건 이후) 중 실패 또는 느린 호출 비율이 임계치 이상이면 OPEN
+ * - OPEN : openDuration 동안 호출하지 않고 바로 거절, 이후 첫 요청에서 HALF_OPEN
+ * - HALF_OPEN : halfOpenCalls 건만 시험 호출, 모두 정상이면 CLOSED, 하나라도 실패하거나 느리면 다시 OPEN
+ * 허가(tryAcquire)마다 상태 세대(epoch)를 돌려주고, 세대가 바뀐 뒤 끝난 호출의 결과는 반영하지 않는다.
+ * 상태 확인/결과 반영만 잠금 안에서 하고, 호출 자체는 잠금 밖에서 실행된다.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final BiConsumer<State, State> onTransition;
+
+    private final byte[] outcomes; // 최근 호출 결과 (FAILED | SLOW)
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenPassed;
+    private long notPermitted;
+
+    /**
+     * @param onTransition 상태 변경 알림 (이전, 이후), 잠금 안에서 호출되므로 가볍게 처리한다
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallDuration,
+                          double slowCallRateThreshold, Duration openDuration, int halfOpenCalls,
+                          LongSupplier clock, BiConsumer<State, State> onTransition) {
+        this.outcomes = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration == null ? Long.MAX_VALUE : slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * @return 호출 허가 세대, 거절이면 -1
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                notPermitted++;
+                return -1;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                notPermitted++;
+                return -1;
+            }
+            halfOpenPermits--;
+        }
+        return epoch;
+    }
+
+    /**
+     * 허가 후 호출하지 않은 경우 (시험 호출 자리를 돌려준다)
+     */
+    public synchronized void release(long permit) {
+        if (permit == epoch && state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * 호출 결과 반영
+     *
+     * @param failed 상위 시스템 장애로 볼 실패인지 (요청 오류는 false)
+     */
+    public synchronized void onResult(long permit, long elapsedNanos, boolean failed) {
+        if (permit != epoch) {
+            return;
+        }
+        boolean slow = elapsedNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transition(State.OPEN);
+            } else if (++halfOpenPassed >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        if (recorded >= minimumCalls && (failures >= failureRateThreshold * recorded
+                || slowCalls >= slowCallRateThreshold * recorded)) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        epoch++;
+        switch (to) {
+            case OPEN -> openedAt = clock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenPassed = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                recorded = 0;
+                failures = 0;
+                slowCalls = 0;
+            }
+        }
+        onTransition.accept(from, to);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * 거절된 호출 수
+     */
+    public synchronized long notPermittedCount() {
+        return notPermitted;
+    }
+}
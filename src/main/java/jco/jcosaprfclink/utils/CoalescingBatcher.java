@@ -0,0 +1,245 @@
+package jco.jcosaprfclink.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 동시 조회 병합 (single-flight + 짧은 대기 묶음)
+ * - 조회 중인 키를 다시 요청하면 새로 보내지 않고 진행 중인 결과를 함께 받는다.
+ * - 한 요청 안에서 반복된 키는 첫 요청만 사용한다. (결과도 한번만)
+ * - 새 키는 window 동안 모았다가, 또는 maxBatch 건이 차면 바로 한번의 상위 호출로 보낸다.
+ * - 상위 호출이 결과를 돌려주지 않은 키는 null 로 완료되고, 상위 호출 실패는 묶음 전체의 실패로 전달된다.
+ *
+ * @param <K> 조회 키
+ * @param <Q> 조회 요청
+ * @param <R> 조회 결과
+ */
+public final class CoalescingBatcher<K, Q, R> implements AutoCloseable {
+
+    private final Function<Q, K> requestKey;
+    private final Function<R, K> resultKey;
+    private final Function<List<Q>, List<R>> upstream;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final ScheduledExecutorService timer;
+    private final Executor sender;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<K, CompletableFuture<R>> inFlight = new HashMap<>(); // 묶음 대기 + 전송 중
+    private Batch<K, Q, R> batch = new Batch<>();
+    private ScheduledFuture<?> flushTask;
+    private boolean closed;
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param upstream 묶음 조회 (sender 스레드에서 실행)
+     * @param window   묶음 대기 시간
+     * @param maxBatch 묶음 1건의 최대 요청 수
+     * @param sender   상위 호출 실행기, null 이면 묶음 타이머 스레드에서 순차 실행
+     */
+    public CoalescingBatcher(String name, Function<Q, K> requestKey, Function<R, K> resultKey,
+                             Function<List<Q>, List<R>> upstream, Duration window, int maxBatch,
+                             Executor sender) {
+        this.requestKey = requestKey;
+        this.resultKey = resultKey;
+        this.upstream = upstream;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = Math.max(1, maxBatch);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sender = sender != null ? sender : timer;
+    }
+
+    /**
+     * @return 요청 순서대로의 키별 결과 (결과가 없는 키는 제외)
+     */
+    public CompletableFuture<List<R>> lookup(List<Q> requests) {
+        Map<K, CompletableFuture<R>> futures = new LinkedHashMap<>((int) (requests.size() / 0.75f) + 1);
+        List<Batch<K, Q, R>> full = new ArrayList<>(1);
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("조회 병합 종료됨"));
+            }
+            for (Q request : requests) {
+                K key = requestKey.apply(request);
+                if (futures.containsKey(key)) {
+                    continue;
+                }
+                CompletableFuture<R> future = inFlight.get(key);
+                if (future != null) {
+                    joined.increment();
+                } else {
+                    future = new CompletableFuture<>();
+                    inFlight.put(key, future);
+                    batch.add(key, request, future);
+                    if (batch.size() >= maxBatch) {
+                        full.add(takeBatch());
+                    } else if (batch.size() == 1) {
+                        flushTask = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+                futures.put(key, future);
+            }
+            requested.add(futures.size());
+        } finally {
+            lock.unlock();
+        }
+        full.forEach(this::dispatch);
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<R> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures.values()) {
+                R result = future.join();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * window 경과, 모인 묶음 전송
+     */
+    private void flush() {
+        Batch<K, Q, R> due;
+        lock.lock();
+        try {
+            if (batch.size() == 0) {
+                return;
+            }
+            due = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(due);
+    }
+
+    private Batch<K, Q, R> takeBatch() {
+        Batch<K, Q, R> taken = batch;
+        batch = new Batch<>();
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return taken;
+    }
+
+    private void dispatch(Batch<K, Q, R> due) {
+        batches.increment();
+        try {
+            sender.execute(() -> send(due));
+        } catch (RuntimeException e) {
+            complete(due, null, e);
+        }
+    }
+
+    private void send(Batch<K, Q, R> due) {
+        List<R> results;
+        try {
+            results = upstream.apply(due.requests);
+        } catch (Throwable t) {
+            complete(due, null, t);
+            return;
+        }
+        Map<K, R> byKey = new HashMap<>((int) (results.size() / 0.75f) + 1);
+        for (R result : results) {
+            byKey.putIfAbsent(resultKey.apply(result), result);
+        }
+        complete(due, byKey, null);
+    }
+
+    /**
+     * 조회 중 목록에서 먼저 빼고 완료한다. 완료 이후 들어온 같은 키는 새로 조회된다.
+     */
+    private void complete(Batch<K, Q, R> due, Map<K, R> byKey, Throwable failure) {
+        lock.lock();
+        try {
+            for (int i = 0; i < due.keys.size(); i++) {
+                inFlight.remove(due.keys.get(i), due.futures.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < due.keys.size(); i++) {
+            if (failure != null) {
+                due.futures.get(i).completeExceptionally(failure);
+            } else {
+                due.futures.get(i).complete(byKey.get(due.keys.get(i)));
+            }
+        }
+    }
+
+    /**
+     * 요청된 키 수 (한 요청 안의 중복 제외)
+     */
+    public long requestedCount() {
+        return requested.sum();
+    }
+
+    /**
+     * 조회 중인 결과를 함께 받은 키 수
+     */
+    public long joinedCount() {
+        return joined.sum();
+    }
+
+    /**
+     * 상위 호출 수
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * 대기 중인 묶음은 실패로 완료한다. 전송 중인 묶음은 sender 에서 끝난다.
+     */
+    @Override
+    public void close() {
+        Batch<K, Q, R> remaining;
+        lock.lock();
+        try {
+            closed = true;
+            remaining = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        timer.shutdownNow();
+        complete(remaining, null, new IllegalStateException("조회 병합 종료됨"));
+    }
+
+    private static final class Batch<K, Q, R> {
+        private final List<K> keys = new ArrayList<>();
+        private final List<Q> requests = new ArrayList<>();
+        private final List<CompletableFuture<R>> futures = new ArrayList<>();
+
+        void add(K key, Q request, CompletableFuture<R> future) {
+            keys.add(key);
+            requests.add(request);
+            futures.add(future);
+        }
+
+        int size() {
+            return keys.size();
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package jco.jcosaprfclink.utils;
 
+import jco.jcosaprfclink.config.http.HttpClientEngine;
+import jco.jcosaprfclink.config.http.HttpClientProperties;
 import lombok.extern.slf4j.Slf4j;
 import jco.jcosaprfclink.exception.BusinessExceptionHandler;
 import jco.jcosaprfclink.type.HttpMethod;
 
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import static jco.jcosaprfclink.type.ErrorCode.*;
@@ -17,6 +18,30 @@ import static jco.jcosaprfclink.type.ErrorCode.*;
 @Slf4j
 public class HttpUtil {
 
+    private static volatile HttpClientEngine engine;
+
+    /**
+     * 스프링에서 생성한 클라이언트 등록
+     *
+     * @param httpClientEngine 공용 HTTP 클라이언트
+     */
+    public static void setEngine(HttpClientEngine httpClientEngine) {
+        engine = httpClientEngine;
+    }
+
+    private static HttpClientEngine engine() {
+        HttpClientEngine current = engine;
+        if (current == null) {
+            synchronized (HttpUtil.class) {
+                if (engine == null) {
+                    engine = new HttpClientEngine(new HttpClientProperties());
+                }
+                current = engine;
+            }
+        }
+        return current;
+    }
+
     /**
      * 범용 HTTP 요청 메서드
      *
@@ -27,66 +52,72 @@ public class HttpUtil {
      * @return 응답 본문
      */
     public static String sendHttpRequest(String apiUrl, HttpMethod method, String body, String token) {
-        StringBuilder response = new StringBuilder();
-
-        try {
-            // 1. URL 및 HttpURLConnection 설정
-            URL url = new URL(apiUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod(method.name());
-            connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
-            if (token != null && !token.isEmpty()) {
-                connection.setRequestProperty("Authorization", "Token " + token);
-            }
-            connection.setDoOutput(method == HttpMethod.POST || method == HttpMethod.PUT);
+        return engine().exchange(apiUrl, method, body, token, HttpUtil::readBody);
+    }
 
-            // 2. 요청 본문 전송 (POST, PUT 요청일 경우)
-            if (connection.getDoOutput() && body != null && !body.isEmpty()) {
-                try (BufferedWriter writer = new BufferedWriter(
-                        new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
-                    writer.write(body);
-                }
-            }
+    /**
+     * 본문을 스트림으로 전송하는 HTTP 요청 메서드
+     *
+     * @param apiUrl 요청할 URL
+     * @param method HTTP 메서드 (GET, POST, PUT, DELETE)
+     * @param body 요청 본문을 스트림에 쓰는 함수
+     * @param token 인증 토큰 (필요 없는 경우 null 또는 빈 문자열)
+     * @return 응답 본문
+     */
+    public static String sendHttpRequest(String apiUrl, HttpMethod method, HttpClientEngine.BodyWriter body, String token) {
+        return engine().exchange(apiUrl, method, body, token, HttpUtil::readBody);
+    }
 
-            // 3. 응답 코드 확인
-            int responseCode = connection.getResponseCode();
+    /**
+     * 스트리밍 HTTP 요청 메서드
+     *
+     * @param apiUrl 요청할 URL
+     * @param method HTTP 메서드 (GET, POST, PUT, DELETE)
+     * @param body 요청 본문을 스트림에 쓰는 함수
+     * @param token 인증 토큰 (필요 없는 경우 null 또는 빈 문자열)
+     * @param reader 응답 본문 스트림 처리 함수
+     * @return reader 처리 결과
+     */
+    public static <T> T sendHttpRequest(String apiUrl, HttpMethod method, HttpClientEngine.BodyWriter body, String token,
+                                        ResponseReader<T> reader) {
+        return engine().exchange(apiUrl, method, body, token, (responseCode, in) -> {
             handleResponseCode(responseCode);
+            return reader.read(in);
+        });
+    }
 
-            // 4. 응답 데이터 읽기
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(responseCode >= 200 && responseCode < 300
-                            ? connection.getInputStream()
-                            : connection.getErrorStream(), StandardCharsets.UTF_8))) {
-
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-            }
-
-        } catch (IOException e) {
-            log.warn("❌ HTTP 요청 실패: {}", e.getLocalizedMessage());
-            throw new BusinessExceptionHandler(IO_ERROR);
-        }
+    /**
+     * 응답 본문 스트림 처리
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+        T read(InputStream in) throws IOException;
+    }
 
-        return response.toString();
+    private static String readBody(int responseCode, InputStream in) throws IOException {
+        handleResponseCode(responseCode);
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
     }
 
     /**
-     * HTTP 응답 코드 처리
+     * HTTP 응답 코드 처리, 본문을 읽기 전에 상태 구간별로 오류를 정한다.
+     * - 2xx : 성공
+     * - 4xx : 요청 오류 (401/403 FORBIDDEN_ERROR, 404 NOT_FOUND_ERROR, 그 외 INVALID_REQUEST), 재전송하지 않는다
+     * - 그 외(5xx 등) : INTERNAL_SERVER_ERROR, 재전송 대상
      */
     private static void handleResponseCode(int responseCode) {
-        switch (responseCode) {
-            case 200, 201 -> log.info("✅ 성공: 응답 코드 {}", responseCode);
-            case 400 -> {
-                log.warn("❌ 400 Bad Request: 요청 오류");
-                throw new BusinessExceptionHandler(INVALID_REQUEST);
-            }
-            case 500 -> {
-                log.warn("❌ 500 Internal Server Error: 서버 오류");
-                throw new BusinessExceptionHandler(INTERNAL_SERVER_ERROR);
-            }
-            default -> log.info("응답 코드: {}", responseCode);
+        if (responseCode >= 200 && responseCode < 300) {
+            log.debug("✅ 성공: 응답 코드 {}", responseCode);
+            return;
+        }
+        log.warn("❌ 응답 코드 {}", responseCode);
+        if (responseCode >= 400 && responseCode < 500) {
+            throw new BusinessExceptionHandler(switch (responseCode) {
+                case 401, 403 -> FORBIDDEN_ERROR;
+                case 404 -> NOT_FOUND_ERROR;
+                default -> INVALID_REQUEST;
+            });
         }
+        throw new BusinessExceptionHandler(INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+}
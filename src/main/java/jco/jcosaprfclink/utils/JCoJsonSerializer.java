@@ -0,0 +1,137 @@
+package jco.jcosaprfclink.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sap.conn.jco.JCoMetaData;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * JCoTable 을 중간 객체 없이 JSON 배열로 바로 쓰는 유틸리티
+ */
+public class JCoJsonSerializer {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET) // 스트림은 호출한 쪽에서 닫는다
+            .build();
+
+    /**
+     * JCoTable 전체 행을 JSON 배열로 출력
+     *
+     * @param jCoTable 대상 테이블
+     * @param out      출력 스트림 (HTTP 요청 본문)
+     * @throws IOException
+     */
+    public static void writeTable(JCoTable jCoTable, OutputStream out) throws IOException {
+        writeRows(jCoTable, 0, jCoTable.getNumRows(), out);
+    }
+
+    /**
+     * JCoTable 의 [from, to) 행을 JSON 배열로 출력
+     * 필드명/타입은 메타데이터에서 한번만 읽고, 행 값은 인덱스로 바로 읽는다.
+     * BCD 필드는 숫자, 그 외 필드는 문자열로 출력한다.
+     *
+     * @param jCoTable 대상 테이블
+     * @param from     시작 행 (포함)
+     * @param to       끝 행 (미포함)
+     * @param out      출력 스트림
+     * @throws IOException
+     */
+    public static void writeRows(JCoTable jCoTable, int from, int to, OutputStream out) throws IOException {
+        writeRows(jCoTable, null, from, to, out);
+    }
+
+    /**
+     * JCoTable 의 rows[from, to) 위치 행을 JSON 배열로 출력 (rows 가 null 이면 [from, to) 행)
+     *
+     * @param jCoTable 대상 테이블
+     * @param rows     출력할 행 번호 목록
+     * @param from     rows 시작 위치 (포함)
+     * @param to       rows 끝 위치 (미포함)
+     * @param out      출력 스트림
+     * @throws IOException
+     */
+    public static void writeRows(JCoTable jCoTable, int[] rows, int from, int to, OutputStream out) throws IOException {
+        Layout layout = new Layout(jCoTable.getRecordMetaData());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int i = from; i < to; i++) {
+                jCoTable.setRow(rows == null ? i : rows[i]);
+                layout.write(generator, jCoTable);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * JCoTable 의 rows[from, to) 위치 행을 행별 JSON 객체(UTF-8)로 변환 (행 단위로 다시 묶어 보내거나 재전송 대기열에 저장)
+     * 필드 구성은 한번만 만들고, 모든 행을 생성기 하나로 이어 쓴 뒤 행 경계에서 나눈다.
+     */
+    public static byte[][] rowsToJson(JCoTable jCoTable, int[] rows, int from, int to) {
+        Layout layout = new Layout(jCoTable.getRecordMetaData());
+        int[] ends = new int[to - from];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * layout.names.length * (to - from) + 16);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null); // 행 객체 사이에 구분자를 넣지 않는다
+            for (int i = from; i < to; i++) {
+                jCoTable.setRow(rows[i]);
+                layout.write(generator, jCoTable);
+                generator.flush();
+                ends[i - from] = out.size();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] all = out.toByteArray();
+        byte[][] json = new byte[to - from][];
+        int start = 0;
+        for (int i = 0; i < json.length; i++) {
+            json[i] = Arrays.copyOfRange(all, start, ends[i]);
+            start = ends[i];
+        }
+        return json;
+    }
+
+    /**
+     * 테이블 하나의 JSON 필드 구성 (필드명, BCD 여부), 메타데이터에서 한번 만들어 모든 행에 쓴다.
+     */
+    private static final class Layout {
+        private final SerializedString[] names;
+        private final boolean[] numeric;
+
+        Layout(JCoRecordMetaData metaData) {
+            int fieldCount = metaData.getFieldCount();
+            names = new SerializedString[fieldCount];
+            numeric = new boolean[fieldCount];
+            for (int j = 0; j < fieldCount; j++) {
+                names[j] = new SerializedString(metaData.getName(j));
+                numeric[j] = metaData.getType(j) == JCoMetaData.TYPE_BCD;
+            }
+        }
+
+        /**
+         * 현재 행을 JSON 객체로 출력
+         */
+        void write(JsonGenerator generator, JCoTable jCoTable) throws IOException {
+            generator.writeStartObject();
+            for (int j = 0; j < names.length; j++) {
+                generator.writeFieldName(names[j]);
+                if (numeric[j]) {
+                    generator.writeNumber(jCoTable.getBigDecimal(j));
+                } else {
+                    generator.writeString(jCoTable.getString(j));
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
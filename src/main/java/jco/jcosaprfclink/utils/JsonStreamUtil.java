@@ -0,0 +1,67 @@
+package jco.jcosaprfclink.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import static jco.jcosaprfclink.type.ErrorCode.JACKSON_PROCESS_ERROR;
+
+/**
+ * JSON 응답 스트림 처리, 본문 전체를 문자열이나 트리로 만들지 않고 요소 단위로 읽는다.
+ */
+@Slf4j
+public final class JsonStreamUtil {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private JsonStreamUtil() {
+    }
+
+    /**
+     * 공용 설정의 타입별 reader, 스레드 안전하므로 상수로 보관해 재사용한다.
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    /**
+     * 최상위 배열의 요소를 읽는 대로 consumer 에 넘긴다.
+     *
+     * @return 읽은 요소 수
+     * @throws BusinessExceptionHandler JACKSON_PROCESS_ERROR, 배열이 아니거나 형식이 잘못된 경우 (이미 넘긴 요소는 취소되지 않는다)
+     */
+    public static <T> int readArray(ObjectReader reader, InputStream in, Consumer<? super T> consumer) throws IOException {
+        int count = 0;
+        try (JsonParser parser = OBJECT_MAPPER.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("최상위 값이 배열이 아님 : " + parser.currentToken());
+            }
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                // 첫 요소에 위치한 parser 를 넘기면 배열 끝(END_ARRAY)에서 반복이 끝난다.
+                MappingIterator<T> iterator = reader.readValues(parser);
+                while (iterator.hasNextValue()) {
+                    consumer.accept(iterator.nextValue());
+                    count++;
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY || parser.nextToken() != null) {
+                throw new IllegalArgumentException("배열 뒤에 잘못된 내용 : " + parser.currentToken());
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("JSON 응답 형식 오류 ({}건 처리 후) : {}", count, e.getMessage());
+            throw new BusinessExceptionHandler(JACKSON_PROCESS_ERROR);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,63 @@
+package jco.jcosaprfclink.utils;
+
+import com.sap.conn.jco.JCoTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 키 필드 값(예: MGR_DOC_NO) -> 행 위치 색인, 호출마다 한번 만든다.
+ * 같은 키가 여러 행에 있으면 행 순서대로 연결해 둔다.
+ */
+@Slf4j
+public final class RowKeyIndex {
+
+    private final Map<String, Integer> firstRow;
+    private final int[] nextRow; // 같은 키를 가진 다음 행, 없으면 -1
+
+    private RowKeyIndex(Map<String, Integer> firstRow, int[] nextRow) {
+        this.firstRow = firstRow;
+        this.nextRow = nextRow;
+    }
+
+    /**
+     * @param field 키 필드 인덱스
+     */
+    public static RowKeyIndex of(JCoTable jCoTable, int field) {
+        int rows = jCoTable.getNumRows();
+        Map<String, Integer> firstRow = new HashMap<>(Math.max(16, (int) (rows / 0.75f) + 1));
+        Map<String, Integer> lastRow = new HashMap<>();
+        int[] nextRow = new int[rows];
+        Arrays.fill(nextRow, -1);
+        for (int i = 0; i < rows; i++) {
+            jCoTable.setRow(i);
+            String key = jCoTable.getString(field);
+            Integer first = firstRow.putIfAbsent(key, i);
+            if (first != null) {
+                Integer last = lastRow.put(key, i);
+                nextRow[last != null ? last : first] = i;
+            }
+        }
+        if (!lastRow.isEmpty()) {
+            log.warn("중복 {} {}건 : {}", jCoTable.getRecordMetaData().getName(field), lastRow.size(), lastRow.keySet());
+        }
+        return new RowKeyIndex(firstRow, nextRow);
+    }
+
+    /**
+     * @return 키의 첫 행, 없으면 -1
+     */
+    public int first(Object key) {
+        Integer row = key == null ? null : firstRow.get(key.toString());
+        return row == null ? -1 : row;
+    }
+
+    /**
+     * @return 같은 키의 다음 행, 없으면 -1
+     */
+    public int next(int row) {
+        return nextRow[row];
+    }
+}
@@ -0,0 +1,69 @@
+package jco.jcosaprfclink.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드 생성 유틸리티 (Java 21 이상)
+ * 빌드 대상이 Java 17 이므로 리플렉션으로 호출하고, 지원하지 않는 런타임에서는 isSupported() 가 false 이다.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = find(Thread.class, "ofVirtual");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = find(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * 이름이 prefix + 일련번호인 가상 스레드 팩토리
+     */
+    public static ThreadFactory factory(String prefix) {
+        requireSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 팩토리 생성 실패", e);
+        }
+    }
+
+    /**
+     * 작업마다 가상 스레드를 새로 만드는 executor, 동시 실행 수 제한은 호출 측에서 한다.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory(prefix));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("가상 스레드 executor 생성 실패", e);
+        }
+    }
+
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("가상 스레드는 Java 21 이상에서 사용할 수 있습니다. (현재 "
+                    + Runtime.version().feature() + ")");
+        }
+    }
+
+    private static Method find(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- RFC 비동기 처리 접수 테이블 (rfc.async.enabled=true 일 때 사용)
+CREATE TABLE IF NOT EXISTS s_rfc_inbound
+(
+    id            VARCHAR(36)  NOT NULL COMMENT 'tRFC TID, 동기 호출은 UUID',
+    function_name VARCHAR(30)  NOT NULL COMMENT 'RFC 함수명',
+    payload       LONGTEXT     NOT NULL COMMENT '웹 API 요청 본문(JSON)',
+    row_count     INT          NOT NULL DEFAULT 0,
+    status        VARCHAR(20)  NOT NULL COMMENT 'RECEIVED, QUEUED, PROCESSING, DONE, FAILED',
+    err_msg       VARCHAR(200) NULL,
+    attempts      INT          NOT NULL DEFAULT 0 COMMENT '처리 실패 횟수',
+    created_at    DATETIME(6)  NULL,
+    updated_at    DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    KEY idx_s_rfc_inbound_status (status)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+-- 이전 버전에서 만든 테이블
+-- ALTER TABLE s_rfc_inbound ADD COLUMN attempts INT NOT NULL DEFAULT 0 COMMENT '처리 실패 횟수' AFTER err_msg;
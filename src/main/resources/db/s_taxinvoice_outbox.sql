@@ -0,0 +1,17 @@
+-- 웹 API 재전송 대기열 (api.outbox.enabled=true 일 때 사용)
+-- FOR UPDATE SKIP LOCKED 사용, MariaDB 10.6 이상
+CREATE TABLE IF NOT EXISTS s_taxinvoice_outbox
+(
+    mgrdoc_no       VARCHAR(50)  NOT NULL COMMENT '문서관리번호',
+    payload         LONGTEXT     NOT NULL COMMENT '웹 API 요청 행(JSON)',
+    status          VARCHAR(20)  NOT NULL COMMENT 'PENDING, IN_FLIGHT, DONE, DEAD',
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_err_code   VARCHAR(20)  NULL,
+    last_err_msg    VARCHAR(200) NULL,
+    created_at      DATETIME(6)  NULL,
+    updated_at      DATETIME(6)  NULL,
+    PRIMARY KEY (mgrdoc_no),
+    KEY idx_s_taxinvoice_outbox_next (status, next_attempt_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,64 @@
+package jco.jcosaprfclink.config.http;
+
+import com.sun.net.httpserver.HttpServer;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.type.ErrorCode;
+import jco.jcosaprfclink.type.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientEngineTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stall", exchange -> {
+            exchange.sendResponseHeaders(200, 100);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(new byte[10]);
+                out.flush();
+                release.await(10, TimeUnit.SECONDS); // 헤더와 본문 일부만 보내고 멈춘다
+            } catch (InterruptedException | IOException ignored) {
+                // 클라이언트가 먼저 끊는다
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void stalledBodyFailsAfterReadTimeout() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setReadTimeout(Duration.ofMillis(300));
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/stall";
+
+        long started = System.nanoTime();
+        try (HttpClientEngine engine = new HttpClientEngine(properties)) {
+            BusinessExceptionHandler e = assertThrows(BusinessExceptionHandler.class,
+                    () -> engine.exchange(url, HttpMethod.GET, (String) null, null, (status, in) -> in.readAllBytes()));
+            assertEquals(ErrorCode.IO_ERROR, e.getErrorCode());
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        assertTrue(elapsed < 3000, "본문 대기 " + elapsed + "ms");
+    }
+}
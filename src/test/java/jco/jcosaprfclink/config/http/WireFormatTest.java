@@ -0,0 +1,179 @@
+package jco.jcosaprfclink.config.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.Compression;
+import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.type.PayloadFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WireFormatTest {
+
+    private static final String ROWS = "[{\"MGR_DOC_NO\":\"DOC0\",\"SUP_AMT\":1234567890123.4500,\"ITEMS\":[1,2]},"
+            + "{\"MGR_DOC_NO\":\"DOC1\",\"SUP_AMT\":0.10,\"ITEMS\":[]}]";
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private boolean rejectColumnar;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/resultTaxInvoice", this::respond);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void columnarSendsKeysOnceAndKeepsValuesExact() throws IOException {
+        byte[] columnar = WireFormat.toColumnar(ROWS.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("{\"columns\":[\"MGR_DOC_NO\",\"SUP_AMT\",\"ITEMS\"],"
+                        + "\"rows\":[[\"DOC0\",1234567890123.4500,[1,2]],[\"DOC1\",0.10,[]]]}",
+                new String(columnar, StandardCharsets.UTF_8));
+        assertNull(WireFormat.toColumnar("[{\"A\":1},{\"B\":1}]".getBytes(StandardCharsets.UTF_8)));
+        assertNull(WireFormat.toColumnar("[{\"A\":1,\"B\":2},{\"A\":1}]".getBytes(StandardCharsets.UTF_8)));
+        assertNull(WireFormat.toColumnar("{\"A\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        WireFormat.Body body = new WireFormat(PayloadFormat.COLUMNAR, Compression.NONE, 0, false)
+                .encode("[{\"A\":1},{\"B\":1}]".getBytes(StandardCharsets.UTF_8));
+        assertEquals(WireFormat.JSON_CONTENT_TYPE, body.contentType()); // 변환할 수 없으면 JSON 그대로
+    }
+
+    @Test
+    void endpointSettingsCompressRequestAndDecodeCompressedResponse() {
+        HttpClientProperties.Endpoint endpoint = new HttpClientProperties.Endpoint();
+        endpoint.setPath("/resultTaxInvoice");
+        endpoint.setFormat(PayloadFormat.COLUMNAR);
+        endpoint.setCompression(Compression.GZIP);
+        endpoint.setAcceptCompressed(true);
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setCompressionMinSize(0);
+        properties.getEndpoints().add(endpoint);
+
+        try (HttpClientEngine engine = new HttpClientEngine(properties)) {
+            String rows = StubInvoiceApi.invoiceRows(50);
+            String streamed = engine.exchange(url(), HttpMethod.POST,
+                    (HttpClientEngine.BodyWriter) out -> out.write(rows.getBytes(StandardCharsets.UTF_8)), null,
+                    (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            String buffered = engine.exchange(url(), HttpMethod.POST, rows, null,
+                    (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+
+            assertEquals("ok", streamed);
+            assertEquals("ok", buffered);
+        }
+        assertEquals(received.get(0), received.get(1));
+        assertTrue(received.get(0).startsWith(WireFormat.COLUMNAR_CONTENT_TYPE + "|gzip|gzip, deflate|{\"columns\":"),
+                received.get(0));
+        assertTrue(received.get(0).contains("\"rows\":[[\"DOC0\",\"1234567890\",\"PBILLRFC\",\"\",\"\",\"\"],"),
+                received.get(0));
+    }
+
+    @Test
+    void streamedJsonIsCompressedWithoutBuffering() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setCompression(Compression.GZIP);
+        properties.setStreamBufferSize(256); // 본문보다 작은 파이프, 압축하며 바로 전송
+
+        String rows = StubInvoiceApi.invoiceRows(200);
+        try (HttpClientEngine engine = new HttpClientEngine(properties)) {
+            assertEquals("ok", engine.exchange(url(), HttpMethod.POST,
+                    (HttpClientEngine.BodyWriter) out -> out.write(rows.getBytes(StandardCharsets.UTF_8)), null,
+                    (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        assertEquals(WireFormat.JSON_CONTENT_TYPE + "|gzip|-|" + rows, received.get(0));
+    }
+
+    @Test
+    void unsupportedFormatFallsBackToJsonForThatPath() {
+        rejectColumnar = true;
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setFormat(PayloadFormat.COLUMNAR);
+
+        try (HttpClientEngine engine = new HttpClientEngine(properties)) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals("ok", engine.exchange(url(), HttpMethod.POST, ROWS, null,
+                        (status, in) -> new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        }
+        assertEquals(3, received.size()); // COLUMNAR 거부, JSON 재전송, 이후 JSON
+        assertTrue(received.get(0).startsWith(WireFormat.COLUMNAR_CONTENT_TYPE), received.get(0));
+        assertEquals(WireFormat.JSON_CONTENT_TYPE + "|-|-|" + ROWS, received.get(1));
+        assertEquals(received.get(1), received.get(2));
+    }
+
+    @Test
+    void decodeHandlesIdentityGzipAndDeflate() throws IOException {
+        byte[] json = ROWS.getBytes(StandardCharsets.UTF_8);
+        for (Compression compression : Compression.values()) {
+            WireFormat.Body body = new WireFormat(PayloadFormat.JSON, compression, 0, false).encode(json);
+            assertEquals(compression.token(), body.contentEncoding());
+            try (InputStream in = WireFormat.decode(new ByteArrayInputStream(body.bytes()), body.contentEncoding())) {
+                assertEquals(ROWS, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        WireFormat.Body small = new WireFormat(PayloadFormat.JSON, Compression.GZIP, 1024, false).encode(json);
+        assertNull(small.contentEncoding()); // compression-min-size 미만
+    }
+
+    /**
+     * 받은 요청을 "Content-Type|Content-Encoding|Accept-Encoding|본문" 으로 기록하고 "ok" 응답
+     */
+    private void respond(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        byte[] requestBody;
+        try (InputStream in = "gzip".equals(contentEncoding)
+                ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+        received.add(contentType + "|" + (contentEncoding == null ? "-" : contentEncoding) + "|"
+                + (acceptEncoding == null ? "-" : acceptEncoding) + "|" + new String(requestBody, StandardCharsets.UTF_8));
+        if (rejectColumnar && WireFormat.COLUMNAR_CONTENT_TYPE.equals(contentType)) {
+            exchange.sendResponseHeaders(415, -1);
+            exchange.close();
+            return;
+        }
+        byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(response);
+            }
+            response = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/resultTaxInvoice";
+    }
+}
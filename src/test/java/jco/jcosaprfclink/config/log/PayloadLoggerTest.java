@@ -0,0 +1,48 @@
+package jco.jcosaprfclink.config.log;
+
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadLoggerTest {
+
+    private final PayloadLogProperties properties = new PayloadLogProperties();
+
+    @Test
+    void tableRowsAreRedactedAndLimited() {
+        properties.setMaxRows(2);
+        JCoTable table = RecordedMetadata.invoiceTable(5, i -> "DOC" + i);
+
+        String rendered = new PayloadLogger(properties).renderTable(table);
+
+        assertTrue(rendered.startsWith("ZTAXT020 rows=5"), rendered);
+        assertTrue(rendered.contains("MGR_DOC_NO=DOC1"), rendered);
+        assertFalse(rendered.contains("DOC2"), rendered);
+        assertFalse(rendered.contains("1234567890"), rendered);
+        assertTrue(rendered.contains("CORP_BIZ_NO=" + PayloadLogger.MASK), rendered);
+        assertTrue(rendered.endsWith("... 3 rows"), rendered);
+    }
+
+    @Test
+    void jsonFieldsAreRedactedByNormalizedNameAndTruncated() {
+        properties.setMaxChars(60);
+        byte[] body = ("[{\"MGR_DOC_NO\":\"DOC0\",\"corpBizNo\":\"1234567890\",\"CORP_BIZ_NO\":{\"nested\":1}},"
+                + "{\"MGR_DOC_NO\":\"DOC1\",\"corpBizNo\":\"1234567890\"},"
+                + "{\"MGR_DOC_NO\":\"DOC2\",\"corpBizNo\":\"1234567890\"}]").getBytes(StandardCharsets.UTF_8);
+
+        PayloadLogger payloadLogger = new PayloadLogger(properties);
+        String rendered = payloadLogger.renderJson(body);
+
+        assertFalse(rendered.contains("1234567890"), rendered);
+        assertTrue(rendered.startsWith("[{\"MGR_DOC_NO\":\"DOC0\",\"corpBizNo\":\"***\",\"CORP_BIZ_NO\":\"***\"}"), rendered);
+        assertFalse(rendered.contains("DOC2"), rendered);
+        assertTrue(rendered.endsWith(" ... (" + body.length + " bytes)"), rendered);
+        assertEquals("(JSON 아님, 3 bytes)", payloadLogger.renderJson("{x:".getBytes(StandardCharsets.UTF_8)));
+    }
+}
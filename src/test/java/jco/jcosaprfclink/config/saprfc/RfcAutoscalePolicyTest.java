@@ -0,0 +1,113 @@
+package jco.jcosaprfclink.config.saprfc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RfcAutoscalePolicyTest {
+
+    private static final int TICKS_PER_SAMPLE = 10;
+
+    @Test
+    void burstScalesUpToMaxAndDrainsQueue() {
+        SimulatedCallSource source = new SimulatedCallSource(policy(2, 8), 2, 5);
+
+        source.run(600, tick -> 1); // 초당 10건, 처리 0.5초 -> 동시 5건 필요
+
+        assertTrue(source.maxConnections <= 8);
+        assertTrue(source.connections >= 5, "connections=" + source.connections);
+        assertTrue(source.queued.size() <= source.connections, "queue=" + source.queued.size());
+    }
+
+    @Test
+    void idleScalesBackDownToMin() {
+        SimulatedCallSource source = new SimulatedCallSource(policy(2, 8), 2, 5);
+        source.run(300, tick -> 2);
+        assertEquals(8, source.connections);
+
+        source.run(TICKS_PER_SAMPLE * 100, tick -> 0); // 밀린 호출 처리 후 6회 측정마다 1씩 감소
+
+        assertEquals(2, source.connections);
+        assertTrue(source.minConnections >= 2);
+    }
+
+    @Test
+    void steadyLoadDoesNotFlap() {
+        SimulatedCallSource source = new SimulatedCallSource(policy(1, 8), 4, 4);
+        source.run(100, tick -> tick % 2 == 0 ? 1 : 0); // 동시 2건, 사용률 0.5
+
+        int settled = source.connections;
+        int changes = source.changes;
+        source.run(1000, tick -> tick % 2 == 0 ? 1 : 0);
+
+        assertEquals(settled, source.connections);
+        assertEquals(changes, source.changes);
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        RfcServerProperties.Autoscale autoscale = new RfcServerProperties.Autoscale();
+        assertThrows(IllegalArgumentException.class, () -> new RfcAutoscalePolicy(0, 4, autoscale));
+        assertThrows(IllegalArgumentException.class, () -> new RfcAutoscalePolicy(4, 2, autoscale));
+    }
+
+    private static RfcAutoscalePolicy policy(int min, int max) {
+        return new RfcAutoscalePolicy(min, max, new RfcServerProperties.Autoscale());
+    }
+
+    /**
+     * 게이트웨이 대기열과 커넥션을 흉내 내는 호출 발생기, 1 tick = 100ms
+     */
+    private static class SimulatedCallSource {
+        private final RfcAutoscalePolicy policy;
+        private final int serviceTicks;
+        private final RfcGroupLoad load = new RfcGroupLoad();
+        private final Deque<Integer> queued = new ArrayDeque<>(); // 게이트웨이 대기 호출
+        private final Deque<Integer> running = new ArrayDeque<>(); // 처리 종료 tick
+        private int connections;
+        private int maxConnections;
+        private int minConnections;
+        private int changes;
+        private int now;
+
+        SimulatedCallSource(RfcAutoscalePolicy policy, int connections, int serviceTicks) {
+            this.policy = policy;
+            this.connections = connections;
+            this.maxConnections = connections;
+            this.minConnections = connections;
+            this.serviceTicks = serviceTicks;
+        }
+
+        void run(int ticks, IntUnaryOperator arrivals) {
+            for (int i = 0; i < ticks; i++, now++) {
+                while (!running.isEmpty() && running.peekFirst() <= now) {
+                    running.pollFirst();
+                    load.end();
+                }
+                for (int n = arrivals.applyAsInt(i); n > 0; n--) {
+                    queued.addLast(now);
+                }
+                while (!queued.isEmpty() && running.size() < connections) {
+                    queued.pollFirst();
+                    load.begin();
+                    running.addLast(now + serviceTicks);
+                }
+                if (now % TICKS_PER_SAMPLE == TICKS_PER_SAMPLE - 1) {
+                    int next = policy.decide(connections, load.samplePeak());
+                    if (next != connections) {
+                        changes++;
+                    }
+                    connections = next;
+                    maxConnections = Math.max(maxConnections, next);
+                    minConnections = Math.min(minConnections, next);
+                }
+            }
+        }
+    }
+}
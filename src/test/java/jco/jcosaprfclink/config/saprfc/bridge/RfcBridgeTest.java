@@ -0,0 +1,199 @@
+package jco.jcosaprfclink.config.saprfc.bridge;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.repository.RfcBridgeRepository;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ZFI_TAXINV_STATUS_TO_WEB 와 같은 연동을 설정만으로 등록해 StubInvoiceApi 로 확인
+ */
+class RfcBridgeTest {
+
+    private static final String FUNCTION = "ZFI_TAXINV_DOC_TO_WEB";
+
+    private final List<Object[]> persisted = new ArrayList<>();
+    private final List<String> statements = new ArrayList<>();
+    private StubInvoiceApi stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = StubInvoiceApi.echo(0L, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void resultsAreWrittenBackByKeyAndPersisted() throws Exception {
+        RfcBridgeProperties.Interface spec = spec();
+        RfcBridgeProperties.Persist persist = new RfcBridgeProperties.Persist();
+        persist.setTable("s_taxinvoice_doc");
+        persist.setColumns(List.of("mgrdoc_no=MGR_DOC_NO", "appr_no=APPR_NO", "result=RESULT"));
+        spec.setPersist(persist);
+        JCoTable table = table(5);
+
+        handle(spec, table);
+
+        assertEquals(3, stub.requestCount()); // chunk-size 2
+        for (int i = 0; i < 5; i++) {
+            table.setRow(i);
+            assertEquals("S", table.getString("RESULT"));
+            assertEquals("APPR-DOC" + i, table.getString("APPR_NO"));
+            assertEquals("KH_COM_0000", table.getString("ERR_CODE"));
+        }
+        assertEquals(List.of("INSERT INTO s_taxinvoice_doc (mgrdoc_no, appr_no, result) VALUES (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE appr_no = VALUES(appr_no), result = VALUES(result)"), statements);
+        assertEquals(5, persisted.size());
+        assertArrayEquals(new Object[]{"DOC3", "APPR-DOC3", "S"}, persisted.get(3));
+    }
+
+    @Test
+    void failedCallWritesErrorFieldsOrFailsTheRfc() throws Exception {
+        stub.status(500);
+        JCoTable table = table(3);
+
+        handle(spec(), table);
+
+        for (int i = 0; i < 3; i++) {
+            table.setRow(i);
+            assertEquals(ErrorCode.INTERNAL_SERVER_ERROR.getCode(), table.getString("ERR_CODE"));
+            assertEquals(ErrorCode.INTERNAL_SERVER_ERROR.getDescription(), table.getString("ERR_MSG"));
+        }
+
+        RfcBridgeProperties.Interface strict = spec();
+        strict.setErrorCodeField(null);
+        BusinessExceptionHandler e = assertThrows(BusinessExceptionHandler.class, () -> handle(strict, table(3)));
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, e.getErrorCode());
+    }
+
+    @Test
+    void partlyReadResponseIsNeitherWrittenNorPersisted() throws Exception {
+        stub.close();
+        stub = new StubInvoiceApi(("[{\"mgrdocNo\":\"DOC0\",\"result\":\"S\",\"apprNo\":\"APPR-DOC0\"},"
+                + "{\"mgrdocNo\":\"DOC1\",\"res").getBytes(StandardCharsets.UTF_8), 0L, 4);
+        RfcBridgeProperties.Interface spec = spec();
+        spec.setChunkSize(0);
+        RfcBridgeProperties.Persist persist = new RfcBridgeProperties.Persist();
+        persist.setTable("s_taxinvoice_doc");
+        persist.setColumns(List.of("mgrdoc_no=MGR_DOC_NO", "appr_no=APPR_NO", "result=RESULT"));
+        spec.setPersist(persist);
+        JCoTable table = table(2);
+
+        handle(spec, table);
+
+        for (int i = 0; i < 2; i++) {
+            table.setRow(i);
+            assertEquals("", table.getString("RESULT"));
+            assertEquals("", table.getString("APPR_NO"));
+            assertEquals(ErrorCode.IO_ERROR.getCode(), table.getString("ERR_CODE"));
+        }
+        assertTrue(persisted.isEmpty());
+    }
+
+    @Test
+    void firstResultPerKeyWinsAndNonObjectElementFailsTheChunk() throws Exception {
+        stub.close();
+        stub = new StubInvoiceApi(("[{\"mgrdocNo\":\"DOC0\",\"result\":\"S\",\"apprNo\":\"FIRST\"},"
+                + "{\"mgrdocNo\":\"DOC0\",\"result\":\"E\",\"apprNo\":\"SECOND\"}]").getBytes(StandardCharsets.UTF_8), 0L, 4);
+        RfcBridgeProperties.Interface spec = spec();
+        spec.setChunkSize(0);
+        JCoTable table = table(1);
+
+        handle(spec, table);
+
+        table.setRow(0);
+        assertEquals("S", table.getString("RESULT"));
+        assertEquals("FIRST", table.getString("APPR_NO"));
+
+        stub.close();
+        stub = new StubInvoiceApi(("[{\"mgrdocNo\":\"DOC0\",\"result\":\"S\",\"apprNo\":\"APPR-DOC0\"},\"DOC1\"]")
+                .getBytes(StandardCharsets.UTF_8), 0L, 4);
+        table = table(2);
+
+        handle(spec, table);
+
+        for (int i = 0; i < 2; i++) {
+            table.setRow(i);
+            assertEquals("", table.getString("APPR_NO"));
+            assertEquals(ErrorCode.JACKSON_PROCESS_ERROR.getCode(), table.getString("ERR_CODE"));
+        }
+    }
+
+    @Test
+    void invalidDescriptorFailsAtStartup() {
+        RfcBridgeProperties.Interface noKey = spec();
+        noKey.setKey(null);
+        RfcBridgeProperties.Interface badName = spec();
+        badName.setResponse(List.of("APPR NO=apprNo"));
+        RfcBridgeProperties.Interface duplicate = spec();
+        duplicate.setResponse(List.of("RESULT=result", "ERR_CODE=result"));
+
+        for (RfcBridgeProperties.Interface spec : List.of(noKey, badName, duplicate)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> bridge(spec));
+            assertTrue(e.getMessage().startsWith("rfc.bridge " + FUNCTION), e.getMessage());
+        }
+    }
+
+    private RfcBridgeProperties.Interface spec() {
+        RfcBridgeProperties.Interface spec = new RfcBridgeProperties.Interface();
+        spec.setFunction(FUNCTION);
+        spec.setInputTable("T_IF_ZTAXT020");
+        spec.setEndpoint("/resultTaxInvoice");
+        spec.setChunkSize(2);
+        spec.setKey("MGR_DOC_NO");
+        spec.setResponseKey("mgrdocNo");
+        spec.setResponse(List.of("RESULT=result", "SEND_DD=issueDd", "APPR_NO=apprNo", "ERR_CODE=errCode",
+                "ERR_MSG=errMsg", "DOC_STATE=docState", "DOC_STATE_NM=docStateNm"));
+        spec.setErrorCodeField("ERR_CODE");
+        spec.setErrorMessageField("ERR_MSG");
+        return spec;
+    }
+
+    private RfcBridge bridge(RfcBridgeProperties.Interface spec) {
+        RfcBridgeProperties properties = new RfcBridgeProperties();
+        properties.setInterfaces(List.of(spec));
+        RfcBridgeRepository repository = new RfcBridgeRepository(null, 1000) {
+            @Override
+            public int upsertAll(String sql, List<Object[]> rows) {
+                statements.add(sql);
+                persisted.addAll(rows);
+                return rows.size();
+            }
+        };
+        return new RfcBridge(properties, new RfcTableMapperRegistry(), new PayloadLogger(new PayloadLogProperties()),
+                repository, stub.baseUrl());
+    }
+
+    private void handle(RfcBridgeProperties.Interface spec, JCoTable table) throws Exception {
+        JCoFunction function = InMemoryJCo.function(FUNCTION, Map.of("T_IF_ZTAXT020", table));
+        bridge(spec).rfcHandlers().get(0).handler().handleRequest(InMemoryJCo.serverContext(null), function);
+    }
+
+    private static JCoTable table(int rows) {
+        return RecordedMetadata.invoiceTable(rows, i -> "DOC" + i);
+    }
+}
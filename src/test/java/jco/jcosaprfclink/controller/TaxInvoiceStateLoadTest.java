@@ -0,0 +1,104 @@
+package jco.jcosaprfclink.controller;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.RfcAsyncProperties;
+import jco.jcosaprfclink.config.saprfc.RfcHandlerRegistry;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.service.InvoiceApiGuard;
+import jco.jcosaprfclink.service.TaxInvoiceOutboxService;
+import jco.jcosaprfclink.service.TaxInvoiceStateCache;
+import jco.jcosaprfclink.service.TaxInvoiceStateService;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.support.RfcLoadDriver;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ZFI_TAXINV_STATUS_TO_WEB 로컬 부하 시험 (SAP 게이트웨이, DB 불필요)
+ * ./gradlew loadTest -PloadRate=200 -PloadCalls=2000 -PloadWorkers=8 -PloadRows=100 -PloadApiLatencyMs=20
+ */
+@Tag("load")
+class TaxInvoiceStateLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxInvoiceStateLoadTest.class);
+
+    private final double rate = Double.parseDouble(System.getProperty("load.rate", "20"));
+    private final int calls = Integer.getInteger("load.calls", 200);
+    private final int workers = Integer.getInteger("load.workers", 4);
+    private final int rows = Integer.getInteger("load.rows", 50);
+    private final long apiLatencyMs = Long.getLong("load.apiLatencyMs", 10L);
+
+    private StubInvoiceApi stub;
+    private TaxInvoiceStateService service;
+    private RfcHandlerRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = StubInvoiceApi.echo(apiLatencyMs, workers * 4);
+
+        service = new TaxInvoiceStateService();
+        ReflectionTestUtils.setField(service, "stateInvoiceSap",
+                new StateInvoiceSapImpl(new RfcTableMapperRegistry()));
+        ReflectionTestUtils.setField(service, "taxinvoiceStateRepository", mock(TaxinvoiceStateRepository.class));
+        ReflectionTestUtils.setField(service, "taxInvoiceOutboxService", mock(TaxInvoiceOutboxService.class));
+        ReflectionTestUtils.setField(service, "outboxProperties", new OutboxProperties());
+        InvoiceApiProperties invoiceApiProperties = new InvoiceApiProperties();
+        ReflectionTestUtils.setField(service, "invoiceApiProperties", invoiceApiProperties);
+        ReflectionTestUtils.setField(service, "taxInvoiceStateCache", new TaxInvoiceStateCache(invoiceApiProperties));
+        ReflectionTestUtils.setField(service, "payloadLogger", new PayloadLogger(new PayloadLogProperties()));
+        ReflectionTestUtils.setField(service, "invoiceApiGuard", new InvoiceApiGuard(invoiceApiProperties));
+        ReflectionTestUtils.setField(service, "apiUrl", stub.baseUrl());
+        service.init();
+
+        TaxInvoiceStateController controller = new TaxInvoiceStateController();
+        ReflectionTestUtils.setField(controller, "taxInvoiceStateService", service);
+        ReflectionTestUtils.setField(controller, "rfcAsyncProperties", new RfcAsyncProperties());
+        registry = new RfcHandlerRegistry(List.of(controller));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        stub.close();
+    }
+
+    @Test
+    void statusCallsAtConfiguredRate() {
+        AtomicReferenceArray<JCoTable> tables = new AtomicReferenceArray<>(calls);
+
+        RfcLoadDriver.Report report = RfcLoadDriver.of(registry, "ZFI_TAXINV_STATUS_TO_WEB", call -> {
+            JCoFunction function = RecordedMetadata.invoiceFunction(rows, i -> String.format("C%05dR%05d", call, i));
+            tables.set(call, function.getTableParameterList().getTable(RecordedMetadata.INVOICE_TABLE));
+            return function;
+        }).run(rate, calls, workers);
+
+        log.info("[load] rate={} workers={} rows={} apiLatencyMs={} {}", rate, workers, rows, apiLatencyMs, report);
+        assertEquals(0, report.failed(), report.toString());
+        assertEquals((long) calls * rows, stub.rowCount());
+        for (int call = 0; call < calls; call++) {
+            JCoTable table = tables.get(call);
+            table.setRow(rows - 1);
+            assertEquals("APPR-" + String.format("C%05dR%05d", call, rows - 1), table.getString("APPR_NO"));
+        }
+    }
+}
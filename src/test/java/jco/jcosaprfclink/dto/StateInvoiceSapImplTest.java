@@ -0,0 +1,124 @@
+package jco.jcosaprfclink.dto;
+
+import com.sap.conn.jco.JCoTable;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 JCo 워커 스레드에서 동시에 변환해도 호출끼리 결과가 섞이지 않고, 매퍼가 호출 간 상태를 갖지 않는지 확인
+ */
+class StateInvoiceSapImplTest {
+
+    private static final int CALLS = 4000;
+    private static final int WORKERS = 16;
+    private static final int ROWS = 50;
+
+    private final RfcTableMapperRegistry rfcTableMapperRegistry = new RfcTableMapperRegistry();
+    private final StateInvoiceSapImpl stateInvoiceSap = new StateInvoiceSapImpl(rfcTableMapperRegistry);
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsEachGetTheirOwnRows() throws Exception {
+        List<List<StateTaxinvoice>> results = run(CALLS);
+
+        assertEquals(CALLS * 4, results.size());
+        for (int call = 0; call < CALLS; call++) {
+            assertRows(call, results.get(call * 4), 0, ROWS);              // 테이블 전체
+            assertRows(call, results.get(call * 4 + 1), 10, 30);           // [from, to)
+            assertRows(call, results.get(call * 4 + 2), 0, ROWS);          // List<Map>
+            List<StateTaxinvoice> pending = results.get(call * 4 + 3);     // 짝수 행만
+            assertEquals(ROWS / 2, pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                assertEquals(docNo(call, i * 2), pending.get(i).getMgrdocNo());
+            }
+        }
+    }
+
+    @Test
+    void mapperKeepsNoStateBetweenCalls() {
+        for (Field field : StateInvoiceSapImpl.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                assertTrue(Modifier.isFinal(field.getModifiers()), field.getName());
+                assertEquals(RfcTableMapperRegistry.class, field.getType(), field.getName());
+            }
+        }
+
+        JCoTable table = table(0);
+        List<StateTaxinvoice> first = stateInvoiceSap.toEntityList(table);
+        List<StateTaxinvoice> second = stateInvoiceSap.toEntityList(table);
+        assertNotSame(first, second);
+        assertRows(0, first, 0, ROWS);
+        assertRows(0, second, 0, ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            assertNotSame(first.get(i), second.get(i));
+        }
+    }
+
+    /**
+     * 호출마다 새 테이블(워커가 받는 JCoFunction 과 같다)로 네 가지 변환을 수행
+     */
+    private List<List<StateTaxinvoice>> run(int calls) throws Exception {
+        List<Future<List<List<StateTaxinvoice>>>> futures = new ArrayList<>(calls);
+        for (int call = 0; call < calls; call++) {
+            int c = call;
+            futures.add(workers.submit(() -> {
+                JCoTable table = table(c);
+                List<Map<String, Object>> maps = rfcTableMapperRegistry.readMaps(table);
+                int[] even = new int[ROWS / 2];
+                for (int i = 0; i < even.length; i++) {
+                    even[i] = i * 2;
+                }
+                return List.of(
+                        stateInvoiceSap.toEntityList(table),
+                        stateInvoiceSap.toEntityList(table, 10, 30),
+                        stateInvoiceSap.toEntityList(maps),
+                        stateInvoiceSap.toEntityList(table, even, 0, even.length));
+            }));
+        }
+        List<List<StateTaxinvoice>> results = new ArrayList<>(calls * 4);
+        for (Future<List<List<StateTaxinvoice>>> future : futures) {
+            results.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static void assertRows(int call, List<StateTaxinvoice> rows, int from, int to) {
+        assertEquals(to - from, rows.size());
+        for (int i = from; i < to; i++) {
+            StateTaxinvoice row = rows.get(i - from);
+            assertEquals(docNo(call, i), row.getMgrdocNo());
+            assertEquals("user" + call, row.getUserId());
+            assertEquals("NARINER", row.getChannel());
+        }
+    }
+
+    private static JCoTable table(int call) {
+        return RecordedMetadata.invoiceTable(ROWS, i -> docNo(call, i), "user" + call);
+    }
+
+    private static String docNo(int call, int row) {
+        return String.format("MGR%06d%04d", call, row);
+    }
+}
@@ -0,0 +1,162 @@
+package jco.jcosaprfclink.service;
+
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.ErrorCode;
+import jco.jcosaprfclink.type.HttpMethod;
+import jco.jcosaprfclink.utils.CircuitBreaker;
+import jco.jcosaprfclink.utils.HttpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StubInvoiceApi 에 지연/오류를 주입해 서킷 브레이커와 동시 호출 상한 동작 확인
+ */
+class InvoiceApiGuardTest {
+
+    private static final String BODY = StubInvoiceApi.invoiceRows(1);
+
+    private final InvoiceApiProperties properties = new InvoiceApiProperties();
+    private StubInvoiceApi stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = StubInvoiceApi.echo(0L, 8);
+        InvoiceApiProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        breaker.setWindowSize(10);
+        breaker.setMinimumCalls(5);
+        breaker.setSlowCallDuration(Duration.ofMillis(100));
+        breaker.setOpenDuration(Duration.ofMillis(300));
+        breaker.setHalfOpenCalls(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void slowApiOpensBreakerAndRecoveryClosesIt() throws InterruptedException {
+        properties.getLimiter().setEnabled(false);
+        InvoiceApiGuard guard = new InvoiceApiGuard(properties);
+
+        for (int i = 0; i < 5; i++) {
+            call(guard);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+
+        stub.latency(200);
+        for (int i = 0; i < 5 && guard.state() == CircuitBreaker.State.CLOSED; i++) {
+            call(guard);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+
+        // 열려 있는 동안에는 웹 API 로 요청이 가지 않는다.
+        long requests = stub.requestCount();
+        BusinessExceptionHandler e = assertThrows(BusinessExceptionHandler.class, () -> call(guard));
+        assertEquals(ErrorCode.WEB_API_CIRCUIT_OPEN, e.getErrorCode());
+        assertTrue(InvoiceApiGuard.rejected(e));
+        assertEquals(requests, stub.requestCount());
+
+        stub.latency(0);
+        Thread.sleep(350);
+        call(guard);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, guard.state());
+        call(guard);
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void serverErrorsOpenBreakerButBadRequestsDoNot() {
+        properties.getLimiter().setEnabled(false);
+        InvoiceApiGuard guard = new InvoiceApiGuard(properties);
+
+        for (int status : new int[]{400, 404, 409, 401, 422}) {
+            stub.status(status);
+            for (int i = 0; i < 2; i++) {
+                BusinessExceptionHandler e = assertThrows(BusinessExceptionHandler.class, () -> call(guard));
+                assertTrue(InvoiceApiGuard.permanent(e), status + " -> " + e.getErrorCode());
+            }
+        }
+        stub.status(400);
+        assertEquals(ErrorCode.INVALID_REQUEST, assertThrows(BusinessExceptionHandler.class, () -> call(guard)).getErrorCode());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+
+        for (int i = 0; i < 5; i++) {
+            stub.status(i % 2 == 0 ? 500 : 503);
+            BusinessExceptionHandler e = assertThrows(BusinessExceptionHandler.class, () -> call(guard));
+            assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, e.getErrorCode());
+            assertFalse(InvoiceApiGuard.permanent(e));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+        assertTrue(guard.isOpen());
+    }
+
+    @Test
+    void limiterRejectsBeyondLimitAndBacksOffOnLatency() throws Exception {
+        properties.getCircuitBreaker().setEnabled(false);
+        InvoiceApiProperties.Limiter limiter = properties.getLimiter();
+        limiter.setInitialLimit(2);
+        limiter.setMaxWait(Duration.ZERO);
+        InvoiceApiGuard guard = new InvoiceApiGuard(properties);
+
+        stub.latency(300);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(callers.submit(() -> call(guard)));
+                Thread.sleep(50);
+            }
+            int overloaded = 0;
+            for (Future<String> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    BusinessExceptionHandler cause = (BusinessExceptionHandler) e.getCause();
+                    assertEquals(ErrorCode.WEB_API_OVERLOADED, cause.getErrorCode());
+                    overloaded++;
+                }
+            }
+            assertEquals(1, overloaded);
+            assertEquals(2, stub.requestCount());
+        } finally {
+            callers.shutdownNow();
+        }
+
+        limiter.setInitialLimit(10);
+        limiter.setMaxWait(Duration.ofSeconds(1));
+        InvoiceApiGuard latencyGuard = new InvoiceApiGuard(properties);
+        stub.latency(20); // 기준 응답 시간
+        for (int i = 0; i < 5; i++) {
+            call(latencyGuard);
+        }
+        assertEquals(10, latencyGuard.limit());
+        stub.latency(100); // 기준의 2배 초과
+        for (int i = 0; i < 3; i++) {
+            call(latencyGuard);
+        }
+        assertTrue(latencyGuard.limit() < 10, "limit=" + latencyGuard.limit());
+    }
+
+    private String call(InvoiceApiGuard guard) {
+        return guard.call(() -> HttpUtil.sendHttpRequest(stub.baseUrl() + "/resultTaxInvoice", HttpMethod.POST,
+                BODY, null));
+    }
+}
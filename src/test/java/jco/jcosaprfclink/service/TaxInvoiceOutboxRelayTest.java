@@ -0,0 +1,152 @@
+package jco.jcosaprfclink.service;
+
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.domain.TaxInvoiceOutbox;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.support.StubInvoiceApi;
+import jco.jcosaprfclink.type.OutboxStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 재전송 chunk 는 서로 독립적으로 전송/기록되는지 StubInvoiceApi 로 확인
+ */
+class TaxInvoiceOutboxRelayTest {
+
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private final InvoiceApiProperties invoiceApiProperties = new InvoiceApiProperties();
+    private final Map<String, OutboxStatus> recorded = new ConcurrentHashMap<>();
+    private final AtomicInteger upserts = new AtomicInteger();
+    private List<TaxInvoiceOutbox> due = new ArrayList<>();
+    private volatile boolean failFirstUpsert;
+    private StubInvoiceApi stub;
+    private TaxInvoiceOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = StubInvoiceApi.echo(0L, 4);
+        outboxProperties.setEnabled(true);
+        outboxProperties.setPollInterval(Duration.ofHours(1)); // drain() 직접 호출
+        outboxProperties.setChunkSize(2);
+        TaxInvoiceOutboxService outboxService = new TaxInvoiceOutboxService(null, outboxProperties) {
+            @Override
+            public List<TaxInvoiceOutbox> claim() {
+                List<TaxInvoiceOutbox> claimed = due;
+                due = List.of();
+                return claimed;
+            }
+
+            @Override
+            public void markDone(Collection<String> mgrdocNos) {
+                mgrdocNos.forEach(no -> recorded.put(no, OutboxStatus.DONE));
+            }
+
+            @Override
+            public void markFailed(Collection<String> mgrdocNos, String errCode, String errMsg) {
+                mgrdocNos.forEach(no -> recorded.put(no, OutboxStatus.PENDING));
+            }
+
+            @Override
+            public void release(Collection<String> mgrdocNos) {
+                mgrdocNos.forEach(no -> recorded.put(no, OutboxStatus.IN_FLIGHT)); // 시도 횟수 환원
+            }
+
+            @Override
+            public void markDead(Collection<String> mgrdocNos, String errCode, String errMsg) {
+                mgrdocNos.forEach(no -> recorded.put(no, OutboxStatus.DEAD));
+            }
+        };
+        TaxinvoiceStateRepository repository = (TaxinvoiceStateRepository) Proxy.newProxyInstance(
+                TaxinvoiceStateRepository.class.getClassLoader(), new Class<?>[]{TaxinvoiceStateRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("upsertAll") && upserts.getAndIncrement() == 0 && failFirstUpsert) {
+                        throw new IllegalStateException("deadlock");
+                    }
+                    return method.getReturnType() == int.class ? 0 : null;
+                });
+        relay = new TaxInvoiceOutboxRelay(outboxProperties, outboxService, repository,
+                new InvoiceApiGuard(invoiceApiProperties));
+        ReflectionTestUtils.setField(relay, "apiUrl", stub.baseUrl());
+        relay.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+        stub.close();
+    }
+
+    @Test
+    void failedChunkDoesNotStopOrUndoTheOthers() {
+        failFirstUpsert = true; // 첫 chunk 결과 저장만 실패
+        due = outbox(6);
+
+        relay.drain();
+
+        assertEquals(3, stub.requestCount());
+        assertEquals(3, upserts.get());
+        assertEquals(4, recorded.size()); // 저장 실패 chunk 는 기록하지 않고 점유 만료 후 다시 전송
+        assertEquals(Collections.nCopies(4, OutboxStatus.DONE), new ArrayList<>(recorded.values()));
+    }
+
+    @Test
+    void guardRejectionIsNotCountedAsAnAttempt() {
+        InvoiceApiProperties.Limiter limiter = invoiceApiProperties.getLimiter();
+        limiter.setInitialLimit(1);
+        limiter.setMaxLimit(1);
+        limiter.setMaxWait(Duration.ZERO);
+        ReflectionTestUtils.setField(relay, "invoiceApiGuard", new InvoiceApiGuard(invoiceApiProperties));
+        stub.latency(300);
+        due = outbox(4); // 2 chunk 동시 전송, 하나는 WEB_API_OVERLOADED
+
+        relay.drain();
+
+        assertEquals(1, stub.requestCount());
+        assertEquals(2, Collections.frequency(recorded.values(), OutboxStatus.DONE));
+        assertEquals(2, Collections.frequency(recorded.values(), OutboxStatus.IN_FLIGHT)); // markFailed 아님
+    }
+
+    @Test
+    void interruptedDrainStillRecordsChunksInFlight() throws InterruptedException {
+        stub.latency(200);
+        due = outbox(4); // 2 chunk 동시 전송
+
+        Thread drainer = new Thread(relay::drain);
+        drainer.start();
+        Thread.sleep(50);
+        drainer.interrupt(); // 종료 중 scheduler.shutdownNow 와 같다
+        drainer.join(5000);
+
+        assertEquals(2, stub.requestCount());
+        assertEquals(Collections.nCopies(4, OutboxStatus.DONE), new ArrayList<>(recorded.values()));
+    }
+
+    private static List<TaxInvoiceOutbox> outbox(int rows) {
+        List<TaxInvoiceOutbox> outboxList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            outboxList.add(TaxInvoiceOutbox.builder()
+                    .mgrdocNo("DOC" + i)
+                    .payload("{\"MGR_DOC_NO\":\"DOC" + i + "\",\"CORP_BIZ_NO\":\"1234567890\",\"USER_ID\":\"PBILLRFC\"}")
+                    .status(OutboxStatus.IN_FLIGHT)
+                    .attempts(1)
+                    .build());
+        }
+        return outboxList;
+    }
+}
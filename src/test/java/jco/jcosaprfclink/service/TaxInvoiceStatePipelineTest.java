@@ -0,0 +1,208 @@
+package jco.jcosaprfclink.service;
+
+import com.sap.conn.jco.JCoFunction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jco.jcosaprfclink.config.saprfc.RfcAsyncProperties;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.domain.RfcInbound;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.type.InboundStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 접수 슬롯은 잡은 만큼만 돌려주고, 중복 commit 은 아무것도 하지 않는지 확인
+ */
+class TaxInvoiceStatePipelineTest {
+
+    private final Map<String, RfcInbound> inbounds = new ConcurrentHashMap<>();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger inline = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile boolean failing;
+    private final RfcAsyncProperties properties = new RfcAsyncProperties();
+    private TaxInvoiceStatePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(0); // 슬롯 1개
+        properties.setBackpressure(RfcAsyncProperties.Backpressure.CALLER_RUNS);
+        properties.setMaxAttempts(2);
+        TaxInvoiceStateService service = new TaxInvoiceStateService() {
+            @Override
+            public void taxinvoiceState(JCoFunction jCofunction) {
+                inline.incrementAndGet();
+            }
+
+            @Override
+            public void taxinvoiceStatePayload(String payload) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                processed.incrementAndGet();
+                if (failing) {
+                    throw new IllegalStateException("web api down");
+                }
+            }
+        };
+        pipeline = new TaxInvoiceStatePipeline(properties, new InMemoryInboundService(), service,
+                new StateInvoiceSapImpl(new RfcTableMapperRegistry()), new SimpleMeterRegistry());
+        pipeline.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        pipeline.shutdown();
+    }
+
+    @Test
+    void callerRunsAndDuplicateTidsDoNotReleaseSlotsTheyNeverTook() throws Exception {
+        release = new CountDownLatch(1);
+        pipeline.accept(InMemoryJCo.serverContext("TID1"), function());
+        pipeline.commit("TID1");
+        assertEquals(0, pipeline.availableSlots());
+
+        pipeline.accept(InMemoryJCo.serverContext("TID2"), function()); // 슬롯 없음, 바로 처리
+        pipeline.commit("TID2");
+        assertEquals(1, inline.get());
+        assertEquals(0, pipeline.availableSlots());
+
+        release.countDown();
+        await(() -> inbounds.get("TID1").getStatus() == InboundStatus.DONE);
+        await(() -> pipeline.availableSlots() == 1);
+
+        pipeline.accept(InMemoryJCo.serverContext("TID1"), function()); // 중복 수신
+        pipeline.commit("TID1");
+        pipeline.commit("TID1");
+        Thread.sleep(100);
+        assertEquals(1, processed.get());
+        assertEquals(InboundStatus.DONE, inbounds.get("TID1").getStatus());
+        assertEquals(1, pipeline.availableSlots());
+    }
+
+    @Test
+    void failedRowsAreRetriedUntilMaxAttempts() throws Exception {
+        failing = true;
+        pipeline.accept(InMemoryJCo.serverContext(null), function());
+        await(() -> inbounds.values().iterator().next().getAttempts() == 1);
+        await(() -> pipeline.availableSlots() == 1);
+
+        pipeline.resubmit(false);
+        await(() -> inbounds.values().iterator().next().getAttempts() == 2);
+        await(() -> pipeline.availableSlots() == 1);
+
+        pipeline.resubmit(false); // 재시도 상한
+        Thread.sleep(100);
+        assertEquals(2, processed.get());
+        assertEquals(InboundStatus.FAILED, inbounds.values().iterator().next().getStatus());
+        assertEquals(1, pipeline.availableSlots());
+    }
+
+    @Test
+    void resentOrAbandonedTidsGiveTheirSlotBack() throws Exception {
+        pipeline.accept(InMemoryJCo.serverContext("TID1"), function());
+        assertEquals(0, pipeline.availableSlots());
+
+        assertTrue(pipeline.checkTid("TID1")); // commit 전 재전송, 이전 수신분 삭제
+        assertEquals(1, pipeline.availableSlots());
+        pipeline.accept(InMemoryJCo.serverContext("TID1"), function());
+        pipeline.commit("TID1");
+        await(() -> inbounds.get("TID1").getStatus() == InboundStatus.DONE);
+        await(() -> pipeline.availableSlots() == 1);
+
+        properties.setReceivedLease(Duration.ZERO);
+        pipeline.accept(InMemoryJCo.serverContext("TID2"), function()); // commit/rollback 없음
+        assertEquals(0, pipeline.availableSlots());
+        Thread.sleep(5);
+        pipeline.expireReceived();
+        assertEquals(1, pipeline.availableSlots());
+        assertNull(inbounds.get("TID2"));
+    }
+
+    private static JCoFunction function() {
+        return RecordedMetadata.invoiceFunction(1, i -> "DOC" + i);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+    }
+
+    private final class InMemoryInboundService extends RfcInboundService {
+        InMemoryInboundService() {
+            super(null, null);
+        }
+
+        @Override
+        public void receive(RfcInbound inbound, List<StateTaxinvoice> stateTaxinvoiceList) {
+            inbound.setCreatedAt(LocalDateTime.now());
+            inbounds.put(inbound.getId(), inbound);
+        }
+
+        @Override
+        public void updateStatus(String id, InboundStatus status, String errMsg) {
+            inbounds.get(id).setStatus(status);
+        }
+
+        @Override
+        public void markFailed(String id, String errMsg) {
+            RfcInbound inbound = inbounds.get(id);
+            inbound.setAttempts(inbound.getAttempts() + 1);
+            inbound.setStatus(InboundStatus.FAILED);
+        }
+
+        @Override
+        public boolean deleteReceived(String id) {
+            RfcInbound inbound = inbounds.get(id);
+            return inbound != null && inbound.getStatus() == InboundStatus.RECEIVED && inbounds.remove(id, inbound);
+        }
+
+        @Override
+        public List<String> findExpiredReceived(LocalDateTime before) {
+            return inbounds.values().stream()
+                    .filter(i -> i.getStatus() == InboundStatus.RECEIVED && i.getCreatedAt().isBefore(before))
+                    .map(RfcInbound::getId)
+                    .toList();
+        }
+
+        @Override
+        public Optional<RfcInbound> find(String id) {
+            return Optional.ofNullable(inbounds.get(id));
+        }
+
+        @Override
+        public List<RfcInbound> findRecoverable(boolean startup, int maxAttempts) {
+            return inbounds.values().stream()
+                    .filter(i -> i.getStatus() == InboundStatus.QUEUED
+                            || i.getStatus() == InboundStatus.FAILED && i.getAttempts() < maxAttempts)
+                    .toList();
+        }
+    }
+}
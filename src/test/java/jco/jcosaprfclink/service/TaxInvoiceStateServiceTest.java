@@ -0,0 +1,370 @@
+package jco.jcosaprfclink.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoTable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jco.jcosaprfclink.config.http.InvoiceApiProperties;
+import jco.jcosaprfclink.config.http.OutboxProperties;
+import jco.jcosaprfclink.config.log.PayloadLogProperties;
+import jco.jcosaprfclink.config.log.PayloadLogger;
+import jco.jcosaprfclink.config.saprfc.mapper.RfcTableMapperRegistry;
+import jco.jcosaprfclink.domain.StateTaxinvoice;
+import jco.jcosaprfclink.dto.StateInvoiceSapImpl;
+import jco.jcosaprfclink.dto.TaxInvoiceStateResult;
+import jco.jcosaprfclink.exception.BusinessExceptionHandler;
+import jco.jcosaprfclink.repository.TaxinvoiceStateRepository;
+import jco.jcosaprfclink.support.InMemoryJCo;
+import jco.jcosaprfclink.support.RecordedMetadata;
+import jco.jcosaprfclink.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaxInvoiceStateServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int ROWS = 40;
+    private static final int CHUNK = 5;
+
+    private final List<Integer> responseOrder = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private TaxInvoiceStateService service;
+    private TaxinvoiceStateRepository repository;
+    private TaxInvoiceOutboxService outboxService;
+    private UnaryOperator<ArrayNode> responseEdit = UnaryOperator.identity();
+    private volatile int responseStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/resultTaxInvoice", this::respondLaterChunksFirst);
+        server.start();
+
+        InvoiceApiProperties invoiceApiProperties = new InvoiceApiProperties();
+        invoiceApiProperties.setChunkSize(CHUNK);
+        invoiceApiProperties.setMaxConcurrency(4);
+        invoiceApiProperties.getCache().setEnabled(true);
+        invoiceApiProperties.getCache().setFinalStates(List.of("04"));
+        repository = mock(TaxinvoiceStateRepository.class);
+
+        service = new TaxInvoiceStateService();
+        service.stateInvoiceSap = new StateInvoiceSapImpl(new RfcTableMapperRegistry());
+        service.taxinvoiceStateRepository = repository;
+        outboxService = mock(TaxInvoiceOutboxService.class);
+        service.taxInvoiceOutboxService = outboxService;
+        service.outboxProperties = new OutboxProperties();
+        service.outboxProperties.setEnabled(true);
+        service.invoiceApiProperties = invoiceApiProperties;
+        service.taxInvoiceStateCache = new TaxInvoiceStateCache(invoiceApiProperties);
+        service.payloadLogger = new PayloadLogger(new PayloadLogProperties());
+        service.invoiceApiGuard = new InvoiceApiGuard(invoiceApiProperties);
+        ReflectionTestUtils.setField(service, "apiUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void outOfOrderChunkResponsesAreWrittenBackToTheirOwnRows() {
+        JCoTable table = table();
+        JCoTable confined = confinedTo(Thread.currentThread(), table);
+        JCoFunction function = InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", confined));
+
+        service.taxinvoiceState(function);
+
+        List<Integer> sorted = new ArrayList<>(responseOrder);
+        Collections.sort(sorted);
+        assertEquals(ROWS / CHUNK, responseOrder.size());
+        assertNotEquals(sorted, responseOrder, "응답이 요청 순서대로 도착함");
+        for (int i = 0; i < ROWS; i++) {
+            table.setRow(i);
+            assertEquals("APPR-" + docNo(i), table.getString("APPR_NO"), "row " + i);
+            assertEquals("KH_COM_0000", table.getString("ERR_CODE"), "row " + i);
+            assertEquals("세금계산서 조회 완료", table.getString("ERR_MSG"), "row " + i);
+        }
+        verify(repository, times(ROWS / CHUNK)).upsertAll(anyList()); // chunk 마다 요청+결과 한번에 저장
+    }
+
+    @Test
+    void reorderedPartialResponseIsMatchedByMgrDocNo() {
+        responseEdit = results -> {
+            ArrayNode edited = MAPPER.createArrayNode();
+            for (int i = results.size() - 1; i >= 0; i--) {
+                if (!results.get(i).path("mgrdocNo").asText().equals(docNo(7))) { // 7번 행 결과 누락
+                    edited.add(results.get(i));
+                }
+            }
+            edited.addObject().put("mgrdocNo", "UNKNOWN").put("errCode", "KH_COM_0000"); // 요청하지 않은 결과
+            return edited;
+        };
+        JCoTable table = table();
+
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+
+        for (int i = 0; i < ROWS; i++) {
+            table.setRow(i);
+            if (i == 7) {
+                assertEquals("WEB_API_NO_RESULT", table.getString("ERR_CODE"));
+                assertEquals("", table.getString("APPR_NO"));
+            } else {
+                assertEquals("APPR-" + docNo(i), table.getString("APPR_NO"), "row " + i);
+            }
+        }
+        verify(outboxService, times(1)).enqueue(anyMap(), anyString(), anyString());
+    }
+
+    @Test
+    void cachedFinalStatesAreAnsweredWithoutCallingTheApi() {
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table())));
+        JCoTable table = table(ROWS + 3); // 새 문서 3건만 웹 API 로 전송
+
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+
+        assertEquals(ROWS / CHUNK + 1, responseOrder.size());
+        for (int i = 0; i < ROWS + 3; i++) {
+            table.setRow(i);
+            assertEquals("APPR-" + docNo(i), table.getString("APPR_NO"), "row " + i);
+            assertEquals("04", table.getString("DOC_STATE"), "row " + i);
+        }
+        verify(repository, times(ROWS / CHUNK + 1)).upsertAll(anyList());
+    }
+
+    @Test
+    void openBreakerWithoutOutboxMarksRowsWithoutCallingTheApi() {
+        InvoiceApiGuard guard = new InvoiceApiGuard(service.invoiceApiProperties);
+        for (int i = 0; i < 10; i++) { // 기본값: 최근 10건 이상, 실패율 50% 이상이면 연다
+            assertThrows(BusinessExceptionHandler.class, () -> guard.call(() -> {
+                throw new BusinessExceptionHandler(ErrorCode.INTERNAL_SERVER_ERROR);
+            }));
+        }
+        service.invoiceApiGuard = guard;
+        service.outboxProperties.setEnabled(false);
+        JCoTable table = table();
+
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+
+        assertEquals(0, responseOrder.size());
+        for (int i = 0; i < ROWS; i++) {
+            table.setRow(i);
+            assertEquals(ErrorCode.WEB_API_CIRCUIT_OPEN.name(), table.getString("ERR_CODE"), "row " + i);
+        }
+    }
+
+    @Test
+    void serverErrorIsQueuedWithCodeThatFitsErrCodeColumns() {
+        responseStatus = 500;
+        JCoTable table = table();
+
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+
+        String code = ErrorCode.INTERNAL_SERVER_ERROR.getCode();
+        for (int i = 0; i < ROWS; i++) {
+            table.setRow(i);
+            assertEquals(code, table.getString("ERR_CODE"), "row " + i); // CHAR 20 에 잘리지 않음
+        }
+        verify(outboxService, times(ROWS / CHUNK)).enqueue(anyMap(), eq(code), anyString());
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            assertTrue(errorCode.getCode().length() <= ErrorCode.CODE_LENGTH, errorCode.name());
+        }
+    }
+
+    @Test
+    void webApiErrorCodeAndMessageAreBoundedToTheirColumns() {
+        String longCode = "KH_ERR_" + "9".repeat(30);
+        String longMessage = "오류".repeat(150);
+        responseEdit = results -> {
+            ((ObjectNode) results.get(3)).put("errCode", longCode).put("errMsg", longMessage);
+            return results;
+        };
+        JCoTable table = table();
+
+        service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+
+        table.setRow(3);
+        assertEquals(longCode.substring(0, ErrorCode.CODE_LENGTH), table.getString("ERR_CODE"));
+        assertEquals(longMessage.substring(0, ErrorCode.MESSAGE_LENGTH), table.getString("ERR_MSG"));
+        TaxInvoiceStateResult result = new TaxInvoiceStateResult();
+        result.setErrCode(longCode);
+        result.setErrMsg(longMessage);
+        StateTaxinvoice entity = TaxInvoiceStateService.toResultEntity(result);
+        assertEquals(ErrorCode.CODE_LENGTH, entity.getErrCode().length());
+        assertEquals(ErrorCode.MESSAGE_LENGTH, entity.getErrMsg().length());
+    }
+
+    @Test
+    void coalescingWindowSendsEachDocumentOnceAcrossConcurrentCalls() throws Exception {
+        service.shutdown();
+        service.invoiceApiProperties.setCoalesceWindow(Duration.ofMillis(20));
+        service.init();
+        JCoTable first = table();
+        JCoTable second = table();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> calls = new ArrayList<>();
+            for (JCoTable table : List.of(first, second)) {
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    service.taxinvoiceState(InMemoryJCo.function("ZFI_TAXINV_STATUS_TO_WEB", Map.of("T_IF_ZTAXT020", table)));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        int sent = 0;
+        for (String request : requests) {
+            sent += MAPPER.readTree(request).size();
+        }
+        assertEquals(ROWS, sent); // 진행 중인 조회를 함께 받거나 캐시에서 응답
+        for (JCoTable table : List.of(first, second)) {
+            for (int i = 0; i < ROWS; i++) {
+                table.setRow(i);
+                assertEquals("APPR-" + docNo(i), table.getString("APPR_NO"), "row " + i);
+            }
+        }
+    }
+
+    @Test
+    void asyncPayloadIsSentInChunkSizeWindowsWithRowsUnchanged() {
+        StringBuilder payload = new StringBuilder("[");
+        for (int i = 0; i < ROWS; i++) {
+            payload.append(i == 0 ? "" : ",").append("{\"MGR_DOC_NO\":\"").append(docNo(i))
+                    .append("\",\"CORP_BIZ_NO\":\"1234567890\",\"SUP_AMT\":1234567890123.4500}");
+        }
+        payload.append(']');
+
+        service.taxinvoiceStatePayload(payload.toString());
+
+        assertEquals(ROWS / CHUNK, requests.size());
+        for (String request : requests) {
+            assertEquals(CHUNK, request.split("\"MGR_DOC_NO\"").length - 1, request);
+            assertTrue(request.contains("\"SUP_AMT\":1234567890123.4500}"), request); // 행 원문 그대로
+        }
+        verify(repository, times(ROWS / CHUNK)).upsertAll(anyList());
+
+        responseStatus = 500;
+        service.taxinvoiceStatePayload(payload.toString());
+        verify(outboxService, times(ROWS / CHUNK)).enqueue(anyMap(), eq(ErrorCode.INTERNAL_SERVER_ERROR.getCode()), anyString());
+    }
+
+    /**
+     * 뒤쪽 chunk 일수록 빨리 응답
+     */
+    private void respondLaterChunksFirst(HttpExchange exchange) throws IOException {
+        byte[] request = exchange.getRequestBody().readAllBytes();
+        requests.add(new String(request, StandardCharsets.UTF_8));
+        JsonNode rows = MAPPER.readTree(request);
+        if (responseStatus != 200) {
+            exchange.sendResponseHeaders(responseStatus, -1);
+            exchange.close();
+            return;
+        }
+        int chunk = Integer.parseInt(rows.get(0).path("MGR_DOC_NO").asText().substring(3)) / CHUNK;
+        try {
+            Thread.sleep((ROWS / CHUNK - chunk) * 20L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ArrayNode results = MAPPER.createArrayNode();
+        for (JsonNode row : rows) {
+            String docNo = row.path("MGR_DOC_NO").asText();
+            results.addObject()
+                    .put("channel", "NARINER")
+                    .put("corpBizNo", row.path("CORP_BIZ_NO").asText())
+                    .put("mgrdocNo", docNo)
+                    .put("userId", row.path("USER_ID").asText())
+                    .put("result", "S")
+                    .put("errCode", "KH_COM_0000")
+                    .put("errMsg", "")
+                    .put("issueDd", "20240105")
+                    .put("apprNo", "APPR-" + docNo)
+                    .put("docState", "04")
+                    .put("docStateNm", "발행완료");
+        }
+        byte[] body = MAPPER.writeValueAsBytes(responseEdit.apply(results));
+        responseOrder.add(chunk);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * owner 스레드 외에서 접근하면 실패하는 JCoTable
+     */
+    private static JCoTable confinedTo(Thread owner, JCoTable table) {
+        return (JCoTable) Proxy.newProxyInstance(JCoTable.class.getClassLoader(), new Class<?>[]{JCoTable.class},
+                (proxy, method, args) -> {
+                    assertSame(owner, Thread.currentThread(), "JCoTable." + method.getName());
+                    try {
+                        return method.invoke(table, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static JCoTable table() {
+        return table(ROWS);
+    }
+
+    private static JCoTable table(int rows) {
+        return RecordedMetadata.invoiceTable(rows, TaxInvoiceStateServiceTest::docNo);
+    }
+
+    private static String docNo(int row) {
+        return String.format("DOC%05d", row);
+    }
+}
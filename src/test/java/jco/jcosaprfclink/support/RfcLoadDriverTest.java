@@ -0,0 +1,64 @@
+package jco.jcosaprfclink.support;
+
+import com.sap.conn.jco.AbapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RfcLoadDriverTest {
+
+    @Test
+    void callsAreSpacedByRate() {
+        RfcLoadDriver.Report report = new RfcLoadDriver((ctx, function) -> {
+        }, call -> RecordedMetadata.function("ZFI_TAXINV_STATUS_TO_WEB")).run(200, 21, 4);
+
+        // 21번째 호출은 시작 후 100ms 에 예정
+        assertTrue(report.elapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(100), report.toString());
+        assertEquals(0, report.failed());
+    }
+
+    @Test
+    void failuresAreCountedByAbapKeyOrExceptionType() {
+        RfcLoadDriver.Report report = new RfcLoadDriver((ctx, function) -> {
+            int rows = function.getTableParameterList().getTable("T_IF_ZTAXT020").getNumRows();
+            if (rows % 3 == 1) {
+                throw new AbapException("NO_DATA", "no data");
+            }
+            if (rows % 3 == 2) {
+                throw new IllegalStateException("boom");
+            }
+        }, call -> {
+            var function = RecordedMetadata.function("ZFI_TAXINV_STATUS_TO_WEB");
+            var table = function.getTableParameterList().getTable("T_IF_ZTAXT020");
+            for (int i = 0; i < call % 3; i++) {
+                table.appendRow();
+            }
+            return function;
+        }).run(0, 9, 3);
+
+        assertEquals(Map.of("ABAP:NO_DATA", 3, "IllegalStateException", 3), report.failures());
+        assertEquals(6, report.failed());
+    }
+
+    @Test
+    void latencyIncludesQueueingBehindBusyWorkers() {
+        RfcLoadDriver.Report report = new RfcLoadDriver((ctx, function) -> sleep(20),
+                call -> RecordedMetadata.function("ZFI_TAXINV_STATUS_TO_WEB")).run(0, 4, 1);
+
+        // 워커 1개에 동시 예정 4건: 마지막 호출은 앞선 3건을 기다린다
+        assertTrue(report.max() >= TimeUnit.MILLISECONDS.toNanos(80), report.toString());
+        assertTrue(report.percentile(25) < TimeUnit.MILLISECONDS.toNanos(60), report.toString());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package jco.jcosaprfclink.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkFanOutTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reversedArrivalsAreAppliedToTheirOwnChunkOnCallerThread() {
+        int chunks = 4;
+        CountDownLatch[] release = new CountDownLatch[chunks];
+        for (int i = 0; i < chunks; i++) {
+            release[i] = new CountDownLatch(1);
+        }
+        release[chunks - 1].countDown(); // 마지막 chunk 부터 역순으로 응답
+        Thread caller = Thread.currentThread();
+        String[] applied = new String[chunks];
+        List<Integer> arrivals = new ArrayList<>();
+
+        ChunkFanOut.run(executor, chunks, chunks,
+                chunk -> "req-" + chunk,
+                request -> {
+                    int chunk = Integer.parseInt(request.substring(4));
+                    await(release[chunk]);
+                    return "res-" + chunk;
+                },
+                (chunk, result, failure) -> {
+                    assertSame(caller, Thread.currentThread());
+                    assertNull(failure);
+                    applied[chunk] = result;
+                    arrivals.add(chunk);
+                    if (chunk > 0) {
+                        release[chunk - 1].countDown();
+                    }
+                });
+
+        assertArrayEquals(new String[]{"res-0", "res-1", "res-2", "res-3"}, applied);
+        assertEquals(List.of(3, 2, 1, 0), arrivals);
+    }
+
+    @Test
+    void inFlightNeverExceedsLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        ChunkFanOut.run(executor, 20, 3, chunk -> chunk, chunk -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return chunk;
+        }, (chunk, result, failure) -> {
+            assertEquals(chunk, result);
+            completed.incrementAndGet();
+        });
+
+        assertEquals(20, completed.get());
+        assertTrue(peak.get() <= 3, "peak=" + peak.get());
+    }
+
+    @Test
+    void failureIsDeliveredToItsChunkAndOthersStillComplete() {
+        RuntimeException boom = new IllegalStateException("chunk 2");
+        Object[] outcome = new Object[5];
+
+        ChunkFanOut.run(executor, 5, 2, chunk -> chunk, chunk -> {
+            if (chunk == 2) {
+                throw boom;
+            }
+            return "ok-" + chunk;
+        }, (chunk, result, failure) -> outcome[chunk] = failure != null ? failure : result);
+
+        assertArrayEquals(new Object[]{"ok-0", "ok-1", boom, "ok-3", "ok-4"}, outcome);
+    }
+
+    @Test
+    void exceptionFromCompletionStopsSendingRemainingChunks() {
+        AtomicInteger prepared = new AtomicInteger();
+        RuntimeException stop = new IllegalStateException("stop");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+                ChunkFanOut.run(Runnable::run, 10, 1, chunk -> prepared.incrementAndGet(), request -> request,
+                        (chunk, result, failure) -> {
+                            if (chunk == 1) {
+                                throw stop;
+                            }
+                        }));
+
+        assertSame(stop, thrown);
+        assertEquals(2, prepared.get());
+    }
+
+    @Test
+    void exceptionWaitsForAndAppliesChunksStillInFlight() {
+        AtomicInteger prepared = new AtomicInteger();
+        Set<Integer> applied = ConcurrentHashMap.newKeySet();
+        RuntimeException stop = new IllegalStateException("stop");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+                ChunkFanOut.run(executor, 10, 3, chunk -> {
+                    prepared.incrementAndGet();
+                    return chunk;
+                }, chunk -> {
+                    if (chunk > 0) {
+                        sleep(50); // chunk 0 실패 반영 시점에 아직 전송 중
+                    }
+                    return chunk;
+                }, (chunk, result, failure) -> {
+                    applied.add(chunk);
+                    if (chunk == 0) {
+                        throw stop;
+                    }
+                }));
+
+        assertSame(stop, thrown);
+        assertEquals(3, prepared.get());
+        assertEquals(Set.of(0, 1, 2), applied);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
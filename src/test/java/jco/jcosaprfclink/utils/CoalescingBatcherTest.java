@@ -0,0 +1,118 @@
+package jco.jcosaprfclink.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingBatcherTest {
+
+    private final ExecutorService sender = Executors.newFixedThreadPool(4);
+    private final List<List<String>> upstreamCalls = Collections.synchronizedList(new ArrayList<>());
+    private CoalescingBatcher<String, String, String> batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+        sender.shutdownNow();
+    }
+
+    @Test
+    void inFlightKeysAreSharedAndOnlyNewKeysGoUpstream() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        batcher = batcher(Duration.ofMillis(20), 3, keys -> {
+            await(release);
+            return answer(keys);
+        });
+
+        CompletableFuture<List<String>> first = batcher.lookup(List.of("A", "B", "C")); // 3건, 바로 전송
+        CompletableFuture<List<String>> second = batcher.lookup(List.of("B", "C", "D"));
+        release.countDown();
+
+        assertEquals(List.of("r:A", "r:B", "r:C"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("r:B", "r:C", "r:D"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("A", "B", "C"), List.of("D")), upstreamCalls);
+        assertEquals(2, batcher.joinedCount());
+        assertEquals(2, batcher.batchCount());
+    }
+
+    @Test
+    void lookupsWithinWindowGoUpstreamAsOneBatch() throws Exception {
+        batcher = batcher(Duration.ofMillis(100), 100, CoalescingBatcherTest::answer);
+        List<CompletableFuture<List<String>>> lookups = new ArrayList<>();
+        for (String key : List.of("A", "B", "C", "D")) {
+            lookups.add(CompletableFuture.supplyAsync(() -> batcher.lookup(List.of(key)), sender).join());
+        }
+
+        for (int i = 0; i < lookups.size(); i++) {
+            assertEquals(List.of("r:" + (char) ('A' + i)), lookups.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.size());
+        assertEquals(4, upstreamCalls.get(0).size());
+
+        batcher.lookup(List.of("A")).get(5, TimeUnit.SECONDS); // 완료된 키는 다시 조회
+        assertEquals(2, upstreamCalls.size());
+    }
+
+    @Test
+    void repeatedKeysInOneLookupAreSentAndAnsweredOnce() throws Exception {
+        batcher = batcher(Duration.ofMillis(5), 100, CoalescingBatcherTest::answer);
+
+        assertEquals(List.of("r:A", "r:B"), batcher.lookup(List.of("A", "B", "A")).get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("A", "B")), upstreamCalls);
+        assertEquals(0, batcher.joinedCount());
+        assertEquals(2, batcher.requestedCount());
+    }
+
+    @Test
+    void missingResultsAreDroppedAndFailuresReachEveryWaiter() throws Exception {
+        IllegalStateException boom = new IllegalStateException("upstream");
+        batcher = batcher(Duration.ofMillis(5), 2, keys -> {
+            if (keys.contains("X")) {
+                throw boom;
+            }
+            return answer(keys.subList(1, keys.size())); // 첫 키 결과 누락
+        });
+
+        assertEquals(List.of("r:B"), batcher.lookup(List.of("A", "B")).get(5, TimeUnit.SECONDS));
+        CompletableFuture<List<String>> failed = batcher.lookup(List.of("X", "Y"));
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertSame(boom, thrown.getCause());
+        assertTrue(batcher.lookup(List.of("Y")).get(5, TimeUnit.SECONDS).isEmpty()); // 실패한 키도 다시 조회
+    }
+
+    private CoalescingBatcher<String, String, String> batcher(Duration window, int maxBatch,
+                                                              Function<List<String>, List<String>> upstream) {
+        return new CoalescingBatcher<>("test", Function.identity(), result -> result.substring(2), keys -> {
+            upstreamCalls.add(List.copyOf(keys));
+            return upstream.apply(keys);
+        }, window, maxBatch, sender);
+    }
+
+    private static List<String> answer(List<String> keys) {
+        return keys.stream().map(key -> "r:" + key).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package jco.jcosaprfclink.support;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoListMetaData;
+import com.sap.conn.jco.JCoMetaData;
+import com.sap.conn.jco.JCoParameterList;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+import com.sap.conn.jco.server.JCoServerCallType;
+import com.sap.conn.jco.server.JCoServerContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SAP 연결(네이티브 라이브러리) 없이 쓰는 JCo 메타데이터/테이블/함수 대역
+ * 서비스 코드가 실제로 호출하는 메서드만 구현하고, 나머지는 UnsupportedOperationException 을 던진다.
+ */
+public final class InMemoryJCo {
+
+    private InMemoryJCo() {
+    }
+
+    /**
+     * 필드 정의
+     */
+    public record Field(String name, int type, int length, int decimals) {
+        public static Field ofChar(String name, int length) {
+            return new Field(name, JCoMetaData.TYPE_CHAR, length, 0);
+        }
+
+        public static Field ofBcd(String name, int length, int decimals) {
+            return new Field(name, JCoMetaData.TYPE_BCD, length, decimals);
+        }
+    }
+
+    public static JCoRecordMetaData recordMetaData(String name, List<Field> fields) {
+        Field[] defs = fields.toArray(new Field[0]);
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (int i = 0; i < defs.length; i++) {
+            index.put(defs[i].name(), i);
+        }
+        return proxy(JCoRecordMetaData.class, (self, method, args) -> switch (method.getName()) {
+            case "getName" -> args == null ? name : defs[fieldIndex(index, args[0])].name();
+            case "getFieldCount" -> defs.length;
+            case "getType" -> defs[fieldIndex(index, args[0])].type();
+            case "getLength", "getByteLength" -> defs[fieldIndex(index, args[0])].length();
+            case "getUnicodeByteLength" -> defs[fieldIndex(index, args[0])].length() * 2;
+            case "getDecimals" -> defs[fieldIndex(index, args[0])].decimals();
+            case "indexOf" -> index.getOrDefault((String) args[0], -1);
+            case "hasField" -> index.containsKey((String) args[0]);
+            case "isTable", "isStructure", "isAbapObject", "isNestedType1Structure" -> false;
+            case "getTypeAsString" -> typeName(defs[fieldIndex(index, args[0])].type());
+            case "isLocked" -> true;
+            case "lock" -> null;
+            case "toString" -> "InMemoryRecordMetaData[" + name + "]";
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    public static JCoTable table(JCoRecordMetaData metaData) {
+        return proxy(JCoTable.class, new TableHandler(metaData));
+    }
+
+    /**
+     * 테이블 파라미터만 가진 함수
+     */
+    public static JCoFunction function(String name, Map<String, JCoTable> tables) {
+        JCoListMetaData listMetaData = proxy(JCoListMetaData.class, (self, method, args) -> switch (method.getName()) {
+            case "hasField" -> tables.containsKey((String) args[0]);
+            case "isTable" -> args[0] instanceof String key ? tables.containsKey(key) : true;
+            case "getFieldCount" -> tables.size();
+            case "getName" -> args == null ? "TABLES" : new ArrayList<>(tables.keySet()).get((Integer) args[0]);
+            case "toString" -> "InMemoryListMetaData" + tables.keySet();
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+        JCoParameterList tableList = proxy(JCoParameterList.class, (self, method, args) -> switch (method.getName()) {
+            case "getTable" -> args[0] instanceof String key ? tables.get(key) : new ArrayList<>(tables.values()).get((Integer) args[0]);
+            case "getListMetaData", "getMetaData" -> listMetaData;
+            case "getFieldCount" -> tables.size();
+            case "toString" -> "InMemoryParameterList" + tables.keySet();
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+        return proxy(JCoFunction.class, (self, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getTableParameterList" -> tableList;
+            case "getImportParameterList", "getExportParameterList", "getChangingParameterList" -> null;
+            case "toString" -> "InMemoryFunction[" + name + "]";
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    /**
+     * JCo 서버가 핸들러에 넘기는 호출 정보
+     *
+     * @param tid tRFC 트랜잭션 ID, null 이면 동기 RFC 호출
+     */
+    public static JCoServerContext serverContext(String tid) {
+        return proxy(JCoServerContext.class, (self, method, args) -> switch (method.getName()) {
+            case "isInTransaction" -> tid != null;
+            case "getTID" -> tid;
+            case "isStatefulSession" -> false;
+            case "setStateful" -> null;
+            case "getCallType" -> tid != null ? JCoServerCallType.BACKGROUND_TASK : JCoServerCallType.SYNCHRONOUS;
+            case "toString" -> "InMemoryServerContext[" + tid + "]";
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    private static final class TableHandler implements InvocationHandler {
+        private final JCoRecordMetaData metaData;
+        private final Field[] defs;
+        private final Map<String, Integer> index = new LinkedHashMap<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private int row = -1;
+
+        TableHandler(JCoRecordMetaData metaData) {
+            this.metaData = metaData;
+            this.defs = new Field[metaData.getFieldCount()];
+            for (int i = 0; i < defs.length; i++) {
+                defs[i] = new Field(metaData.getName(i), metaData.getType(i), metaData.getLength(i), metaData.getDecimals(i));
+                index.put(defs[i].name(), i);
+            }
+        }
+
+        @Override
+        public Object invoke(Object self, Method method, Object[] args) {
+            String name = method.getName();
+            switch (name) {
+                case "getRecordMetaData", "getMetaData":
+                    return metaData;
+                case "getNumRows":
+                    return rows.size();
+                case "getNumColumns", "getFieldCount":
+                    return defs.length;
+                case "isEmpty":
+                    return rows.isEmpty();
+                case "getRow":
+                    return row;
+                case "setRow":
+                    int target = (Integer) args[0];
+                    if (target < 0 || target >= rows.size()) {
+                        throw new IllegalArgumentException("row " + target + " / " + rows.size());
+                    }
+                    row = target;
+                    return null;
+                case "firstRow":
+                    row = 0;
+                    return null;
+                case "nextRow":
+                    if (row + 1 < rows.size()) {
+                        row++;
+                        return true;
+                    }
+                    return false;
+                case "appendRow":
+                    rows.add(new Object[defs.length]);
+                    row = rows.size() - 1;
+                    return null;
+                case "appendRows":
+                    for (int i = 0; i < (Integer) args[0]; i++) {
+                        rows.add(new Object[defs.length]);
+                    }
+                    row = rows.size() - 1;
+                    return null;
+                case "clear", "deleteAllRows":
+                    rows.clear();
+                    row = -1;
+                    return null;
+                case "setValue":
+                    current()[field(args[0])] = convert(defs[field(args[0])], args[1]);
+                    return null;
+                case "getValue":
+                    return current()[field(args[0])];
+                case "getString":
+                    return asString(defs[field(args[0])], current()[field(args[0])]);
+                case "getBigDecimal":
+                    Object decimal = current()[field(args[0])];
+                    return decimal == null ? BigDecimal.ZERO : new BigDecimal(decimal.toString());
+                case "getFloat":
+                    Object f = current()[field(args[0])];
+                    return f == null ? 0f : new BigDecimal(f.toString()).floatValue();
+                case "getDouble":
+                    Object d = current()[field(args[0])];
+                    return d == null ? 0d : new BigDecimal(d.toString()).doubleValue();
+                case "getInt":
+                    Object n = current()[field(args[0])];
+                    return n == null ? 0 : new BigDecimal(n.toString()).intValue();
+                case "getDate", "getTime":
+                    return current()[field(args[0])];
+                case "isInitialized":
+                    return current()[field(args[0])] != null;
+                case "toString":
+                    StringBuilder sb = new StringBuilder("InMemoryTable[").append(metaData.getName()).append("]");
+                    for (Object[] r : rows) {
+                        sb.append('\n').append(Arrays.toString(r));
+                    }
+                    return sb.toString();
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        }
+
+        private Object[] current() {
+            if (row < 0 || row >= rows.size()) {
+                throw new IllegalStateException("no current row");
+            }
+            return rows.get(row);
+        }
+
+        private int field(Object key) {
+            return fieldIndex(index, key);
+        }
+    }
+
+    private static int fieldIndex(Map<String, Integer> index, Object key) {
+        if (key instanceof Integer i) {
+            return i;
+        }
+        Integer i = index.get((String) key);
+        if (i == null) {
+            throw new IllegalArgumentException("field " + key + " not found");
+        }
+        return i;
+    }
+
+    private static Object convert(Field field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (field.type()) {
+            case JCoMetaData.TYPE_BCD, JCoMetaData.TYPE_DECF16, JCoMetaData.TYPE_DECF34, JCoMetaData.TYPE_FLOAT:
+                return new BigDecimal(value.toString().isBlank() ? "0" : value.toString().trim());
+            case JCoMetaData.TYPE_INT, JCoMetaData.TYPE_INT1, JCoMetaData.TYPE_INT2:
+                return new BigDecimal(value.toString().trim()).intValue();
+            case JCoMetaData.TYPE_DATE:
+                if (value instanceof Date) {
+                    return value;
+                }
+                try {
+                    return new SimpleDateFormat("yyyyMMdd").parse(value.toString().replace("-", ""));
+                } catch (ParseException e) {
+                    throw new IllegalArgumentException(value.toString(), e);
+                }
+            default:
+                String s = value.toString();
+                return field.length() > 0 && s.length() > field.length() ? s.substring(0, field.length()) : s;
+        }
+    }
+
+    private static String asString(Field field, Object value) {
+        if (value == null) {
+            return field.type() == JCoMetaData.TYPE_BCD ? "0" : "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Date date) {
+            return new SimpleDateFormat(field.type() == JCoMetaData.TYPE_TIME ? "HH:mm:ss" : "yyyy-MM-dd").format(date);
+        }
+        return value.toString();
+    }
+
+    private static String typeName(int type) {
+        return switch (type) {
+            case JCoMetaData.TYPE_CHAR -> "CHAR";
+            case JCoMetaData.TYPE_DATE -> "DATE";
+            case JCoMetaData.TYPE_BCD -> "BCD";
+            case JCoMetaData.TYPE_TIME -> "TIME";
+            case JCoMetaData.TYPE_NUM -> "NUM";
+            case JCoMetaData.TYPE_INT -> "INT";
+            case JCoMetaData.TYPE_STRING -> "STRING";
+            default -> String.valueOf(type);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryJCo.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,135 @@
+package jco.jcosaprfclink.support;
+
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.JCoMetaData;
+import com.sap.conn.jco.JCoRecordMetaData;
+import com.sap.conn.jco.JCoTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * 기록해 둔 구조 정의(/jco/metadata/{구조명}.csv)로 만드는 메모리 메타데이터
+ * 함수 정의(/jco/metadata/{함수명}.csv)는 파라미터명,종류,구조명 으로 적는다. (현재 TABLE 만 지원)
+ */
+public final class RecordedMetadata {
+
+    public static final String INVOICE_FUNCTION = "ZFI_TAXINV_STATUS_TO_WEB";
+    public static final String INVOICE_TABLE = "T_IF_ZTAXT020";
+
+    private RecordedMetadata() {
+    }
+
+    private static final Map<String, JCoRecordMetaData> STRUCTURES = new ConcurrentHashMap<>();
+    private static final Map<String, List<String[]>> FUNCTIONS = new ConcurrentHashMap<>(); // 함수별 파라미터 정의
+
+    /**
+     * 구조 정의, 같은 이름은 같은 메타데이터 인스턴스를 돌려준다. (실제 JCo 저장소 캐시와 같은 동작)
+     */
+    public static JCoRecordMetaData load(String structureName) {
+        return STRUCTURES.computeIfAbsent(structureName, name -> {
+            List<InMemoryJCo.Field> fields = new ArrayList<>();
+            for (String[] cols : read(name)) {
+                fields.add(new InMemoryJCo.Field(cols[0], type(cols[1]), Integer.parseInt(cols[2]),
+                        Integer.parseInt(cols[3])));
+            }
+            return InMemoryJCo.recordMetaData(name, fields);
+        });
+    }
+
+    /**
+     * 빈 테이블 파라미터를 가진 함수, 호출마다 새로 만든다. (정의 파일은 한번만 읽는다)
+     */
+    public static JCoFunction function(String functionName) {
+        Map<String, JCoTable> tables = new LinkedHashMap<>();
+        for (String[] cols : FUNCTIONS.computeIfAbsent(functionName, RecordedMetadata::read)) {
+            if (!"TABLE".equals(cols[1])) {
+                throw new IllegalArgumentException("지원하지 않는 파라미터 종류 : " + cols[1]);
+            }
+            tables.put(cols[0], InMemoryJCo.table(load(cols[2])));
+        }
+        return InMemoryJCo.function(functionName, tables);
+    }
+
+    /**
+     * 세금계산서 상태 조회 요청, T_IF_ZTAXT020 에 rows 행을 채운다. (테스트/벤치마크 공용)
+     * 행 i : MGR_DOC_NO=docNo(i), CORP_BIZ_NO=1234567890, USER_ID=userId, DOC_TYPE=01
+     */
+    public static JCoFunction invoiceFunction(int rows, IntFunction<String> docNo, String userId) {
+        JCoFunction function = function(INVOICE_FUNCTION);
+        JCoTable table = function.getTableParameterList().getTable(INVOICE_TABLE);
+        for (int i = 0; i < rows; i++) {
+            table.appendRow();
+            table.setValue("MGR_DOC_NO", docNo.apply(i));
+            table.setValue("CORP_BIZ_NO", "1234567890");
+            table.setValue("USER_ID", userId);
+            table.setValue("DOC_TYPE", "01");
+        }
+        return function;
+    }
+
+    /**
+     * @see #invoiceFunction(int, IntFunction, String) USER_ID=PBILLRFC
+     */
+    public static JCoFunction invoiceFunction(int rows, IntFunction<String> docNo) {
+        return invoiceFunction(rows, docNo, "PBILLRFC");
+    }
+
+    /**
+     * invoiceFunction 의 T_IF_ZTAXT020 테이블
+     */
+    public static JCoTable invoiceTable(int rows, IntFunction<String> docNo, String userId) {
+        return invoiceFunction(rows, docNo, userId).getTableParameterList().getTable(INVOICE_TABLE);
+    }
+
+    /**
+     * @see #invoiceTable(int, IntFunction, String) USER_ID=PBILLRFC
+     */
+    public static JCoTable invoiceTable(int rows, IntFunction<String> docNo) {
+        return invoiceTable(rows, docNo, "PBILLRFC");
+    }
+
+    private static List<String[]> read(String name) {
+        String resource = "/jco/metadata/" + name + ".csv";
+        InputStream in = RecordedMetadata.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("구조 정의 없음 : " + resource);
+        }
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line.split(","));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines;
+    }
+
+    private static int type(String name) {
+        return switch (name) {
+            case "CHAR" -> JCoMetaData.TYPE_CHAR;
+            case "DATE" -> JCoMetaData.TYPE_DATE;
+            case "TIME" -> JCoMetaData.TYPE_TIME;
+            case "BCD" -> JCoMetaData.TYPE_BCD;
+            case "NUM" -> JCoMetaData.TYPE_NUM;
+            case "INT" -> JCoMetaData.TYPE_INT;
+            case "STRING" -> JCoMetaData.TYPE_STRING;
+            default -> throw new IllegalArgumentException("지원하지 않는 타입 : " + name);
+        };
+    }
+}
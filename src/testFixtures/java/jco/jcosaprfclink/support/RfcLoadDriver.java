@@ -0,0 +1,158 @@
+package jco.jcosaprfclink.support;
+
+import com.sap.conn.jco.AbapException;
+import com.sap.conn.jco.JCoFunction;
+import com.sap.conn.jco.server.JCoServerContext;
+import com.sap.conn.jco.server.JCoServerFunctionHandler;
+import jco.jcosaprfclink.config.saprfc.RfcHandlerRegistry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * SAP 게이트웨이 없이 RFC 핸들러를 정해진 속도로 동시 호출하는 부하 드라이버
+ * - 호출 시각은 미리 정해 두고(open-loop) 그 시각부터 지연을 잰다. 핸들러가 밀리면 대기 시간까지 지연에 포함된다.
+ * - 함수/컨텍스트는 호출마다 새로 만든다. (게이트웨이에서 호출마다 새 JCoFunction 을 받는 것과 같다)
+ *   호출 시각 전에 만들어 두므로 요청 생성 시간은 지연에 들어가지 않는다.
+ */
+public final class RfcLoadDriver {
+
+    private final JCoServerFunctionHandler handler;
+    private final IntFunction<JCoFunction> requests;
+    private IntFunction<JCoServerContext> contexts = call -> InMemoryJCo.serverContext(null);
+
+    /**
+     * @param requests 호출 번호(0부터)로 요청 함수 생성, 워커 스레드에서 호출된다
+     */
+    public RfcLoadDriver(JCoServerFunctionHandler handler, IntFunction<JCoFunction> requests) {
+        this.handler = handler;
+        this.requests = requests;
+    }
+
+    /**
+     * 레지스트리에 등록된 핸들러(그룹 부하 집계 포함)로 호출
+     */
+    public static RfcLoadDriver of(RfcHandlerRegistry registry, String functionName, IntFunction<JCoFunction> requests) {
+        for (Map<String, JCoServerFunctionHandler> handlers : registry.handlersByGroup().values()) {
+            JCoServerFunctionHandler handler = handlers.get(functionName);
+            if (handler != null) {
+                return new RfcLoadDriver(handler, requests);
+            }
+        }
+        throw new IllegalArgumentException("등록되지 않은 RFC 함수 : " + functionName);
+    }
+
+    /**
+     * 호출 번호별 서버 컨텍스트, 기본은 동기(sRFC) 호출
+     */
+    public RfcLoadDriver contexts(IntFunction<JCoServerContext> contexts) {
+        this.contexts = contexts;
+        return this;
+    }
+
+    /**
+     * @param callsPerSecond 초당 호출 수, 0 이하면 간격 없이 호출
+     * @param calls          전체 호출 수
+     * @param workers        동시 호출 상한 (SAP 의 jco.server.connection_count 에 해당)
+     */
+    public Report run(double callsPerSecond, int calls, int workers) {
+        long intervalNanos = callsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / callsPerSecond) : 0L;
+        long[] latencies = new long[calls];
+        Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "rfc-sim-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            for (int w = 0; w < workers; w++) {
+                pool.execute(() -> {
+                    int call;
+                    while ((call = next.getAndIncrement()) < calls) {
+                        JCoServerContext context = contexts.apply(call);
+                        JCoFunction function = requests.apply(call);
+                        long scheduled = start + call * intervalNanos;
+                        long wait;
+                        while ((wait = scheduled - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        try {
+                            handler.handleRequest(context, function);
+                        } catch (AbapException e) {
+                            failures.computeIfAbsent("ABAP:" + e.getKey(), k -> new AtomicInteger()).incrementAndGet();
+                        } catch (Exception e) {
+                            failures.computeIfAbsent(e.getClass().getSimpleName(), k -> new AtomicInteger())
+                                    .incrementAndGet();
+                        }
+                        latencies[call] = System.nanoTime() - scheduled;
+                    }
+                });
+            }
+            pool.shutdown();
+            long deadline = Math.max(60L, 2L * calls * intervalNanos / TimeUnit.SECONDS.toNanos(1) + 60L);
+            if (!pool.awaitTermination(deadline, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("부하 실행 시간 초과 : " + deadline + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("부하 실행 중 인터럽트", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Map<String, Integer> failureCounts = new TreeMap<>();
+        failures.forEach((key, count) -> failureCounts.put(key, count.get()));
+        Arrays.sort(latencies);
+        return new Report(calls, failureCounts, latencies, elapsed);
+    }
+
+    /**
+     * @param latencies 호출별 지연(ns), 오름차순
+     */
+    public record Report(int calls, Map<String, Integer> failures, long[] latencies, long elapsedNanos) {
+
+        public int failed() {
+            return failures.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * 초당 완료 호출 수
+         */
+        public double throughput() {
+            return calls * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        /**
+         * @param p 0 ~ 100
+         * @return 지연(ns)
+         */
+        public long percentile(double p) {
+            if (latencies.length == 0) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.min(latencies.length - 1, Math.max(0, index))];
+        }
+
+        public long max() {
+            return latencies.length == 0 ? 0L : latencies[latencies.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d failed=%d %s throughput=%.1f/s p50=%.2fms p99=%.2fms max=%.2fms",
+                    calls, failed(), failures, throughput(), percentile(50) / 1e6, percentile(99) / 1e6, max() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package jco.jcosaprfclink.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /resultTaxInvoice 스텁 서버
+ * - 고정 응답: 요청 본문을 모두 읽고 같은 응답을 돌려준다. (벤치마크)
+ * - echo: 요청 행마다 같은 문서관리번호의 성공 결과를 돌려준다. (부하 시험, 결과 반영 검증)
+ * - 장애 주입: latency/status 로 실행 중에 응답 지연과 응답 코드를 바꾼다.
+ */
+public final class StubInvoiceApi implements AutoCloseable {
+
+    static {
+        // 응답 헤더/본문 분할 전송 시 Nagle 지연(약 40ms)이 측정값을 덮지 않도록 한다.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private volatile long latencyMillis;
+    private volatile int status = 200;
+
+    public StubInvoiceApi(byte[] responseBody, long latencyMillis) throws IOException {
+        this(responseBody, latencyMillis, 64);
+    }
+
+    /**
+     * @param threads 동시에 처리할 요청 수, 지연 응답 시 동시 호출 수 이상으로 잡는다.
+     */
+    public StubInvoiceApi(byte[] responseBody, long latencyMillis, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        executor = Executors.newFixedThreadPool(threads);
+        start(in -> {
+            in.transferTo(OutputStream.nullOutputStream());
+            return responseBody;
+        }, latencyMillis);
+    }
+
+    /**
+     * 요청 행마다 성공 결과를 돌려주는 스텁, 승인번호는 "APPR-" + 문서관리번호
+     */
+    public static StubInvoiceApi echo(long latencyMillis, int threads) throws IOException {
+        return new StubInvoiceApi(latencyMillis, threads);
+    }
+
+    private StubInvoiceApi(long latencyMillis, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        executor = Executors.newFixedThreadPool(threads);
+        start(this::echoResults, latencyMillis);
+    }
+
+    @FunctionalInterface
+    private interface Responder {
+        byte[] respond(InputStream requestBody) throws IOException;
+    }
+
+    private void start(Responder responder, long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        server.setExecutor(executor);
+        server.createContext("/resultTaxInvoice", exchange -> {
+            byte[] responseBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                responseBody = responder.respond(in);
+            }
+            requests.incrementAndGet();
+            long delay = this.latencyMillis;
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int statusCode = this.status;
+            if (statusCode != 200) {
+                exchange.sendResponseHeaders(statusCode, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, responseBody.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(responseBody);
+            }
+        });
+        server.start();
+    }
+
+    private byte[] echoResults(InputStream in) throws IOException {
+        ArrayNode results = OBJECT_MAPPER.createArrayNode();
+        for (JsonNode row : OBJECT_MAPPER.readTree(in)) {
+            String mgrDocNo = row.path("MGR_DOC_NO").asText();
+            results.addObject()
+                    .put("mgrdocNo", mgrDocNo)
+                    .put("channel", "NARINER")
+                    .put("corpBizNo", row.path("CORP_BIZ_NO").asText())
+                    .put("userId", row.path("USER_ID").asText())
+                    .put("result", "S")
+                    .put("errCode", "KH_COM_0000")
+                    .put("errMsg", "")
+                    .put("issueDd", "20250513")
+                    .put("apprNo", "APPR-" + mgrDocNo)
+                    .put("docState", "30")
+                    .put("docStateNm", "발행완료");
+        }
+        rows.addAndGet(results.size());
+        return OBJECT_MAPPER.writeValueAsBytes(results);
+    }
+
+    /**
+     * 장애 주입: 이후 요청의 응답 지연
+     */
+    public StubInvoiceApi latency(long millis) {
+        this.latencyMillis = millis;
+        return this;
+    }
+
+    /**
+     * 장애 주입: 이후 요청의 응답 코드, 200 이 아니면 본문 없이 응답한다.
+     */
+    public StubInvoiceApi status(int statusCode) {
+        this.status = statusCode;
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 받은 요청 수
+     */
+    public long requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * echo 스텁이 결과를 돌려준 행 수
+     */
+    public long rowCount() {
+        return rows.get();
+    }
+
+    public static String invoiceRows(int rows) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"MGR_DOC_NO\":\"DOC").append(i).append("\",\"CORP_BIZ_NO\":\"1234567890\",")
+                    .append("\"USER_ID\":\"PBILLRFC\",\"RESULT\":\"\",\"ERR_CODE\":\"\",\"ERR_MSG\":\"\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    public static byte[] invoiceResults(int rows) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"mgrdocNo\":\"DOC").append(i).append("\",\"channel\":\"NARINER\",\"corpBizNo\":\"1234567890\",")
+                    .append("\"userId\":\"PBILLRFC\",\"result\":\"S\",\"errCode\":\"KH_COM_0000\",\"errMsg\":\"\",")
+                    .append("\"issueDd\":\"20250513\",\"apprNo\":\"2025051341000000").append(i % 10)
+                    .append("\",\"docState\":\"30\",\"docStateNm\":\"발행완료\"}");
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}